@@ -0,0 +1,24 @@
+package backend.competition_hub.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A benchmarks.jar belépési pontja: a JMH parancssorát változatlanul továbbadja,
+ * de ha nincs megadva eredményformátum (-rf), JSON-t ír (alapból jmh-result.json),
+ * hogy a kiadások közti regressziók összevethetők legyenek.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        if (!jmhArgs.contains("-rf")) {
+            jmhArgs.add(0, "json");
+            jmhArgs.add(0, "-rf");
+        }
+        org.openjdk.jmh.Main.main(jmhArgs.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,59 @@
+package backend.competition_hub.benchmarks;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.entities.Application;
+import backend.competition_hub.entities.Round;
+import backend.competition_hub.entities.Task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Memóriában felépített Task gráf, ugyanolyan alakban, ahogy a getTaskById visszaadja
+final class Fixtures {
+
+    static final int ROUNDS = 3;
+
+    private Fixtures() {}
+
+    static Task task(EvaluationType evaluationType, int applicationCount) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Benchmark feladat");
+        task.setDescription("Leírás ".repeat(40));
+        task.setApplicationDeadline(LocalDate.now().plusDays(7));
+        task.setCreator("creator");
+        task.setEvaluationType(evaluationType);
+
+        List<Round> rounds = new ArrayList<>();
+        for (int i = 0; i < ROUNDS; i++) {
+            Round round = new Round();
+            round.setId((long) i + 1);
+            round.setTask(task);
+            round.setDescription((i + 1) + ". forduló");
+            round.setDeadline(LocalDate.now().plusDays(i + 1));
+            round.setIsActive(i == 0);
+            round.setActivatedAt(i == 0 ? now : null);
+            rounds.add(round);
+        }
+        task.setRounds(rounds);
+
+        List<Application> applications = new ArrayList<>(applicationCount);
+        for (int i = 0; i < applicationCount; i++) {
+            Application app = new Application(task, "uid-" + i, "student" + i, "uploads/1/file" + i + ".zip", now);
+            app.setId((long) i + 1);
+            app.setRound(rounds.get(i % ROUNDS));
+            if (i % 2 == 0) {
+                app.setReviewText("Értékelés " + i);
+                app.setReviewPoints(i % 11);
+                app.setReviewCreatedAt(now);
+            }
+            applications.add(app);
+        }
+        task.setApplications(applications);
+        return task;
+    }
+}
@@ -0,0 +1,81 @@
+package backend.competition_hub.benchmarks;
+
+import backend.competition_hub.dtos.ApplicationNotificationDTO;
+import backend.competition_hub.dtos.RoundActivationNotificationDTO;
+import backend.competition_hub.events.NotificationType;
+import backend.competition_hub.metrics.StorageMetrics;
+import backend.competition_hub.repositories.ApplicationRepository;
+import backend.competition_hub.repositories.EliminationRepository;
+import backend.competition_hub.repositories.JobLockRepository;
+import backend.competition_hub.repositories.TaskRepository;
+import backend.competition_hub.repositories.UnreadCounterRepository;
+import backend.competition_hub.services.ApplicationServiceImpl;
+import backend.competition_hub.services.ReadWatermarkService;
+import backend.competition_hub.services.TaskRevisionService;
+import backend.competition_hub.services.UnreadCounterService;
+import backend.competition_hub.services.UnreadCounterServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Az értesítés-lekérdezések Object[] sorainak DTO-vá alakítása. A szűrés (kizárás, vízjel)
+ * már SQL-ben történik, a Java oldalon a sorok leképezése maradt: ezt mérjük, adatbázis nélkül.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private UnreadCounterServiceImpl unreadCounterService;
+    private ApplicationServiceImpl applicationService;
+
+    @Setup
+    public void setUp() {
+        List<Object[]> unreadRows = new ArrayList<>(rows);
+        List<Object[]> activationRows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            unreadRows.add(new Object[]{(long) i, "Feladat " + i, (long) (i % 7 + 1)});
+            activationRows.add(new Object[]{(long) i, "Feladat " + i});
+        }
+
+        unreadCounterService = new UnreadCounterServiceImpl(
+                Stubs.of(UnreadCounterRepository.class, Map.of("findUnread", args -> unreadRows)),
+                Stubs.empty(JobLockRepository.class),
+                null,
+                null);
+
+        applicationService = new ApplicationServiceImpl(
+                Stubs.of(ApplicationRepository.class, Map.of("findTasksWithUnseenRoundActivation", args -> activationRows)),
+                Stubs.empty(TaskRepository.class),
+                null,
+                Stubs.empty(ApplicationEventPublisher.class),
+                Stubs.empty(UnreadCounterService.class),
+                Stubs.empty(EliminationRepository.class),
+                Stubs.empty(ReadWatermarkService.class),
+                Stubs.empty(TaskRevisionService.class),
+                new StorageMetrics(new SimpleMeterRegistry()),
+                null);
+    }
+
+    @Benchmark
+    public List<ApplicationNotificationDTO> listUnread() {
+        return unreadCounterService.listUnread("student", NotificationType.NEW_REVIEW);
+    }
+
+    @Benchmark
+    public List<RoundActivationNotificationDTO> listRoundActivationNotifications() {
+        return applicationService.listRoundActivationNotifications("student");
+    }
+}
@@ -0,0 +1,84 @@
+package backend.competition_hub.benchmarks;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.dtos.ReviewRequestDTO;
+import backend.competition_hub.entities.Application;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.metrics.StorageMetrics;
+import backend.competition_hub.repositories.ApplicationRepository;
+import backend.competition_hub.repositories.EliminationRepository;
+import backend.competition_hub.repositories.TaskRepository;
+import backend.competition_hub.services.ApplicationServiceImpl;
+import backend.competition_hub.services.ReadWatermarkService;
+import backend.competition_hub.services.TaskRevisionService;
+import backend.competition_hub.services.UnreadCounterService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Az értékelés ellenőrzése és beállítása értékelési típusonként (updateReview), illetve
+ * egy 100 tételes köteg (updateReviews), minden ötödik tétel érvénytelen pontszámmal.
+ * A repository-k csonkok, így csak a szolgáltatás saját költsége látszik.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReviewValidationBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"TEXT", "POINTS", "BOTH"})
+    public EvaluationType evaluationType;
+
+    private ApplicationServiceImpl applicationService;
+    private Map<String, String> body;
+    private List<ReviewRequestDTO> batch;
+
+    @Setup
+    public void setUp() {
+        Task task = Fixtures.task(evaluationType, BATCH_SIZE);
+        List<Application> applications = task.getApplications();
+
+        applicationService = new ApplicationServiceImpl(
+                Stubs.of(ApplicationRepository.class, Map.of(
+                        "findById", args -> Optional.of(applications.get(0)),
+                        "findAllById", args -> applications)),
+                Stubs.of(TaskRepository.class, Map.of("findById", args -> Optional.of(task))),
+                null,
+                Stubs.empty(ApplicationEventPublisher.class),
+                Stubs.empty(UnreadCounterService.class),
+                Stubs.empty(EliminationRepository.class),
+                Stubs.empty(ReadWatermarkService.class),
+                Stubs.empty(TaskRevisionService.class),
+                new StorageMetrics(new SimpleMeterRegistry()),
+                null);
+
+        body = Map.of("text", "Szép munka", "points", "7");
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (Application app : applications) {
+            int points = app.getId() % 5 == 0 ? 11 : (int) (app.getId() % 11);
+            batch.add(new ReviewRequestDTO(app.getId(), "Értékelés", points));
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<Application> updateReview() {
+        return applicationService.updateReview(1L, body);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> updateReviews() {
+        return applicationService.updateReviews(1L, batch);
+    }
+}
@@ -0,0 +1,65 @@
+package backend.competition_hub.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Adatbázis nélküli repository / service csonkok a mérésekhez: metódusnév szerint előre
+ * megadott eredményt adnak, a többi hívásra üres értéket (Optional.empty, üres lista, 0, null).
+ * Mockito helyett, hogy a mért idő ne a mock-keretrendszer rögzítését tartalmazza.
+ */
+final class Stubs {
+
+    private Stubs() {}
+
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> self == args[0];
+                    case "hashCode" -> System.identityHashCode(self);
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            return emptyValue(method.getReturnType());
+        });
+        return type.cast(proxy);
+    }
+
+    static <T> T empty(Class<T> type) {
+        return of(type, Map.of());
+    }
+
+    private static Object emptyValue(Class<?> returnType) {
+        if (returnType == Optional.class) {
+            return Optional.empty();
+        }
+        if (returnType == List.class || returnType == Iterable.class) {
+            return List.of();
+        }
+        if (returnType == Set.class) {
+            return Set.of();
+        }
+        if (returnType == Map.class) {
+            return Map.of();
+        }
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        if (returnType == int.class) {
+            return 0;
+        }
+        return null;
+    }
+}
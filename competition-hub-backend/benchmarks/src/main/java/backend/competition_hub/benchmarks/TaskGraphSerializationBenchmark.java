@@ -0,0 +1,41 @@
+package backend.competition_hub.benchmarks;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.entities.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A GET /api/tasks/{id} válaszának szerializálása: Task + fordulók (@JsonManagedReference)
+ * + beküldések, amelyek @JsonIdentityInfo-val hivatkoznak vissza a Taskra és a fordulóra.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskGraphSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int applications;
+
+    private ObjectMapper objectMapper;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        // Ugyanaz a konfiguráció, amit a Spring Boot a HTTP üzenetkonverternek ad (JavaTimeModule, ISO dátumok)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        task = Fixtures.task(EvaluationType.BOTH, applications);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskGraph() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(task);
+    }
+}
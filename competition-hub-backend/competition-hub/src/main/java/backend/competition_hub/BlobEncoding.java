@@ -0,0 +1,7 @@
+package backend.competition_hub;
+
+// A blob lemezen tárolt formája
+public enum BlobEncoding {
+    IDENTITY,
+    GZIP,
+}
@@ -0,0 +1,43 @@
+package backend.competition_hub;
+
+import backend.competition_hub.metrics.ControllerMethodObservationConvention;
+import backend.competition_hub.metrics.QueryCountInspector;
+import backend.competition_hub.metrics.QueryCountInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Micrometer mérőszámok (Prometheus: /actuator/prometheus); a Hibernate statisztikát a hibernate-micrometer adja
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public QueryCountInspector queryCountInspector() {
+        return new QueryCountInspector();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountHibernateCustomizer(QueryCountInspector queryCountInspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCountInspector);
+    }
+
+    @Bean
+    public WebMvcConfigurer queryCountConfigurer(QueryCountInspector queryCountInspector, MeterRegistry meterRegistry) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new QueryCountInterceptor(queryCountInspector, meterRegistry))
+                        .addPathPatterns("/api/**");
+            }
+        };
+    }
+
+    @Bean
+    public ControllerMethodObservationConvention controllerMethodObservationConvention() {
+        return new ControllerMethodObservationConvention();
+    }
+}
@@ -0,0 +1,10 @@
+package backend.competition_hub;
+
+// A beküldés feltöltés utáni feldolgozásának állapota (SubmissionProcessingService)
+public enum ProcessingStatus {
+    PENDING,
+    PROCESSING,
+    DONE,
+    FAILED,
+    REJECTED,
+}
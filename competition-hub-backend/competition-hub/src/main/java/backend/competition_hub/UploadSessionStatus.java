@@ -0,0 +1,7 @@
+package backend.competition_hub;
+
+// Darabolt feltöltés munkamenetének állapota (ChunkedUploadService)
+public enum UploadSessionStatus {
+    OPEN,
+    COMMITTED,
+}
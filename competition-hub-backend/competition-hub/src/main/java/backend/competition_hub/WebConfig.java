@@ -1,24 +1,56 @@
 package backend.competition_hub;
 
+import backend.competition_hub.controllers.UploadAdmissionFilter;
+import backend.competition_hub.repositories.UploadSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
+
+import java.time.Duration;
+import java.util.List;
 
 @Configuration
 public class WebConfig {
 
+    // Servlet filterként, a beengedés előtt: a filterek saját válaszai (pl. a 429) is CORS fejlécekkel mennek ki,
+    // különben a böngésző a frontend elől elrejti a státuszt és a Retry-After-t
     @Bean
-    public WebMvcConfigurer corsConfigurer() {
-        return new WebMvcConfigurer() {
-            @Override
-            public void addCorsMappings(CorsRegistry registry) {
-                registry.addMapping("/api/**")
-                        .allowedOrigins("http://localhost:3000")
-                        .allowedMethods("GET", "POST", "PUT", "DELETE")
-                        .allowedHeaders("*");
-            }
-        };
+    public FilterRegistrationBean<CorsFilter> corsFilter() {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.addAllowedOrigin("http://localhost:3000");
+        cors.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE"));
+        cors.addAllowedHeader("*");
+        cors.addExposedHeader(HttpHeaders.RETRY_AFTER);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", cors);
+
+        FilterRegistrationBean<CorsFilter> registration = new FilterRegistrationBean<>(new CorsFilter(source));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
     }
-}
 
+    // Feltöltések beengedése (429 + Retry-After túlterheléskor); a feltöltési végpontokat a filter maga választja ki
+    @Bean
+    public FilterRegistrationBean<UploadAdmissionFilter> uploadAdmissionFilter(
+            MeterRegistry meterRegistry,
+            UploadSessionRepository uploadSessionRepository,
+            @Value("${uploads.admission.max-concurrent:8}") int maxConcurrent,
+            @Value("${uploads.admission.max-per-client:2}") int maxPerClient,
+            @Value("${uploads.admission.queue-capacity:32}") int queueCapacity,
+            @Value("${uploads.admission.max-wait:2s}") Duration maxWait,
+            @Value("${uploads.admission.retry-after:5s}") Duration retryAfter) {
+        FilterRegistrationBean<UploadAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new UploadAdmissionFilter(maxConcurrent, maxPerClient, queueCapacity, maxWait, retryAfter,
+                        uploadSessionRepository::findKeycloakUserNameById, meterRegistry));
+        registration.addUrlPatterns("/api/applications/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
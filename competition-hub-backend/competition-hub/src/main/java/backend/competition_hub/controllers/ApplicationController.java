@@ -1,14 +1,20 @@
 package backend.competition_hub.controllers;
 
 import backend.competition_hub.dtos.ApplicationNotificationDTO;
+import backend.competition_hub.dtos.ReviewRequestDTO;
 import backend.competition_hub.dtos.RoundActivationNotificationDTO;
 import backend.competition_hub.entities.Application;
 import backend.competition_hub.services.ApplicationService;
+import backend.competition_hub.services.SubmissionExportService;
+import backend.competition_hub.services.TaskRevisionService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -19,9 +25,14 @@ import java.util.Map;
 public class ApplicationController {
 
     private final ApplicationService applicationService;
+    private final TaskRevisionService taskRevisionService;
+    private final SubmissionExportService submissionExportService;
 
-    public ApplicationController(ApplicationService applicationService) {
+    public ApplicationController(ApplicationService applicationService, TaskRevisionService taskRevisionService,
+                                 SubmissionExportService submissionExportService) {
         this.applicationService = applicationService;
+        this.taskRevisionService = taskRevisionService;
+        this.submissionExportService = submissionExportService;
     }
 
     @PostMapping("/{taskId}")
@@ -46,8 +57,17 @@ public class ApplicationController {
     }
 
     @GetMapping("/download/{applicationId}")
-    public ResponseEntity<byte[]> downloadFile(@PathVariable Long applicationId) {
-        return applicationService.downloadFile(applicationId);
+    public ResponseEntity<StreamingResponseBody> downloadFile(@PathVariable Long applicationId,
+                                                              @RequestHeader HttpHeaders headers) {
+        return applicationService.downloadFile(applicationId, headers);
+    }
+
+    // A task (vagy roundId esetén egy forduló) összes beküldése egy menet közben írt ZIP-ben, opcionális CSV manifesttel
+    @GetMapping("/export/{taskId}")
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(@PathVariable Long taskId,
+                                                                   @RequestParam(value = "roundId", required = false) Long roundId,
+                                                                   @RequestParam(value = "manifest", defaultValue = "true") boolean manifest) {
+        return submissionExportService.exportSubmissions(taskId, roundId, manifest);
     }
 
     @PutMapping("/{id}/review")
@@ -58,9 +78,20 @@ public class ApplicationController {
         return applicationService.updateReview(id, body);
     }
 
+    // Kötegelt értékelés: egy kérés a task több beküldésére, tételenkénti eredménnyel
+    @PutMapping("/tasks/{taskId}/reviews")
+    public ResponseEntity<Object> updateReviews(@PathVariable Long taskId,
+                                                @RequestBody List<ReviewRequestDTO> reviews) {
+        return applicationService.updateReviews(taskId, reviews);
+    }
+
 
     @GetMapping("/by-user/{keycloakUserId}")
-    public ResponseEntity<List<Application>> getApplicationsByUser(@PathVariable String keycloakUserId) {
+    public ResponseEntity<List<Application>> getApplicationsByUser(@PathVariable String keycloakUserId, ServletWebRequest request) {
+        // A válasz a beküldések taskjait is tartalmazza: az ETag ezek revízióiból áll
+        if (ConditionalRequests.isNotModified(taskRevisionService.getApplicationsByUserVersion(keycloakUserId).orElse(null), request)) {
+            return null;
+        }
         return applicationService.getApplicationsByUser(keycloakUserId);
     }
 
@@ -0,0 +1,27 @@
+package backend.competition_hub.controllers;
+
+import backend.competition_hub.dtos.CacheRegionStatisticsDTO;
+import backend.competition_hub.services.EntityCacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final EntityCacheService entityCacheService;
+
+    public CacheController(EntityCacheService entityCacheService) {
+        this.entityCacheService = entityCacheService;
+    }
+
+    // Második szintű cache régiónkénti találat / tévesztés számai
+    @GetMapping("/statistics")
+    public ResponseEntity<List<CacheRegionStatisticsDTO>> getStatistics() {
+        return ResponseEntity.ok(entityCacheService.getStatistics());
+    }
+}
@@ -0,0 +1,55 @@
+package backend.competition_hub.controllers;
+
+import backend.competition_hub.services.ChunkedUploadService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * Darabolt, folytatható feltöltés: init -> PUT chunk N (tetszőleges sorrendben) -> commit.
+ */
+@RestController
+@RequestMapping("/api/applications/uploads")
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    public ChunkedUploadController(ChunkedUploadService chunkedUploadService) {
+        this.chunkedUploadService = chunkedUploadService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Object> initUpload(@RequestParam("taskId") Long taskId,
+                                             @RequestParam(value = "roundId", required = false) Long roundId,
+                                             @RequestParam("keycloakUserId") String keycloakUserId,
+                                             @RequestParam("keycloakUserName") String keycloakUserName,
+                                             @RequestParam("fileName") String fileName,
+                                             @RequestParam("totalSize") Long totalSize) {
+        return chunkedUploadService.initUpload(taskId, roundId, keycloakUserId, keycloakUserName, fileName, totalSize);
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<Object> getUploadStatus(@PathVariable String uploadId) {
+        return chunkedUploadService.getUploadStatus(uploadId);
+    }
+
+    @PutMapping(value = "/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Object> putChunk(@PathVariable String uploadId,
+                                           @PathVariable int index,
+                                           @RequestHeader("X-Chunk-Checksum") String checksum,
+                                           InputStream body) {
+        return chunkedUploadService.putChunk(uploadId, index, checksum, body);
+    }
+
+    @PostMapping("/{uploadId}/commit")
+    public ResponseEntity<String> commitUpload(@PathVariable String uploadId) {
+        return chunkedUploadService.commitUpload(uploadId);
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Object> abortUpload(@PathVariable String uploadId) {
+        return chunkedUploadService.abortUpload(uploadId);
+    }
+}
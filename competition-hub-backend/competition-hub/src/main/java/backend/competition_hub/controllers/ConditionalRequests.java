@@ -0,0 +1,28 @@
+package backend.competition_hub.controllers;
+
+import backend.competition_hub.dtos.ResourceVersionDTO;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Feltételes GET-ek (If-None-Match / If-Modified-Since) közös kezelése. A verziót a tartalom
+ * előtt kell lekérni; egyezéskor a 304 már be van állítva, a handler null törzzsel tér vissza.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {}
+
+    static boolean isNotModified(ResourceVersionDTO version, ServletWebRequest request) {
+        if (version == null) {
+            return false;
+        }
+        // A böngésző tárolhatja, de minden használat előtt újraellenőrzi (a Last-Modified miatti heurisztikus frissesség helyett)
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+        return request.checkNotModified(version.getETag(), version.getLastModified());
+    }
+}
@@ -0,0 +1,40 @@
+package backend.competition_hub.controllers;
+
+import backend.competition_hub.dtos.LeaderboardDTO;
+import backend.competition_hub.dtos.LeaderboardEntryDTO;
+import backend.competition_hub.services.LeaderboardService;
+import backend.competition_hub.services.TaskRevisionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+@RestController
+@RequestMapping("/api/tasks/{taskId}/leaderboard")
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+    private final TaskRevisionService taskRevisionService;
+
+    public LeaderboardController(LeaderboardService leaderboardService, TaskRevisionService taskRevisionService) {
+        this.leaderboardService = leaderboardService;
+        this.taskRevisionService = taskRevisionService;
+    }
+
+    // roundId nélkül az összesített lista (a fordulók legjobb pontszámainak összege); az értékelés a task verzióját is lépteti
+    @GetMapping
+    public ResponseEntity<LeaderboardDTO> getLeaderboard(@PathVariable Long taskId,
+                                                         @RequestParam(value = "roundId", required = false) Long roundId,
+                                                         @RequestParam(value = "limit", defaultValue = "10") int limit,
+                                                         ServletWebRequest request) {
+        if (ConditionalRequests.isNotModified(taskRevisionService.getTaskVersion(taskId).orElse(null), request)) {
+            return null;
+        }
+        return leaderboardService.getLeaderboard(taskId, roundId, limit);
+    }
+
+    @GetMapping("/{username}")
+    public ResponseEntity<LeaderboardEntryDTO> getRank(@PathVariable Long taskId, @PathVariable String username,
+                                                       @RequestParam(value = "roundId", required = false) Long roundId) {
+        return leaderboardService.getRank(taskId, roundId, username);
+    }
+}
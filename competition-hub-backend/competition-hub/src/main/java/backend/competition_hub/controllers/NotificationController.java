@@ -0,0 +1,31 @@
+package backend.competition_hub.controllers;
+
+import backend.competition_hub.dtos.NotificationSummaryDTO;
+import backend.competition_hub.services.NotificationService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    public NotificationController(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    // A négy értesítés-típus egyetlen kérésben (a fejléc ezt pollozza)
+    @GetMapping("/{username}")
+    public ResponseEntity<NotificationSummaryDTO> getSummary(@PathVariable String username) {
+        return notificationService.getSummary(username);
+    }
+
+    // Push csatorna: változáskor a teljes összesítő érkezik "notifications" eseményként
+    @GetMapping(value = "/stream/{username}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable String username) {
+        return notificationService.subscribe(username);
+    }
+}
@@ -1,10 +1,16 @@
 package backend.competition_hub.controllers;
 
 import backend.competition_hub.dtos.ApplicationNotificationDTO;
+import backend.competition_hub.dtos.TaskPageDTO;
+import backend.competition_hub.dtos.TaskStatisticsDTO;
+import backend.competition_hub.dtos.TaskStorageDTO;
 import backend.competition_hub.entities.Task;
+import backend.competition_hub.services.TaskRevisionService;
 import backend.competition_hub.services.TaskService;
+import backend.competition_hub.services.TaskStatisticsService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -14,18 +20,41 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskRevisionService taskRevisionService;
+    private final TaskStatisticsService taskStatisticsService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskRevisionService taskRevisionService,
+                          TaskStatisticsService taskStatisticsService) {
         this.taskService = taskService;
+        this.taskRevisionService = taskRevisionService;
+        this.taskStatisticsService = taskStatisticsService;
     }
 
+    // A feltételes GET-eknél a verziót a tartalom előtt olvassuk; egyezéskor (304) a Task gráfot be sem töltjük
     @GetMapping
-    public List<Task> getAllTasks() {
+    public List<Task> getAllTasks(ServletWebRequest request) {
+        if (ConditionalRequests.isNotModified(taskRevisionService.getTaskListVersion().orElse(null), request)) {
+            return null;
+        }
         return taskService.getAllTasks();
     }
 
+    // Lapozott, karcsú lista (legújabb elöl); a következő oldalhoz a nextCursor megy a "before" paraméterbe
+    @GetMapping("/summaries")
+    public ResponseEntity<TaskPageDTO> getTaskSummaries(@RequestParam(value = "before", required = false) Long before,
+                                                        @RequestParam(value = "size", defaultValue = "20") int size,
+                                                        ServletWebRequest request) {
+        if (ConditionalRequests.isNotModified(taskRevisionService.getTaskListVersion().orElse(null), request)) {
+            return null;
+        }
+        return taskService.getTaskSummaries(before, size);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<Task> getTaskById(@PathVariable Long id, ServletWebRequest request) {
+        if (ConditionalRequests.isNotModified(taskRevisionService.getTaskVersion(id).orElse(null), request)) {
+            return null;
+        }
         return taskService.getTaskById(id);
     }
 
@@ -59,6 +88,39 @@ public class TaskController {
         return taskService.eliminateApplicants(taskId, eliminatedUsernames);
     }
 
+    @GetMapping("/{taskId}/storage")
+    public ResponseEntity<TaskStorageDTO> getTaskStorage(@PathVariable Long taskId) {
+        return taskService.getTaskStorage(taskId);
+    }
+
+    // Kiíró statisztika (fordulónkénti beküldések, értékeltség, pontszám-eloszlás); beküldés és értékelés is lépteti a verziót
+    @GetMapping("/{taskId}/statistics")
+    public ResponseEntity<TaskStatisticsDTO> getTaskStatistics(@PathVariable Long taskId, ServletWebRequest request) {
+        if (ConditionalRequests.isNotModified(taskRevisionService.getTaskVersion(taskId).orElse(null), request)) {
+            return null;
+        }
+        return taskStatisticsService.getTaskStatistics(taskId);
+    }
+
+    @GetMapping("/{taskId}/eliminations")
+    public ResponseEntity<List<String>> getEliminatedApplicants(@PathVariable Long taskId, ServletWebRequest request) {
+        if (ConditionalRequests.isNotModified(taskRevisionService.getTaskVersion(taskId).orElse(null), request)) {
+            return null;
+        }
+        return taskService.getEliminatedApplicants(taskId);
+    }
+
+    // Inkrementális kizárás: csak a megadott usereket adja hozzá, a válasz az újonnan kizártak listája
+    @PostMapping("/{taskId}/eliminations")
+    public ResponseEntity<List<String>> addEliminations(@PathVariable Long taskId, @RequestBody List<String> usernames) {
+        return taskService.addEliminations(taskId, usernames);
+    }
+
+    @DeleteMapping("/{taskId}/eliminations/{username}")
+    public ResponseEntity<Object> removeElimination(@PathVariable Long taskId, @PathVariable String username) {
+        return taskService.removeElimination(taskId, username);
+    }
+
     @PutMapping("/{taskId}/activate-next")
     public ResponseEntity<Object> activateNextRound(@PathVariable Long taskId) {
         return taskService.activateNextRound(taskId);
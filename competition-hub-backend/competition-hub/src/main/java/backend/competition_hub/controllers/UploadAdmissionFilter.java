@@ -0,0 +1,181 @@
+package backend.competition_hub.controllers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Feltöltések beengedése: egyszerre legfeljebb maxConcurrent feltöltés fut (kevesebb, mint a DB pool mérete,
+ * mert a beküldés tranzakciója a fájl írása alatt is tartja a kapcsolatot), kliensenként legfeljebb maxPerClient.
+ * A többi legfeljebb maxWait ideig vár egy queueCapacity hosszú sorban; ha az is tele van, vagy letelt a várakozás,
+ * azonnal 429 + Retry-After megy vissza. Servlet filter, hogy a döntés a multipart törzs beolvasása előtt szülessen.
+ */
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    // Beküldés (multipart, task vagy forduló), darabolt feltöltés darabja és összefűzése
+    private static final Pattern MULTIPART_UPLOAD = Pattern.compile("/api/applications/\\d+(/round/\\d+)?");
+    private static final Pattern CHUNKED_UPLOAD = Pattern.compile("/api/applications/uploads/([^/]+)/(chunks/\\d+|commit)");
+
+    private final UrlPathHelper pathHelper = new UrlPathHelper();
+    private final Semaphore permits;
+    private final int maxPerClient;
+    private final int queueCapacity;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+
+    // Kliensenként futó feltöltések; a 0-ra csökkent kulcs törlődik
+    private final Map<String, Integer> activePerClient = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    // Darabolt feltöltés azonosítója -> a munkamenet tulajdonosának felhasználóneve
+    private final Function<String, Optional<String>> uploadOwners;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+
+    public UploadAdmissionFilter(int maxConcurrent, int maxPerClient, int queueCapacity, Duration maxWait,
+                                 Duration retryAfter, Function<String, Optional<String>> uploadOwners,
+                                 MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.uploadOwners = uploadOwners;
+        this.maxPerClient = maxPerClient;
+        this.queueCapacity = queueCapacity;
+        this.maxWait = maxWait;
+        this.retryAfter = retryAfter;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("uploads.admission.active", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Éppen futó feltöltések")
+                .register(meterRegistry);
+        Gauge.builder("uploads.admission.queue", waiting, AtomicInteger::get)
+                .description("Beengedésre váró feltöltések")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("uploads.admission.wait")
+                .description("Várakozás a beengedésre (csak a sorba került feltöltések)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = pathHelper.getPathWithinApplication(request);
+        return !(("POST".equals(method) && MULTIPART_UPLOAD.matcher(path).matches())
+                || (("PUT".equals(method) || "POST".equals(method)) && CHUNKED_UPLOAD.matcher(path).matches()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientKey(request);
+        if (activePerClient.merge(client, 1, Integer::sum) > maxPerClient) {
+            releaseClient(client);
+            reject(response, "client");
+            return;
+        }
+        try {
+            if (!acquire(response)) {
+                return;
+            }
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                permits.release();
+            }
+        } finally {
+            releaseClient(client);
+        }
+    }
+
+    // Szabad hely esetén azonnal; különben a sorban vár (ha van hely a sorban), legfeljebb maxWait ideig
+    private boolean acquire(HttpServletResponse response) throws IOException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (waiting.incrementAndGet() > queueCapacity) {
+            waiting.decrementAndGet();
+            reject(response, "queue");
+            return false;
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            reject(response, "timeout");
+        }
+        return acquired;
+    }
+
+    private void releaseClient(String client) {
+        activePerClient.computeIfPresent(client, (key, active) -> active > 1 ? active - 1 : null);
+    }
+
+    /**
+     * A kliens: a felhasználónév a query stringből, darabolt feltöltésnél a munkamenet tulajdonosa (így egy felhasználó
+     * több munkamenettel sem kerüli meg a korlátot), különben az IP cím. Ismeretlen munkamenetnél a feltöltés
+     * azonosítója (a kérés úgyis 404). A getParameter() nem használható, mert multipart kérésnél beolvasná a törzset.
+     */
+    private String clientKey(HttpServletRequest request) {
+        Matcher chunked = CHUNKED_UPLOAD.matcher(pathHelper.getPathWithinApplication(request));
+        if (chunked.matches()) {
+            String uploadId = chunked.group(1);
+            return uploadOwners.apply(uploadId).map(user -> "user:" + user).orElse("upload:" + uploadId);
+        }
+        String query = request.getQueryString();
+        if (query != null) {
+            String user = UriComponentsBuilder.newInstance().query(query).build().getQueryParams().getFirst("keycloakUserName");
+            if (user != null && !user.isBlank()) {
+                return "user:" + UriUtils.decode(user, StandardCharsets.UTF_8);
+            }
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, String reason) throws IOException {
+        Counter.builder("uploads.admission.rejected")
+                .description("Túlterhelés miatt 429-cel elutasított feltöltések")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("client".equals(reason)
+                ? "Már folyamatban van feltöltésed, várd meg a végét."
+                : "Túl sok egyidejű feltöltés, próbáld újra " + Math.max(1, retryAfter.toSeconds()) + " másodperc múlva.");
+    }
+}
@@ -0,0 +1,23 @@
+package backend.competition_hub.dtos;
+
+import lombok.Data;
+
+/**
+ * Egy második szintű cache régió találati statisztikája (a Hibernate Statistics-ból).
+ */
+@Data
+public class CacheRegionStatisticsDTO {
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long elementCountInMemory;
+
+    public CacheRegionStatisticsDTO(String region, long hitCount, long missCount, long putCount, long elementCountInMemory) {
+        this.region = region;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.elementCountInMemory = elementCountInMemory;
+    }
+}
@@ -0,0 +1,24 @@
+package backend.competition_hub.dtos;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Egy task (roundId == null: összesített, minden forduló) vagy egy forduló ranglistájának eleje.
+ * A participants a pontszámmal rendelkező felhasználók száma, nem csak a visszaadottaké.
+ */
+@Data
+public class LeaderboardDTO {
+    private Long taskId;
+    private Long roundId;
+    private int participants;
+    private List<LeaderboardEntryDTO> entries;
+
+    public LeaderboardDTO(Long taskId, Long roundId, int participants, List<LeaderboardEntryDTO> entries) {
+        this.taskId = taskId;
+        this.roundId = roundId;
+        this.participants = participants;
+        this.entries = entries;
+    }
+}
@@ -0,0 +1,17 @@
+package backend.competition_hub.dtos;
+
+import lombok.Data;
+
+// Holtversenyben azonos helyezés (1, 2, 2, 4); összesített listánál a points a fordulók legjobb pontszámainak összege
+@Data
+public class LeaderboardEntryDTO {
+    private int rank;
+    private String username;
+    private int points;
+
+    public LeaderboardEntryDTO(int rank, String username, int points) {
+        this.rank = rank;
+        this.username = username;
+        this.points = points;
+    }
+}
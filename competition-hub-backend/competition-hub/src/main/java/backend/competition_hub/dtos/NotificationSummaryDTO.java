@@ -0,0 +1,23 @@
+package backend.competition_hub.dtos;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class NotificationSummaryDTO {
+    private List<ApplicationNotificationDTO> newApplications;  // kiíróként: új beküldések
+    private List<ApplicationNotificationDTO> newReviews;       // jelentkezőként: új értékelések
+    private List<ApplicationNotificationDTO> eliminations;     // jelentkezőként: kizárások
+    private List<RoundActivationNotificationDTO> roundActivations;
+
+    public NotificationSummaryDTO(List<ApplicationNotificationDTO> newApplications,
+                                  List<ApplicationNotificationDTO> newReviews,
+                                  List<ApplicationNotificationDTO> eliminations,
+                                  List<RoundActivationNotificationDTO> roundActivations) {
+        this.newApplications = newApplications;
+        this.newReviews = newReviews;
+        this.eliminations = eliminations;
+        this.roundActivations = roundActivations;
+    }
+}
@@ -0,0 +1,17 @@
+package backend.competition_hub.dtos;
+
+import lombok.Data;
+
+/**
+ * Feltételes GET validátora: gyenge ETag és (ha értelmezhető) Last-Modified epoch milliszekundumban, különben -1.
+ */
+@Data
+public class ResourceVersionDTO {
+    private String eTag;
+    private long lastModified;
+
+    public ResourceVersionDTO(String eTag, long lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+}
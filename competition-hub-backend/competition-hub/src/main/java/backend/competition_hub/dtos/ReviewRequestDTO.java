@@ -0,0 +1,19 @@
+package backend.competition_hub.dtos;
+
+import lombok.Data;
+
+// Egy tétel a kötegelt értékelésben (PUT /api/applications/tasks/{taskId}/reviews)
+@Data
+public class ReviewRequestDTO {
+    private Long applicationId;
+    private String text;
+    private Integer points;
+
+    public ReviewRequestDTO() {}
+
+    public ReviewRequestDTO(Long applicationId, String text, Integer points) {
+        this.applicationId = applicationId;
+        this.text = text;
+        this.points = points;
+    }
+}
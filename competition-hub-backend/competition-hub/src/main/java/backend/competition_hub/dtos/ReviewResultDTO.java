@@ -0,0 +1,17 @@
+package backend.competition_hub.dtos;
+
+import lombok.Data;
+
+// Tételenkénti eredmény: status HTTP-szerű kód (200 mentve, 400 érvénytelen, 404 nincs ilyen beküldés a taskban)
+@Data
+public class ReviewResultDTO {
+    private Long applicationId;
+    private int status;
+    private String message;
+
+    public ReviewResultDTO(Long applicationId, int status, String message) {
+        this.applicationId = applicationId;
+        this.status = status;
+        this.message = message;
+    }
+}
@@ -0,0 +1,36 @@
+package backend.competition_hub.dtos;
+
+import backend.competition_hub.BlobEncoding;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Egy beküldés fájljának exporthoz szükséges adatai (ZIP export), entitás betöltése nélkül.
+ * Blob nélküli (régi) beküldésnél a filePath, különben a blobHash és az encoding azonosítja a fájlt.
+ */
+@Data
+public class SubmissionFileDTO {
+    private Long applicationId;
+    private String username;
+    private Long roundId;
+    private LocalDateTime applicationDate;
+    private Integer reviewPoints;
+    private String filePath;
+    private String blobHash;
+    private String fileName;
+    private BlobEncoding encoding;
+
+    public SubmissionFileDTO(Long applicationId, String username, Long roundId, LocalDateTime applicationDate,
+                             Integer reviewPoints, String filePath, String blobHash, String fileName, BlobEncoding encoding) {
+        this.applicationId = applicationId;
+        this.username = username;
+        this.roundId = roundId;
+        this.applicationDate = applicationDate;
+        this.reviewPoints = reviewPoints;
+        this.filePath = filePath;
+        this.blobHash = blobHash;
+        this.fileName = fileName;
+        this.encoding = encoding;
+    }
+}
@@ -0,0 +1,35 @@
+package backend.competition_hub.dtos;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Egy forduló (vagy az egész task) beküldéseinek statisztikája. A roundId null a forduló nélküli
+ * beküldéseknél és az összesítésnél. A pointsDistribution i. eleme az i pontot kapott beküldések száma (0-10).
+ */
+@Data
+public class SubmissionStatisticsDTO {
+    private Long roundId;
+    private long submissionCount;
+    private long reviewedCount;
+    private double reviewCompletionRate;
+    private Double pointsAverage;
+    private List<Long> pointsDistribution;
+
+    public SubmissionStatisticsDTO(Long roundId, long submissionCount, long reviewedCount, List<Long> pointsDistribution) {
+        this.roundId = roundId;
+        this.submissionCount = submissionCount;
+        this.reviewedCount = reviewedCount;
+        this.reviewCompletionRate = submissionCount > 0 ? (double) reviewedCount / submissionCount : 0.0;
+        this.pointsDistribution = pointsDistribution;
+
+        long scored = 0;
+        long sum = 0;
+        for (int points = 0; points < pointsDistribution.size(); points++) {
+            scored += pointsDistribution.get(points);
+            sum += points * pointsDistribution.get(points);
+        }
+        this.pointsAverage = scored > 0 ? (double) sum / scored : null;
+    }
+}
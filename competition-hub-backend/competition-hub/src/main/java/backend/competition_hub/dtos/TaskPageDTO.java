@@ -0,0 +1,16 @@
+package backend.competition_hub.dtos;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskPageDTO {
+    private List<TaskSummaryDTO> items;
+    private Long nextCursor; // a következő oldal "before" paramétere, null ha nincs több
+
+    public TaskPageDTO(List<TaskSummaryDTO> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
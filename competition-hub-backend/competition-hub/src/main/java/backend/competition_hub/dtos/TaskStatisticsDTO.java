@@ -0,0 +1,22 @@
+package backend.competition_hub.dtos;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Kiíró statisztika: az összesítés és fordulónként (a task fordulóinak sorrendjében, a beküldés nélküliek is),
+ * a végén a forduló nélküli beküldések, ha vannak.
+ */
+@Data
+public class TaskStatisticsDTO {
+    private Long taskId;
+    private SubmissionStatisticsDTO total;
+    private List<SubmissionStatisticsDTO> rounds;
+
+    public TaskStatisticsDTO(Long taskId, SubmissionStatisticsDTO total, List<SubmissionStatisticsDTO> rounds) {
+        this.taskId = taskId;
+        this.total = total;
+        this.rounds = rounds;
+    }
+}
@@ -0,0 +1,24 @@
+package backend.competition_hub.dtos;
+
+import lombok.Data;
+
+/**
+ * Egy task beküldéseinek tárhelye: eredeti és lemezen foglalt (tömörített) méret.
+ * A compressionRatio = originalBytes / storedBytes (1.0, ha nincs tömörítés vagy beküldés).
+ */
+@Data
+public class TaskStorageDTO {
+    private Long taskId;
+    private Long submissionCount;
+    private Long originalBytes;
+    private Long storedBytes;
+    private Double compressionRatio;
+
+    public TaskStorageDTO(Long taskId, Long submissionCount, Long originalBytes, Long storedBytes) {
+        this.taskId = taskId;
+        this.submissionCount = submissionCount;
+        this.originalBytes = originalBytes;
+        this.storedBytes = storedBytes;
+        this.compressionRatio = storedBytes > 0 ? (double) originalBytes / storedBytes : 1.0;
+    }
+}
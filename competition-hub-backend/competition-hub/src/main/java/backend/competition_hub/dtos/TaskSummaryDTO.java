@@ -0,0 +1,34 @@
+package backend.competition_hub.dtos;
+
+import backend.competition_hub.EvaluationType;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Karcsú Task lista-elem: nincs benne a rounds / applications gráf,
+ * egyetlen projekciós lekérdezés állítja elő (TaskRepository.findSummaries).
+ */
+@Data
+public class TaskSummaryDTO {
+    private Long id;
+    private String title;
+    private String excerpt; // a leírás eleje a listakártyához
+    private LocalDate applicationDeadline;
+    private EvaluationType evaluationType;
+    private Long activeRoundId;
+    private LocalDate activeRoundDeadline;
+    private Long applicationCount;
+
+    public TaskSummaryDTO(Long id, String title, String excerpt, LocalDate applicationDeadline, EvaluationType evaluationType,
+                          Long activeRoundId, LocalDate activeRoundDeadline, Long applicationCount) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.applicationDeadline = applicationDeadline;
+        this.evaluationType = evaluationType;
+        this.activeRoundId = activeRoundId;
+        this.activeRoundDeadline = activeRoundDeadline;
+        this.applicationCount = applicationCount;
+    }
+}
@@ -0,0 +1,29 @@
+package backend.competition_hub.dtos;
+
+import backend.competition_hub.UploadSessionStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class UploadSessionDTO {
+    private String uploadId;
+    private Long totalSize;
+    private Integer chunkSize;
+    private Integer totalChunks;
+    private List<Integer> receivedChunks; // folytatáskor ezeket nem kell újraküldeni
+    private UploadSessionStatus status;
+    private LocalDateTime expiresAt; // eddig kell a commit
+
+    public UploadSessionDTO(String uploadId, Long totalSize, Integer chunkSize, Integer totalChunks, List<Integer> receivedChunks,
+                            UploadSessionStatus status, LocalDateTime expiresAt) {
+        this.uploadId = uploadId;
+        this.totalSize = totalSize;
+        this.chunkSize = chunkSize;
+        this.totalChunks = totalChunks;
+        this.receivedChunks = receivedChunks;
+        this.status = status;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,5 +1,6 @@
 package backend.competition_hub.entities;
 
+import backend.competition_hub.ProcessingStatus;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -7,7 +8,6 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 import lombok.Data;
 
-import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Date;
 
@@ -23,7 +23,7 @@ public class Application {
     private String keycloakUserId;
     private String keycloakUserName;
 
-    @ManyToOne
+    @ManyToOne(optional = false)
     @JoinColumn(name = "task_id", nullable = false)
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Task task;
@@ -32,7 +32,15 @@ public class Application {
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Round round;
 
+    // Csak a tartalom szerinti tárolás előtti beküldéseknél; az újaknál a blobHash azonosítja a fájlt
     private String filePath;
+
+    @Column(name = "blob_hash", length = 64)
+    private String blobHash;
+
+    @Column(name = "file_name")
+    private String fileName;
+
     private LocalDateTime applicationDate;
     //private String review;
 
@@ -42,16 +50,29 @@ public class Application {
     @Column(name = "review_points")
     private Integer reviewPoints;
 
-    @Column(name = "applicant_last_viewed_review_at")
-    private LocalDateTime applicantLastViewedReviewAt;
-
     @Column(name = "review_created_at")
     private LocalDateTime reviewCreatedAt;
 
-    @Column(name = "eliminated_seen")
-    private Boolean eliminatedSeen;
+    // Feltöltés utáni feldolgozás: beszúráskor PENDING, utána csak a SubmissionProcessingService írja
+    // (célzott UPDATE-tel), így egy közben mentett értékelés nem írja felül
+    @Enumerated(EnumType.STRING)
+    @Column(name = "processing_status", length = 16, updatable = false)
+    private ProcessingStatus processingStatus;
+
+    @Column(name = "processing_error", updatable = false)
+    private String processingError;
+
+    @Column(name = "processing_updated_at", updatable = false)
+    private LocalDateTime processingUpdatedAt;
+
+    @Column(name = "content_type", length = 100, updatable = false)
+    private String contentType;
+
+    @Column(name = "page_count", updatable = false)
+    private Integer pageCount;
 
-    private Instant lastRoundActivationViewAt;
+    @Column(name = "archive_entries", updatable = false)
+    private Integer archiveEntries;
 
     public Application() {}
 
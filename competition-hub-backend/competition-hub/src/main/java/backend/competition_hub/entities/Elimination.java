@@ -0,0 +1,41 @@
+package backend.competition_hub.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Egy jelentkező kizárása egy taskból. (task, user) szerint egyedi, így a kizárás
+ * és a visszavétel egyetlen sor írása, a feltöltéskori ellenőrzés pedig indexelt
+ * pontszerű keresés.
+ */
+@Data
+@Entity
+@Table(name = "elimination",
+        uniqueConstraints = @UniqueConstraint(name = "uk_elimination_task_user",
+                columnNames = {"task_id", "keycloak_username"}))
+public class Elimination {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "task_id", nullable = false)
+    @JsonIgnore
+    private Task task;
+
+    @Column(name = "keycloak_username", nullable = false)
+    private String username;
+
+    // Melyik forduló után esett ki (az akkor aktív forduló); régi adatnál üres
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "round_id")
+    @JsonIgnore
+    private Round round;
+
+    @Column(name = "eliminated_at", nullable = false)
+    private LocalDateTime eliminatedAt;
+}
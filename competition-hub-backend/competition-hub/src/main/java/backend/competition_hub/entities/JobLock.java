@@ -0,0 +1,23 @@
+package backend.competition_hub.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ütemezett feladat zársora (JobLockRepository.tryLock): a sort zároló tranzakció
+ * az egyetlen futó példány, a lastRunAt az utolsó sikeres futás ideje.
+ */
+@Data
+@Entity
+@Table(name = "job_lock")
+public class JobLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "last_run_at")
+    private LocalDateTime lastRunAt;
+}
@@ -0,0 +1,47 @@
+package backend.competition_hub.entities;
+
+import backend.competition_hub.events.NotificationType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Olvasási vízjel (felhasználó, task, értesítés-típus) szerint: mikor nézte meg
+ * utoljára a felhasználó az adott típusú értesítéseket. Minden, ami ennél
+ * később keletkezett, olvasatlan. A "megnéztem" egyetlen UPSERT, függetlenül
+ * attól, hány beküldése van a felhasználónak.
+ */
+@Data
+@Entity
+@Table(name = "read_watermark",
+        uniqueConstraints = @UniqueConstraint(name = "uk_read_watermark_user_task_kind",
+                columnNames = {"username", "task_id", "kind"}))
+public class ReadWatermark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private NotificationType kind;
+
+    @Column(name = "seen_at", nullable = false)
+    private LocalDateTime seenAt;
+
+    public ReadWatermark() {}
+
+    public ReadWatermark(String username, Long taskId, NotificationType kind, LocalDateTime seenAt) {
+        this.username = username;
+        this.taskId = taskId;
+        this.kind = kind;
+        this.seenAt = seenAt;
+    }
+}
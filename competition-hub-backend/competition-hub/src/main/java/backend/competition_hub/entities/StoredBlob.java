@@ -0,0 +1,41 @@
+package backend.competition_hub.entities;
+
+import backend.competition_hub.BlobEncoding;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tartalom szerint címzett fájl (blob): a kulcs a tartalom SHA-256 hash-e (hex).
+ * Ugyanaz a tartalom egyszer kerül lemezre, akárhány beküldés hivatkozik rá;
+ * a refCount a hivatkozó Application-ök száma. A tartalom tömörítve is tárolódhat,
+ * a hash mindig az eredeti tartalomé.
+ */
+@Data
+@Entity
+@Table(name = "stored_blob")
+public class StoredBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    // Eredeti (kibontott) méret
+    @Column(nullable = false)
+    private Long size;
+
+    // Lemezen foglalt méret (tömörítve, ha az encoding GZIP)
+    @Column(name = "stored_size", nullable = false)
+    private Long storedSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BlobEncoding encoding;
+
+    @Column(name = "ref_count", nullable = false)
+    private Long refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
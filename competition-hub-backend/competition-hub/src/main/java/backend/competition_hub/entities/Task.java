@@ -6,10 +6,11 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -18,6 +19,8 @@ import java.util.Objects;
 @Data
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task")
 public class Task {
 
     @Id
@@ -40,21 +43,16 @@ public class Task {
     @Column(nullable = false)
     private EvaluationType evaluationType;
 
+    // Inverz oldal: a Round mentése nem üríti, ezt az EntityCacheService végzi (TaskChangedEvent)
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task-rounds")
     @JsonManagedReference
     private List<Round> rounds;
 
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Application> applications;
 
-    @Column(name = "creator_last_viewed_at")
-    private LocalDateTime creatorLastViewedAt;
-
-    // ÚJ MEZŐ: Keycloak felhasználónevek listája azoknak, akik kiestek a versenyből
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "task_eliminated_applicants", joinColumns = @JoinColumn(name = "task_id"))
-    @Column(name = "keycloak_username")
-    private List<String> eliminatedApplicants; // Lista a kiesett userek username-jeiről
+    // A kizárások külön entitásban vannak (Elimination), a lista a /api/tasks/{id}/eliminations végponton érhető el
 
     @PrePersist
     @PreUpdate
@@ -0,0 +1,28 @@
+package backend.competition_hub.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task-onkénti monoton revízió a feltételes GET-ekhez (ETag, Last-Modified).
+ * Minden olyan írás lépteti, ami a Task JSON-ját megváltoztatja (Task, fordulók,
+ * beküldések, értékelések, kizárások); a task_id = 0 sor a teljes listáé (a commit után lép).
+ */
+@Data
+@Entity
+@Table(name = "task_revision")
+public class TaskRevision {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(nullable = false)
+    private Long revision;
+
+    // Másodpercre kerekítve és szigorúan növekvően (a Last-Modified fejléc másodperc pontosságú)
+    @Column(name = "modified_at", nullable = false)
+    private LocalDateTime modifiedAt;
+}
@@ -0,0 +1,44 @@
+package backend.competition_hub.entities;
+
+import backend.competition_hub.events.NotificationType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Materializált olvasatlan-számláló (felhasználó, task, típus) szerint.
+ * Az író műveletek ugyanabban a tranzakcióban frissítik, a touch-view végpontok
+ * nullázzák, így az értesítések lekérése egy indexelt pontszerű olvasás.
+ */
+@Data
+@Entity
+@Table(name = "unread_counter",
+        uniqueConstraints = @UniqueConstraint(name = "uk_unread_counter_user_kind_task",
+                columnNames = {"username", "kind", "task_id"}))
+public class UnreadCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private NotificationType kind;
+
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount;
+
+    public UnreadCounter() {}
+
+    public UnreadCounter(String username, Long taskId, NotificationType kind, Long unreadCount) {
+        this.username = username;
+        this.taskId = taskId;
+        this.kind = kind;
+        this.unreadCount = unreadCount;
+    }
+}
@@ -0,0 +1,49 @@
+package backend.competition_hub.entities;
+
+import backend.competition_hub.UploadSessionStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Folyamatban lévő darabolt (chunked) feltöltés. A már megérkezett darabok
+ * a lemezen vannak (uploads/.chunks/{id}/), itt csak a metaadatok.
+ */
+@Data
+@Entity
+public class UploadSession {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private Long taskId;
+
+    private Long roundId;
+
+    private String keycloakUserId;
+
+    @Column(nullable = false)
+    private String keycloakUserName;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false)
+    private Long totalSize;
+
+    @Column(nullable = false)
+    private Integer chunkSize;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // A lejárt munkamenet nem commitolható, a takarítás törli (upload.session-ttl)
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private UploadSessionStatus status = UploadSessionStatus.OPEN;
+}
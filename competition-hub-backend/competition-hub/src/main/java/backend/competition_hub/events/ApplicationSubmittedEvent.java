@@ -0,0 +1,16 @@
+package backend.competition_hub.events;
+
+import lombok.Getter;
+
+/**
+ * Új beküldés került az adatbázisba (a fájl már tartósan lemezen van).
+ * Commit után a SubmissionProcessingService erre teszi a feldolgozási sorba.
+ */
+@Getter
+public class ApplicationSubmittedEvent {
+    private final Long applicationId;
+
+    public ApplicationSubmittedEvent(Long applicationId) {
+        this.applicationId = applicationId;
+    }
+}
@@ -0,0 +1,33 @@
+package backend.competition_hub.events;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Azt jelzi, hogy a felsorolt felhasználók értesítési állapota megváltozott egy Task-nál
+ * (új esemény érkezett, vagy a felhasználó megtekintette). A service-ek publikálják,
+ * a cache és a push csatorna erre reagál.
+ */
+@Getter
+public class NotificationEvent {
+    private final NotificationType type; // null: minden típus érintett (pl. Task törlése)
+    private final Long taskId;
+    private final Set<String> usernames;
+
+    public NotificationEvent(NotificationType type, Long taskId, Collection<String> usernames) {
+        this.type = type;
+        this.taskId = taskId;
+        this.usernames = usernames.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public NotificationEvent(NotificationType type, Long taskId, String username) {
+        this(type, taskId, Collections.singleton(username));
+    }
+}
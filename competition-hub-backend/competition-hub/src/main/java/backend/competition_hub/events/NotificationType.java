@@ -0,0 +1,8 @@
+package backend.competition_hub.events;
+
+public enum NotificationType {
+    NEW_APPLICATION, // a kiíró új beküldést kapott
+    NEW_REVIEW,      // a jelentkező új értékelést kapott
+    ELIMINATION,     // a jelentkezőt kizárták
+    ROUND_ACTIVATED, // új forduló indult
+}
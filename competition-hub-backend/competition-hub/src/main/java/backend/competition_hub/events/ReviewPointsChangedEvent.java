@@ -0,0 +1,25 @@
+package backend.competition_hub.events;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Pontozott (POINTS / BOTH) task beküldéseinek értékelése megváltozott. Az új állapotot viszi (nem különbséget),
+ * így többszöri vagy késve érkező alkalmazása sem ront el semmit; commit után a LeaderboardService erre frissít.
+ */
+@Getter
+public class ReviewPointsChangedEvent {
+    private final Long taskId;
+    private final List<ScoredApplication> applications;
+
+    public ReviewPointsChangedEvent(Long taskId, List<ScoredApplication> applications) {
+        this.taskId = taskId;
+        this.applications = List.copyOf(applications);
+    }
+
+    // points == null: a beküldésnek nincs (már) pontszáma
+    public record ScoredApplication(Long applicationId, Long roundId, String username, Integer points,
+                                    LocalDateTime reviewedAt) {}
+}
@@ -0,0 +1,16 @@
+package backend.competition_hub.events;
+
+import lombok.Getter;
+
+/**
+ * Azt jelzi, hogy egy Task vagy a fordulói megváltoztak (szerkesztés, forduló aktiválás, törlés).
+ * Commit után a második szintű cache erre üríti a Task-hoz tartozó bejegyzéseket.
+ */
+@Getter
+public class TaskChangedEvent {
+    private final Long taskId;
+
+    public TaskChangedEvent(Long taskId) {
+        this.taskId = taskId;
+    }
+}
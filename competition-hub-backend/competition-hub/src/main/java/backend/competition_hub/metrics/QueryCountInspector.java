@@ -0,0 +1,32 @@
+package backend.competition_hub.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Megszámolja a kérésszálon előkészített SQL utasításokat. A számlálást a
+ * QueryCountInterceptor indítja és zárja le; kérésen kívül (ütemezett feladat, async) nem számol.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private final ThreadLocal<long[]> counter = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = counter.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    void start() {
+        counter.set(new long[1]);
+    }
+
+    // A számlálás vége: az addig előkészített utasítások száma (0, ha nem indult)
+    long stop() {
+        long[] count = counter.get();
+        counter.remove();
+        return count != null ? count[0] : 0;
+    }
+}
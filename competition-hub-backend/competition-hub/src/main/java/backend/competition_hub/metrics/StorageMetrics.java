@@ -0,0 +1,52 @@
+package backend.competition_hub.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A beküldött fájlok lemezműveleteinek mérőszámai. A bájtszámlálókból a Prometheus
+ * rate()-tel ad bájt/másodpercet; az olvasási idő a kliens felé küldést is tartalmazza.
+ */
+@Component
+public class StorageMetrics {
+
+    private final Counter uploadBytes;
+    private final Counter downloadBytes;
+    private final Timer writeTimer;
+    private final Timer readTimer;
+
+    public StorageMetrics(MeterRegistry meterRegistry) {
+        this.uploadBytes = Counter.builder("storage.upload.bytes")
+                .baseUnit("bytes")
+                .description("Lemezre írt feltöltött bájtok")
+                .register(meterRegistry);
+        this.downloadBytes = Counter.builder("storage.download.bytes")
+                .baseUnit("bytes")
+                .description("Lemezről kiszolgált letöltött bájtok")
+                .register(meterRegistry);
+        this.writeTimer = Timer.builder("storage.file.io")
+                .tag("operation", "write")
+                .description("Fájlírás ideje (feltöltés, darab)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.readTimer = Timer.builder("storage.file.io")
+                .tag("operation", "read")
+                .description("Fájl kiszolgálásának ideje (letöltés)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void recordWrite(long bytes, long nanos) {
+        uploadBytes.increment(bytes);
+        writeTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRead(long bytes, long nanos) {
+        downloadBytes.increment(bytes);
+        readTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,11 +1,16 @@
 package backend.competition_hub.repositories;
+import backend.competition_hub.ProcessingStatus;
+import backend.competition_hub.dtos.SubmissionFileDTO;
 import backend.competition_hub.entities.Application;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,37 +21,131 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
 
     List<Application> findByKeycloakUserId(String keycloakUserId);
 
-    @Query("SELECT a.task.id, a.task.title, COUNT(a.id) " +
-            "FROM Application a " +
-            "WHERE a.keycloakUserName = :username " +
-            "AND (a.reviewText IS NOT NULL OR a.reviewPoints IS NOT NULL) " +
-            "AND (a.applicantLastViewedReviewAt IS NULL OR a.applicantLastViewedReviewAt < a.reviewCreatedAt) " +
-            "GROUP BY a.task.id, a.task.title " +
-            "HAVING COUNT(a.id) > 0")
-    List<Object[]> getTasksWithNewReviewCount(@Param("username") String username);
+    @Query("select distinct a.keycloakUserName from Application a where a.task.id = :taskId")
+    List<String> findDistinctUserNamesByTaskId(@Param("taskId") Long taskId);
 
+    // Több task jelentkezői egy lekérdezéssel: [task id, felhasználónév]
+    @Query("select distinct a.task.id, a.keycloakUserName from Application a where a.task.id in :taskIds")
+    List<Object[]> findDistinctUserNamesByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * Azok a Task-ok, ahol a user ROUND_ACTIVATED vízjele óta új forduló indult
+     * (Round.activatedAt > ReadWatermark.seenAt), a kizártak nélkül.
+     * Egyetlen SQL utasítás, függetlenül a user beküldéseinek számától.
+     */
     @Query("""
-        select a.task.id, a.task.title, count(a.id)
-        from Application a
+        select distinct t.id, t.title
+        from Application a join a.task t
         where a.keycloakUserName = :username
-          and :username member of a.task.eliminatedApplicants
-          and (a.eliminatedSeen = false or a.eliminatedSeen is null)
-        group by a.task.id, a.task.title
-        having count(a.id) > 0
+          and not exists (select e.id from Elimination e where e.task = t and e.username = :username)
+          and exists (
+              select r.id from Round r
+              where r.task = t
+                and r.activatedAt is not null
+                and not exists (
+                    select w.id from ReadWatermark w
+                    where w.username = :username
+                      and w.taskId = t.id
+                      and w.kind = backend.competition_hub.events.NotificationType.ROUND_ACTIVATED
+                      and w.seenAt >= r.activatedAt
+                )
+          )
+    """)
+    List<Object[]> findTasksWithUnseenRoundActivation(@Param("username") String username);
+
+    // ZIP export: a task (vagy egy fordulója) összes beküldésének fájl-adatai egy lekérdezéssel, a blob tárolási formájával
+    @Query("""
+        select new backend.competition_hub.dtos.SubmissionFileDTO(a.id, a.keycloakUserName, a.round.id, a.applicationDate,
+               a.reviewPoints, a.filePath, a.blobHash, a.fileName, b.encoding)
+        from Application a
+        left join StoredBlob b on b.hash = a.blobHash
+        where a.task.id = :taskId
+          and (:roundId is null or a.round.id = :roundId)
+        order by a.keycloakUserName, a.id
+    """)
+    List<SubmissionFileDTO> findSubmissionFiles(@Param("taskId") Long taskId, @Param("roundId") Long roundId);
+
+    // Feltöltés utáni feldolgozás: a processing_* oszlopokat csak az alábbiak írják, az entitás mentése nem
+
+    // A feldolgozás lefoglalása: a PENDING beküldést csak egy worker (példány) kaphatja meg
+    @Transactional
+    @Modifying
+    @Query("""
+        update Application a set a.processingStatus = backend.competition_hub.ProcessingStatus.PROCESSING,
+               a.processingUpdatedAt = :now
+        where a.id = :id and a.processingStatus = backend.competition_hub.ProcessingStatus.PENDING
     """)
-    List<Object[]> getTasksWithUnseenElimination(@Param("username") String username);
+    int claimForProcessing(@Param("id") Long id, @Param("now") LocalDateTime now);
 
+    @Transactional
     @Modifying
+    @Query("""
+        update Application a set a.processingStatus = :status, a.processingError = :error, a.contentType = :contentType,
+               a.pageCount = :pageCount, a.archiveEntries = :archiveEntries, a.processingUpdatedAt = :now
+        where a.id = :id
+    """)
+    int completeProcessing(@Param("id") Long id, @Param("status") ProcessingStatus status, @Param("error") String error,
+                           @Param("contentType") String contentType, @Param("pageCount") Integer pageCount,
+                           @Param("archiveEntries") Integer archiveEntries, @Param("now") LocalDateTime now);
+
+    // Félbemaradt feldolgozás (leállt közben a példány): újra PENDING, a következő újraütemezés sorba teszi
     @Transactional
+    @Modifying
     @Query("""
-        update Application a
-        set a.eliminatedSeen = true
-        where a.keycloakUserName = :username
-          and a.task.id = :taskId
-          and :username member of a.task.eliminatedApplicants
-          and (a.eliminatedSeen = false or a.eliminatedSeen is null)
+        update Application a set a.processingStatus = backend.competition_hub.ProcessingStatus.PENDING,
+               a.processingUpdatedAt = :now
+        where a.processingStatus = backend.competition_hub.ProcessingStatus.PROCESSING and a.processingUpdatedAt < :before
+    """)
+    int resetStalledProcessing(@Param("before") LocalDateTime before, @Param("now") LocalDateTime now);
+
+    // A feldolgozási állapot a Task JSON része: minden változásakor a task revíziója is lép (TaskRevisionService)
+    @Query("select a.task.id from Application a where a.id = :id")
+    Optional<Long> findTaskIdById(@Param("id") Long id);
+
+    // A resetStalledProcessing által (a megadott időponttal) visszaállított beküldések taskjai
+    @Query("""
+        select distinct a.task.id from Application a
+        where a.processingStatus = backend.competition_hub.ProcessingStatus.PENDING and a.processingUpdatedAt = :updatedAt
+    """)
+    List<Long> findTaskIdsByPendingSince(@Param("updatedAt") LocalDateTime updatedAt);
+
+    // Sorba nem került (megtelt a sor, újraindult a példány) beküldések, a legrégebbiek elöl
+    @Query("""
+        select a.id from Application a
+        where a.processingStatus = backend.competition_hub.ProcessingStatus.PENDING and a.processingUpdatedAt < :before
+        order by a.processingUpdatedAt
+    """)
+    List<Long> findPendingProcessingIds(@Param("before") LocalDateTime before, Pageable pageable);
+
+    // Ranglista: a task pontozott beküldései [id, forduló id, felhasználónév, pont, értékelés ideje]
+    @Query("select a.id, a.round.id, a.keycloakUserName, a.reviewPoints, a.reviewCreatedAt from Application a "
+            + "where a.task.id = :taskId and a.reviewPoints is not null")
+    List<Object[]> findScoresByTaskId(@Param("taskId") Long taskId);
+
+    // Ranglista újraépítése induláskor, egy lekérdezéssel: [task id, id, forduló id, felhasználónév, pont, értékelés ideje]
+    @Query("select a.task.id, a.id, a.round.id, a.keycloakUserName, a.reviewPoints, a.reviewCreatedAt from Application a "
+            + "where a.reviewPoints is not null and a.task.evaluationType in (backend.competition_hub.EvaluationType.POINTS, "
+            + "backend.competition_hub.EvaluationType.BOTH)")
+    List<Object[]> findAllScores();
+
+    // Kiíró statisztika, fordulónként: [forduló id, beküldések, értékelt beküldések]
+    @Query("""
+        select a.round.id, count(a.id),
+               sum(case when a.reviewText is not null or a.reviewPoints is not null then 1 else 0 end)
+        from Application a
+        where a.task.id = :taskId
+        group by a.round.id
+    """)
+    List<Object[]> countSubmissionsPerRound(@Param("taskId") Long taskId);
+
+    // Kiíró statisztika, a pontszámok eloszlása fordulónként: [forduló id, pont, darab]
+    @Query("""
+        select a.round.id, a.reviewPoints, count(a.id)
+        from Application a
+        where a.task.id = :taskId and a.reviewPoints is not null
+        group by a.round.id, a.reviewPoints
     """)
-    int markEliminationSeen(@Param("username") String username, @Param("taskId") Long taskId);
+    List<Object[]> countPointsPerRound(@Param("taskId") Long taskId);
 
     List<Application> findByTaskIdAndKeycloakUserName(Long taskId, String keycloakUserName);
 
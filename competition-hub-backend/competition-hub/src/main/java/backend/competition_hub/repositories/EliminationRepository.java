@@ -0,0 +1,42 @@
+package backend.competition_hub.repositories;
+
+import backend.competition_hub.entities.Elimination;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EliminationRepository extends JpaRepository<Elimination, Long> {
+
+    // Feltöltéskori ellenőrzés: az egyedi (task_id, keycloak_username) indexen fut
+    boolean existsByTaskIdAndUsername(Long taskId, String username);
+
+    @Query("select e.username from Elimination e where e.task.id = :taskId order by e.username")
+    List<String> findUsernamesByTaskId(@Param("taskId") Long taskId);
+
+    // Már kizárt usernél nem ír semmit (0-t ad vissza), így párhuzamos kéréseknél sem lesz duplikátum
+    // A natív DML csak a saját táblájához tartozó cache-régiókat érvényteleníti, nem a teljes második szintű cache-t
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "elimination"))
+    @Modifying
+    @Query(value = """
+        insert ignore into elimination (task_id, keycloak_username, round_id, eliminated_at)
+        values (:taskId, :username, :roundId, :eliminatedAt)
+    """, nativeQuery = true)
+    int add(@Param("taskId") Long taskId, @Param("username") String username,
+            @Param("roundId") Long roundId, @Param("eliminatedAt") LocalDateTime eliminatedAt);
+
+    @Modifying
+    @Query("delete from Elimination e where e.task.id = :taskId and e.username in :usernames")
+    int deleteByTaskIdAndUsernameIn(@Param("taskId") Long taskId, @Param("usernames") Collection<String> usernames);
+
+    @Modifying
+    @Query("delete from Elimination e where e.task.id = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+}
@@ -0,0 +1,15 @@
+package backend.competition_hub.repositories;
+
+import backend.competition_hub.entities.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    // A hívó tranzakciójának végéig zárol; üres, ha egy másik példány éppen futtatja a feladatot
+    @Query(value = "select * from job_lock where name = :name for update skip locked", nativeQuery = true)
+    Optional<JobLock> tryLock(@Param("name") String name);
+}
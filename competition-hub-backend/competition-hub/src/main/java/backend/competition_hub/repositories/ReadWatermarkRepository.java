@@ -0,0 +1,56 @@
+package backend.competition_hub.repositories;
+
+import backend.competition_hub.entities.ReadWatermark;
+import backend.competition_hub.events.NotificationType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReadWatermarkRepository extends JpaRepository<ReadWatermark, Long> {
+
+    // Egyetlen UPSERT; a vízjel sosem lép vissza (párhuzamos / késve érkező touch esetén sem)
+    // A natív DML csak a saját táblájához tartozó cache-régiókat érvényteleníti, nem a teljes második szintű cache-t
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "read_watermark"))
+    @Modifying
+    @Query(value = """
+        insert into read_watermark (username, task_id, kind, seen_at)
+        values (:username, :taskId, :kind, :seenAt)
+        on duplicate key update seen_at = greatest(seen_at, :seenAt)
+    """, nativeQuery = true)
+    void markSeen(@Param("username") String username, @Param("taskId") Long taskId,
+                  @Param("kind") String kind, @Param("seenAt") LocalDateTime seenAt);
+
+    @Query("""
+        select w.seenAt
+        from ReadWatermark w
+        where w.username = :username
+          and w.taskId = :taskId
+          and w.kind = :kind
+    """)
+    Optional<LocalDateTime> findSeenAt(@Param("username") String username, @Param("taskId") Long taskId,
+                                       @Param("kind") NotificationType kind);
+
+    // Kötegelt műveletekhez: több user vízjele egy taskon belül
+    @Query("""
+        select w.username, w.seenAt
+        from ReadWatermark w
+        where w.username in :usernames
+          and w.taskId = :taskId
+          and w.kind = :kind
+    """)
+    List<Object[]> findSeenAt(@Param("taskId") Long taskId, @Param("kind") NotificationType kind,
+                              @Param("usernames") Collection<String> usernames);
+
+    @Modifying
+    @Query("delete from ReadWatermark w where w.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+}
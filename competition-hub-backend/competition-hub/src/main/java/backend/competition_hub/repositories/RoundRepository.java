@@ -1,10 +1,64 @@
 package backend.competition_hub.repositories;
 
 import backend.competition_hub.entities.Round;
+import backend.competition_hub.services.EntityCacheService;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RoundRepository extends JpaRepository<Round, Long> {
+
+    // Lekérdezés-cache: az eredmény csak Round ID-kat tárol, maguk a sorok a Round régióból jönnek
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheService.ROUNDS_BY_TASK_REGION)
+    })
     List<Round> findByTaskId(Long taskId);
+
+    Optional<Round> findFirstByTaskIdAndIsActiveTrue(Long taskId);
+
+    /**
+     * Lejárt határidejű aktív fordulók, amelyeknek van következője, határidő szerint
+     * (idx_round_active_deadline): [forduló id, task id, következő forduló id].
+     * A következő a (határidő, id) szerinti rendezésben utána jövő forduló, mint az activateNextRound-ban.
+     * FOR UPDATE SKIP LOCKED: több példány egyszerre futhat, a más által zárolt sorokat átugorja.
+     * A MySQL és a H2 is csak a külső lekérdezés sorait zárolja, az allekérdezésekét nem.
+     */
+    @Query(value = """
+        select r.id, r.task_id,
+               (select n.id from round n
+                where n.task_id = r.task_id
+                  and (n.deadline > r.deadline or (n.deadline = r.deadline and n.id > r.id))
+                order by n.deadline, n.id
+                limit 1)
+        from round r
+        where r.is_active = true
+          and r.deadline < :today
+          and exists (select 1 from round n
+                      where n.task_id = r.task_id
+                        and (n.deadline > r.deadline or (n.deadline = r.deadline and n.id > r.id)))
+        order by r.deadline, r.id
+        limit :limit
+        for update skip locked
+    """, nativeQuery = true)
+    List<Object[]> lockExpiredActiveRounds(@Param("today") LocalDate today, @Param("limit") int limit);
+
+    // Kötegelt váltás: a lezárt forduló kapja az activatedAt-et, mint a kézi activateNextRound-ban
+    @Modifying
+    @Query("update Round r set r.isActive = false, r.activatedAt = :activatedAt where r.id in :ids")
+    int deactivateAll(@Param("ids") Collection<Long> ids, @Param("activatedAt") LocalDateTime activatedAt);
+
+    @Modifying
+    @Query("update Round r set r.isActive = true where r.id in :ids")
+    int activateAll(@Param("ids") Collection<Long> ids);
 }
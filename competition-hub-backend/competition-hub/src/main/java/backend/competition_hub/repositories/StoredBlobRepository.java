@@ -0,0 +1,87 @@
+package backend.competition_hub.repositories;
+
+import backend.competition_hub.dtos.TaskStorageDTO;
+import backend.competition_hub.entities.StoredBlob;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    // Új blob beszúrása vagy a meglévő hivatkozásszámának növelése egy UPSERT-tel. A sor zárolva marad
+    // a tranzakció végéig, így a szemétgyűjtő közben nem törölheti a fájlt. Az érintett sorok száma 1, ha új sor
+    // jött létre, és 2, ha a meglévő nőtt (MySQL és H2 MySQL módban is)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stored_blob"))
+    @Query(value = """
+        insert into stored_blob (hash, size, stored_size, encoding, ref_count, created_at)
+        values (:hash, :size, :storedSize, :encoding, 1, :createdAt)
+        on duplicate key update ref_count = ref_count + 1
+    """, nativeQuery = true)
+    int addReference(@Param("hash") String hash, @Param("size") long size, @Param("storedSize") long storedSize,
+                      @Param("encoding") String encoding, @Param("createdAt") LocalDateTime createdAt);
+
+    // Task törlése előtt: a task beküldéseinek hivatkozásai egy utasítással vonódnak le
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stored_blob"))
+    @Query(value = """
+        update stored_blob b
+        set b.ref_count = b.ref_count - (
+            select count(*) from application a where a.task_id = :taskId and a.blob_hash = b.hash)
+        where b.hash in (select a.blob_hash from application a where a.task_id = :taskId)
+    """, nativeQuery = true)
+    int releaseByTaskId(@Param("taskId") Long taskId);
+
+    // Hivatkozás nélküli blobok zárolása törléshez; a párhuzamosan épp hivatkozott (UPSERT-tel zárolt) sorokat átugorja
+    @Query(value = """
+        select b.hash from stored_blob b
+        where b.ref_count <= 0
+        limit :limit
+        for update skip locked
+    """, nativeQuery = true)
+    List<String> lockUnreferenced(@Param("limit") int limit);
+
+    // A task beküldéseinek eredeti és lemezen foglalt mérete (tömörítési arány); a régi, blob nélküli beküldések nem számítanak
+    @Query("""
+        select new backend.competition_hub.dtos.TaskStorageDTO(:taskId, count(a), coalesce(sum(b.size), 0), coalesce(sum(b.storedSize), 0))
+        from Application a, StoredBlob b
+        where a.task.id = :taskId
+          and b.hash = a.blobHash
+    """)
+    TaskStorageDTO getTaskStorage(@Param("taskId") Long taskId);
+
+    @Modifying
+    @Query("delete from StoredBlob b where b.hash in :hashes and b.refCount <= 0")
+    int deleteUnreferenced(@Param("hashes") Collection<String> hashes);
+
+    // Árva fájlok (visszagörgetett feltöltés): a sorral rendelkező hash-ek kiszűrése
+    @Query("select b.hash from StoredBlob b where b.hash in :hashes")
+    List<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+
+    // Sor nélküli fájl "örökbefogadása" hivatkozás nélküli blobként: a beszúrt (vagy meglévő) sor zárolva marad
+    // a tranzakció végéig, így egy közben érkező azonos tartalmú feltöltés az UPSERT-nél megvárja a fájl törlését
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stored_blob"))
+    @Query(value = """
+        insert into stored_blob (hash, size, stored_size, encoding, ref_count, created_at)
+        values (:hash, 0, 0, 'IDENTITY', 0, :createdAt)
+        on duplicate key update ref_count = ref_count
+    """, nativeQuery = true)
+    void addUnreferenced(@Param("hash") String hash, @Param("createdAt") LocalDateTime createdAt);
+
+    // A megadott hash-ek közül a hivatkozás nélküliek zárolása (a máshol épp hivatkozottakra vár)
+    @Query(value = """
+        select b.hash from stored_blob b
+        where b.hash in :hashes and b.ref_count <= 0
+        for update
+    """, nativeQuery = true)
+    List<String> lockUnreferencedIn(@Param("hashes") Collection<String> hashes);
+}
@@ -1,6 +1,8 @@
 package backend.competition_hub.repositories;
 
+import backend.competition_hub.dtos.TaskSummaryDTO;
 import backend.competition_hub.entities.Task;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,16 +11,23 @@ import java.util.List;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
     /**
-     * Megszámolja azokat az Application-öket, amelyek a Task kiírója által
-     * utoljára megtekintett idő (Task.creatorLastViewedAt) után érkeztek.
-     * Task.creator a Task kiírójának Keycloak username-je.
+     * Keyset lapozás ID szerint csökkenő sorrendben (legújabb elöl): a PK-n futó
+     * tartomány-olvasás költsége az oldalmérettől függ, nem a tábla méretétől.
+     * A beküldésszám korrelált al-lekérdezés, csak az oldal soraira fut le.
      */
-    @Query("SELECT t.id, t.title, COUNT(a) " +
-            "FROM Task t JOIN t.applications a " +
-            "WHERE t.creator = :creator " +
-            // JAVÍTOTT FELTÉTEL:
-            "AND (t.creatorLastViewedAt IS NULL OR a.applicationDate > t.creatorLastViewedAt)" +
-            "GROUP BY t.id, t.title HAVING COUNT(a) > 0")
-    List<Object[]> getTasksWithNewApplicationCount(@Param("creator") String creator);
+    @Query("""
+        select new backend.competition_hub.dtos.TaskSummaryDTO(
+            t.id, t.title, substring(t.description, 1, 200), t.applicationDeadline, t.evaluationType,
+            r.id, r.deadline,
+            (select count(a.id) from Application a where a.task = t))
+        from Task t left join Round r on r.task = t and r.isActive = true
+        where t.id < :beforeId
+        order by t.id desc
+    """)
+    List<TaskSummaryDTO> findSummaries(@Param("beforeId") Long beforeId, Pageable pageable);
 
-}
\ No newline at end of file
+    // Ranglista újraépítése induláskor: a pontozott (POINTS / BOTH) taskok
+    @Query("select t.id from Task t where t.evaluationType in (backend.competition_hub.EvaluationType.POINTS, "
+            + "backend.competition_hub.EvaluationType.BOTH)")
+    List<Long> findScoredTaskIds();
+}
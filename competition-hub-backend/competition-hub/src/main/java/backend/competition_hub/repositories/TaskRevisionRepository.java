@@ -0,0 +1,40 @@
+package backend.competition_hub.repositories;
+
+import backend.competition_hub.entities.TaskRevision;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskRevisionRepository extends JpaRepository<TaskRevision, Long> {
+
+    // Atomi léptetés (párhuzamos írásoknál sem vész el); a modified_at legalább egy másodpercet lép,
+    // így a másodperc pontosságú If-Modified-Since sem ad 304-et egy másodpercen belüli második változásra
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_revision"))
+    @Query(value = """
+        insert into task_revision (task_id, revision, modified_at)
+        values (:taskId, 1, :modifiedAt)
+        on duplicate key update revision = revision + 1,
+                                modified_at = greatest(timestampadd(second, 1, modified_at), :modifiedAt)
+    """, nativeQuery = true)
+    void bump(@Param("taskId") Long taskId, @Param("modifiedAt") LocalDateTime modifiedAt);
+
+    @Modifying
+    @Query("delete from TaskRevision r where r.taskId = :taskId")
+    void deleteByTaskId(@Param("taskId") Long taskId);
+
+    // A felhasználó beküldéseihez tartozó taskok revíziói (/api/applications/by-user validátora)
+    @Query("""
+        select r from TaskRevision r
+        where r.taskId in (select a.task.id from Application a where a.keycloakUserId = :keycloakUserId)
+        order by r.taskId
+    """)
+    List<TaskRevision> findByApplicantUserId(@Param("keycloakUserId") String keycloakUserId);
+}
@@ -0,0 +1,185 @@
+package backend.competition_hub.repositories;
+
+import backend.competition_hub.entities.UnreadCounter;
+import backend.competition_hub.events.NotificationType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface UnreadCounterRepository extends JpaRepository<UnreadCounter, Long> {
+
+    // Értesítés-lista: (username, kind) az egyedi index prefixe, a címet a Task PK-n keresztül kapjuk
+    @Query("""
+        select c.taskId, t.title, c.unreadCount
+        from UnreadCounter c join Task t on t.id = c.taskId
+        where c.username = :username
+          and c.kind = :kind
+          and c.unreadCount > 0
+    """)
+    List<Object[]> findUnread(@Param("username") String username, @Param("kind") NotificationType kind);
+
+    // Egyetlen UPSERT: nincs read-modify-write verseny párhuzamos beküldéseknél
+    // A natív DML csak a saját táblájához tartozó cache-régiókat érvényteleníti, nem a teljes második szintű cache-t
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "unread_counter"))
+    @Modifying
+    @Query(value = """
+        insert into unread_counter (username, task_id, kind, unread_count)
+        values (:username, :taskId, :kind, greatest(:delta, 0))
+        on duplicate key update unread_count = greatest(unread_count + :delta, 0)
+    """, nativeQuery = true)
+    void increment(@Param("username") String username, @Param("taskId") Long taskId,
+                   @Param("kind") String kind, @Param("delta") long delta);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "unread_counter"))
+    @Modifying
+    @Query(value = """
+        insert into unread_counter (username, task_id, kind, unread_count)
+        values (:username, :taskId, :kind, :count)
+        on duplicate key update unread_count = :count
+    """, nativeQuery = true)
+    void set(@Param("username") String username, @Param("taskId") Long taskId,
+             @Param("kind") String kind, @Param("count") long count);
+
+    @Modifying
+    @Query("""
+        update UnreadCounter c
+        set c.unreadCount = 0
+        where c.username = :username
+          and c.taskId = :taskId
+          and c.kind = :kind
+    """)
+    int reset(@Param("username") String username, @Param("taskId") Long taskId, @Param("kind") NotificationType kind);
+
+    @Modifying
+    @Query("delete from UnreadCounter c where c.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+
+    // Újraépítés (UnreadCounterServiceImpl.rebuild), a számlálók törlése nélkül: előbb a hiányzó sorok beszúrása
+    // (a meglévőt az UPSERT érintetlenül hagyja), utána minden sor frissítése az aggregátumra. A values() hivatkozás
+    // MySQL-en elavult, a sor-alias (AS new) INSERT ... SELECT-nél nem használható, és a H2 egyiket sem ismeri; így
+    // mindkét utasítás hordozható. Az INSERT ... SELECT és az UPDATE allekérdezése a forrássorokat, az UPSERT és
+    // az UPDATE a számlálósorokat zárolja, így a közben futó író tranzakciók növelése vagy már benne van
+    // az aggregátumban, vagy utána kerül rá.
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "unread_counter"))
+    @Modifying
+    @Query(value = """
+        insert into unread_counter (username, task_id, kind, unread_count)
+        select t.creator, t.id, 'NEW_APPLICATION', count(a.id)
+        from task t
+        join application a on a.task_id = t.id
+        left join read_watermark w on w.username = t.creator and w.task_id = t.id and w.kind = 'NEW_APPLICATION'
+        where w.seen_at is null or a.application_date > w.seen_at
+        group by t.creator, t.id
+        on duplicate key update unread_count = unread_count
+    """, nativeQuery = true)
+    int insertNewApplicationCounts();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "unread_counter"))
+    @Modifying
+    @Query(value = """
+        insert into unread_counter (username, task_id, kind, unread_count)
+        select a.keycloak_user_name, a.task_id, 'NEW_REVIEW', count(a.id)
+        from application a
+        left join read_watermark w on w.username = a.keycloak_user_name and w.task_id = a.task_id and w.kind = 'NEW_REVIEW'
+        where a.keycloak_user_name is not null
+          and (a.review_text is not null or a.review_points is not null)
+          and a.review_created_at is not null
+          and (w.seen_at is null or w.seen_at < a.review_created_at)
+        group by a.keycloak_user_name, a.task_id
+        on duplicate key update unread_count = unread_count
+    """, nativeQuery = true)
+    int insertNewReviewCounts();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "unread_counter"))
+    @Modifying
+    @Query(value = """
+        insert into unread_counter (username, task_id, kind, unread_count)
+        select e.keycloak_username, e.task_id, 'ELIMINATION', count(e.id)
+        from elimination e
+        left join read_watermark w on w.username = e.keycloak_username and w.task_id = e.task_id and w.kind = 'ELIMINATION'
+        where w.seen_at is null or w.seen_at < e.eliminated_at
+        group by e.keycloak_username, e.task_id
+        on duplicate key update unread_count = unread_count
+    """, nativeQuery = true)
+    int insertEliminationCounts();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "unread_counter"))
+    @Modifying
+    @Query(value = """
+        update unread_counter
+        set unread_count = (
+            select count(a.id)
+            from task t
+            join application a on a.task_id = t.id
+            left join read_watermark w on w.username = t.creator and w.task_id = t.id and w.kind = 'NEW_APPLICATION'
+            where t.id = unread_counter.task_id and t.creator = unread_counter.username
+              and (w.seen_at is null or a.application_date > w.seen_at))
+        where kind = 'NEW_APPLICATION'
+    """, nativeQuery = true)
+    int refreshNewApplicationCounts();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "unread_counter"))
+    @Modifying
+    @Query(value = """
+        update unread_counter
+        set unread_count = (
+            select count(a.id)
+            from application a
+            left join read_watermark w on w.username = a.keycloak_user_name and w.task_id = a.task_id and w.kind = 'NEW_REVIEW'
+            where a.task_id = unread_counter.task_id and a.keycloak_user_name = unread_counter.username
+              and (a.review_text is not null or a.review_points is not null)
+              and a.review_created_at is not null
+              and (w.seen_at is null or w.seen_at < a.review_created_at))
+        where kind = 'NEW_REVIEW'
+    """, nativeQuery = true)
+    int refreshNewReviewCounts();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "unread_counter"))
+    @Modifying
+    @Query(value = """
+        update unread_counter
+        set unread_count = (
+            select count(e.id)
+            from elimination e
+            left join read_watermark w on w.username = e.keycloak_username and w.task_id = e.task_id and w.kind = 'ELIMINATION'
+            where e.task_id = unread_counter.task_id and e.keycloak_username = unread_counter.username
+              and (w.seen_at is null or w.seen_at < e.eliminated_at))
+        where kind = 'ELIMINATION'
+    """, nativeQuery = true)
+    int refreshEliminationCounts();
+
+    // Az aggregátumok szerint már nulla számlálók (a nullázott és az elavult sorok) törlése
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "unread_counter"))
+    @Modifying
+    @Query(value = """
+        delete from unread_counter
+        where unread_count = 0
+           or kind not in ('NEW_APPLICATION', 'NEW_REVIEW', 'ELIMINATION')
+           or (kind = 'NEW_APPLICATION' and not exists (
+                select a.id from task t
+                join application a on a.task_id = t.id
+                left join read_watermark w on w.username = t.creator and w.task_id = t.id and w.kind = 'NEW_APPLICATION'
+                where t.id = unread_counter.task_id and t.creator = unread_counter.username
+                  and (w.seen_at is null or a.application_date > w.seen_at)))
+           or (kind = 'NEW_REVIEW' and not exists (
+                select a.id from application a
+                left join read_watermark w on w.username = a.keycloak_user_name and w.task_id = a.task_id and w.kind = 'NEW_REVIEW'
+                where a.task_id = unread_counter.task_id and a.keycloak_user_name = unread_counter.username
+                  and (a.review_text is not null or a.review_points is not null)
+                  and a.review_created_at is not null
+                  and (w.seen_at is null or w.seen_at < a.review_created_at)))
+           or (kind = 'ELIMINATION' and not exists (
+                select e.id from elimination e
+                left join read_watermark w on w.username = e.keycloak_username and w.task_id = e.task_id and w.kind = 'ELIMINATION'
+                where e.task_id = unread_counter.task_id and e.keycloak_username = unread_counter.username
+                  and (w.seen_at is null or w.seen_at < e.eliminated_at)))
+    """, nativeQuery = true)
+    int deleteZeroCounts();
+}
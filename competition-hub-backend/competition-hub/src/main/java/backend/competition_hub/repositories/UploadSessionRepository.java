@@ -0,0 +1,29 @@
+package backend.competition_hub.repositories;
+
+import backend.competition_hub.entities.UploadSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    // Commit: a sor a tranzakció végéig zárolva, a párhuzamos vagy ismételt commit megvárja, és már a végállapotot látja
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UploadSession s where s.id = :id")
+    Optional<UploadSession> findByIdForUpdate(@Param("id") String id);
+
+    // Feltöltések beengedése: a darabolt feltöltés kliense a munkamenet tulajdonosa (elsődleges kulcsos keresés)
+    @Query("select s.keycloakUserName from UploadSession s where s.id = :id")
+    Optional<String> findKeycloakUserNameById(@Param("id") String id);
+
+    // Takarítás: a lejárt munkamenetek, a legrégebbiek elöl (idx_upload_session_expires)
+    @Query("select s.id from UploadSession s where s.expiresAt < :now order by s.expiresAt")
+    List<String> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
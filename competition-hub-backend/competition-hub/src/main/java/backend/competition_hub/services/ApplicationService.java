@@ -1,19 +1,26 @@
 package backend.competition_hub.services;
 
 import backend.competition_hub.dtos.ApplicationNotificationDTO;
+import backend.competition_hub.dtos.ReviewRequestDTO;
 import backend.competition_hub.dtos.RoundActivationNotificationDTO;
 import backend.competition_hub.entities.Application;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 public interface ApplicationService {
     ResponseEntity<String> handleFileUpload(Long taskId, MultipartFile file, Long roundId, String keycloakUserId, String keycloakUserName);
     ResponseEntity<String> handleFileUploadForRound(Long taskId, Long roundId, MultipartFile file, String keycloakUserId, String keycloakUserName);
-    ResponseEntity<byte[]> downloadFile(Long applicationId);
+    ResponseEntity<String> checkSubmission(Long taskId, Long roundId, String keycloakUserName);
+    ResponseEntity<String> submitUploadedFile(Long taskId, Long roundId, String keycloakUserId, String keycloakUserName, String originalFilename, StagedBlob blob, LocalDateTime startedAt);
+    ResponseEntity<StreamingResponseBody> downloadFile(Long applicationId, HttpHeaders requestHeaders);
     ResponseEntity<Application> updateReview(Long id, Map<String, String> body);
+    ResponseEntity<Object> updateReviews(Long taskId, List<ReviewRequestDTO> reviews);
     ResponseEntity<List<Application>> getApplicationsByUser(String keycloakUserId);
     ResponseEntity<List<ApplicationNotificationDTO>> getReviewsWithNewCount(String username);
     ResponseEntity<Object> touchReviewView(Long taskId, String username);
@@ -1,41 +1,77 @@
 package backend.competition_hub.services;
 
+import backend.competition_hub.BlobEncoding;
 import backend.competition_hub.EvaluationType;
+import backend.competition_hub.ProcessingStatus;
 import backend.competition_hub.dtos.ApplicationNotificationDTO;
+import backend.competition_hub.dtos.ReviewRequestDTO;
+import backend.competition_hub.dtos.ReviewResultDTO;
 import backend.competition_hub.dtos.RoundActivationNotificationDTO;
 import backend.competition_hub.entities.Application;
 import backend.competition_hub.entities.Round;
+import backend.competition_hub.entities.StoredBlob;
 import backend.competition_hub.entities.Task;
+import backend.competition_hub.events.ApplicationSubmittedEvent;
+import backend.competition_hub.events.NotificationEvent;
+import backend.competition_hub.events.NotificationType;
+import backend.competition_hub.events.ReviewPointsChangedEvent;
+import backend.competition_hub.metrics.StorageMetrics;
 import backend.competition_hub.repositories.ApplicationRepository;
+import backend.competition_hub.repositories.EliminationRepository;
 import backend.competition_hub.repositories.TaskRepository;
 import backend.competition_hub.services.ApplicationService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 public class ApplicationServiceImpl implements ApplicationService {
 
-    private static final String UPLOAD_DIR = System.getProperty("user.dir") + "/uploads/";
+    private static final int MAX_REVIEW_BATCH = 1000;
 
     private final ApplicationRepository applicationRepository;
     private final TaskRepository taskRepository;
-
-    public ApplicationServiceImpl(ApplicationRepository applicationRepository, TaskRepository taskRepository) {
+    private final FileStreamer fileStreamer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UnreadCounterService unreadCounterService;
+    private final EliminationRepository eliminationRepository;
+    private final ReadWatermarkService readWatermarkService;
+    private final TaskRevisionService taskRevisionService;
+    private final StorageMetrics storageMetrics;
+    private final BlobStorageService blobStorageService;
+
+    public ApplicationServiceImpl(ApplicationRepository applicationRepository, TaskRepository taskRepository,
+                                  FileStreamer fileStreamer, ApplicationEventPublisher eventPublisher,
+                                  UnreadCounterService unreadCounterService, EliminationRepository eliminationRepository,
+                                  ReadWatermarkService readWatermarkService, TaskRevisionService taskRevisionService,
+                                  StorageMetrics storageMetrics, BlobStorageService blobStorageService) {
         this.applicationRepository = applicationRepository;
         this.taskRepository = taskRepository;
+        this.fileStreamer = fileStreamer;
+        this.eventPublisher = eventPublisher;
+        this.unreadCounterService = unreadCounterService;
+        this.eliminationRepository = eliminationRepository;
+        this.readWatermarkService = readWatermarkService;
+        this.taskRevisionService = taskRevisionService;
+        this.storageMetrics = storageMetrics;
+        this.blobStorageService = blobStorageService;
     }
 
     @Override
@@ -50,61 +86,143 @@ public class ApplicationServiceImpl implements ApplicationService {
             return ResponseEntity.badRequest().body("Task not found.");
         }
 
-        // 1. ELLENŐRZÉS: Kiesett-e a felhasználó?
-        if (task.getEliminatedApplicants() != null && task.getEliminatedApplicants().contains(keycloakUserName)) {
+        ResponseEntity<String> rejection = validateSubmission(task, roundId, keycloakUserName, LocalDate.now(), true);
+        if (rejection != null) {
+            return rejection;
+        }
+        Round targetRound = findRound(task, roundId);
+
+        StagedBlob blob = null;
+        try {
+            blob = store(file);
+
+            createApplication(task, targetRound, blob, StringUtils.getFilename(file.getOriginalFilename()), keycloakUserId, keycloakUserName);
+
+            return ResponseEntity.ok("File uploaded and application submitted successfully.");
+
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body("Upload failed: " + e.getMessage());
+        } finally {
+            blobStorageService.discard(blob);
+        }
+    }
+
+    @Override
+    public ResponseEntity<String> checkSubmission(Long taskId, Long roundId, String keycloakUserName) {
+        Task task = taskRepository.findById(taskId).orElse(null);
+        if (task == null) {
+            return ResponseEntity.badRequest().body("Task not found.");
+        }
+        ResponseEntity<String> rejection = validateSubmission(task, roundId, keycloakUserName, LocalDate.now(), true);
+        return rejection != null ? rejection : ResponseEntity.ok().build();
+    }
+
+    /**
+     * A darabolt feltöltés commitja: a fájl már stage-elve (hash-elve, tömörítve) érkezik, itt csak a hivatkozás és a sor
+     * jön létre, így a hívó tranzakciója rövid. A stage-elt fájl a hívóé (attach után már nincs mit törölni).
+     */
+    @Override
+    @Transactional
+    public ResponseEntity<String> submitUploadedFile(Long taskId, Long roundId, String keycloakUserId, String keycloakUserName,
+                                                     String originalFilename, StagedBlob blob, LocalDateTime startedAt) {
+        Task task = taskRepository.findById(taskId).orElse(null);
+        if (task == null) {
+            return ResponseEntity.badRequest().body("Task not found.");
+        }
+
+        // Ugyanazok a szabályok, mint az egyben feltöltésnél, de a feltöltés megkezdésének pillanatára: ami időben,
+        // az akkor aktív fordulóba indult (initUpload ellenőrizte), az a munkamenet lejártáig befejezhető, akkor is,
+        // ha közben lejárt a határidő és az ütemező továbbléptette a fordulót
+        ResponseEntity<String> rejection = validateSubmission(task, roundId, keycloakUserName, startedAt.toLocalDate(), false);
+        if (rejection != null) {
+            return rejection;
+        }
+
+        try {
+            createApplication(task, findRound(task, roundId), blob, originalFilename, keycloakUserId, keycloakUserName);
+            return ResponseEntity.ok("File uploaded and application submitted successfully.");
+
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body("Upload failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Beküldési szabályok (kizárás, forduló létezése, határidő, aktív forduló).
+     * A határidő a referenceDate-hez mérődik; az aktív fordulót csak requireActive esetén nézzük
+     * (a darabolt feltöltés commitjánál a munkamenet indításakor már ellenőrizve volt).
+     * null-t ad vissza, ha a beküldés megengedett, különben a hibaválaszt.
+     */
+    private ResponseEntity<String> validateSubmission(Task task, Long roundId, String keycloakUserName, LocalDate referenceDate,
+                                                      boolean requireActive) {
+        // 1. ELLENŐRZÉS: Kiesett-e a felhasználó? (indexelt létezés-ellenőrzés, nem a teljes lista)
+        if (eliminationRepository.existsByTaskIdAndUsername(task.getId(), keycloakUserName)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Ezt a felhasználót a Task kiírója kizárta/elutasította a versenyből.");
         }
 
-        Round targetRound = null;
         if (roundId != null) {
             // 2. ELLENŐRZÉS: Round keresése a Task.rounds listában (Task entitáson keresztül)
-            if (task.getRounds() == null) {
-                return ResponseEntity.badRequest().body("Round not found in this Task.");
-            }
-            targetRound = task.getRounds().stream()
-                    .filter(r -> r.getId().equals(roundId))
-                    .findFirst()
-                    .orElse(null);
-
+            Round targetRound = findRound(task, roundId);
             if (targetRound == null) {
                 return ResponseEntity.badRequest().body("Round not found in this Task.");
             }
 
             // 3. ELLENŐRZÉS: Határidő lejárt-e?
-            if (targetRound.getDeadline().isBefore(LocalDate.now())) {
+            if (targetRound.getDeadline().isBefore(referenceDate)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("A kiválasztott forduló beküldési határideje lejárt.");
             }
 
-            if (!targetRound.getIsActive()) {
+            if (requireActive && !targetRound.getIsActive()) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("Csak az aktív fordulóba lehet beküldeni.");
             }
         }
+        return null;
+    }
 
-        try {
-            Path uploadPath = Paths.get(UPLOAD_DIR + taskId);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            String filename = keycloakUserName + (roundId != null ? "_R" + roundId : "") + "_" + file.getOriginalFilename();
-            Path filePath = uploadPath.resolve(filename);
-            file.transferTo(filePath.toFile());
-
-            Application application = new Application();
-            application.setTask(task);
-            application.setKeycloakUserId(keycloakUserId);
-            application.setKeycloakUserName(keycloakUserName);
-            application.setFilePath(filePath.toString());
-            application.setApplicationDate(LocalDateTime.now());
-            application.setRound(targetRound);
-            applicationRepository.save(application);
+    /**
+     * A beküldés létrehozása a már lemezre írt (stage-elt) fájlból: a blob hivatkozása, a PENDING állapotú sor,
+     * a kiíró olvasatlan-számlálója és a task revíziója egy tranzakcióban; az értesítés és a feldolgozás a commit után indul.
+     */
+    private void createApplication(Task task, Round round, StagedBlob blob, String fileName,
+                                   String keycloakUserId, String keycloakUserName) throws IOException {
+        Application application = new Application();
+        application.setTask(task);
+        application.setRound(round);
+        application.setKeycloakUserId(keycloakUserId);
+        application.setKeycloakUserName(keycloakUserName);
+        application.setBlobHash(blobStorageService.attach(blob));
+        application.setFileName(fileName);
+        application.setApplicationDate(LocalDateTime.now());
+        application.setProcessingStatus(ProcessingStatus.PENDING);
+        application.setProcessingUpdatedAt(application.getApplicationDate());
+        applicationRepository.save(application);
+        unreadCounterService.increment(task.getCreator(), task.getId(), NotificationType.NEW_APPLICATION, 1);
+        taskRevisionService.taskChanged(task.getId());
+        eventPublisher.publishEvent(new NotificationEvent(NotificationType.NEW_APPLICATION, task.getId(), task.getCreator()));
+        // A feldolgozás commit után, a kérésszálon kívül indul; a válasz nem vár rá
+        eventPublisher.publishEvent(new ApplicationSubmittedEvent(application.getId()));
+    }
 
-            return ResponseEntity.ok("File uploaded and application submitted successfully.");
+    private Round findRound(Task task, Long roundId) {
+        if (roundId == null || task.getRounds() == null) {
+            return null;
+        }
+        return task.getRounds().stream()
+                .filter(r -> r.getId().equals(roundId))
+                .findFirst()
+                .orElse(null);
+    }
 
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().body("Upload failed: " + e.getMessage());
+    // A feltöltött fájl lemezre írása (közben hash-elődik); a bájtszám és az írási idő a storage mérőszámokba kerül
+    private StagedBlob store(MultipartFile file) throws IOException {
+        long start = System.nanoTime();
+        StagedBlob blob;
+        try (InputStream in = file.getInputStream()) {
+            blob = blobStorageService.stage(in, file.getOriginalFilename());
         }
+        storageMetrics.recordWrite(blob.getSize(), System.nanoTime() - start);
+        return blob;
     }
 
     @Override
@@ -114,74 +232,69 @@ public class ApplicationServiceImpl implements ApplicationService {
             return ResponseEntity.badRequest().body("No file uploaded.");
         }
 
-        try {
-            Path uploadPath = Paths.get(UPLOAD_DIR + taskId + "/round_" + roundId);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            Path filePath = uploadPath.resolve(file.getOriginalFilename());
-            file.transferTo(filePath.toFile());
+        Task task = taskRepository.findById(taskId).orElse(null);
+        if (task == null) {
+            return ResponseEntity.badRequest().body("Task not found.");
+        }
 
-            Task task = taskRepository.findById(taskId).orElse(null);
-            if (task == null) {
-                return ResponseEntity.badRequest().body("Task not found.");
-            }
+        Round round = task.getRounds().stream()
+                .filter(r -> r.getId().equals(roundId))
+                .findFirst()
+                .orElse(null);
 
-            Round round = task.getRounds().stream()
-                    .filter(r -> r.getId().equals(roundId))
-                    .findFirst()
-                    .orElse(null);
+        if (round == null) {
+            return ResponseEntity.badRequest().body("Round not found in this Task.");
+        }
 
-            if (round == null) {
-                return ResponseEntity.badRequest().body("Round not found in this Task.");
-            }
+        if (!round.getIsActive()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Csak az aktív fordulóba lehet beküldeni.");
+        }
 
-            if (!round.getIsActive()) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body("Csak az aktív fordulóba lehet beküldeni.");
-            }
+        // A fájl csak az ellenőrzések után megy lemezre; azonos nevű fájlok nem írják felül egymást
+        StagedBlob blob = null;
+        try {
+            blob = store(file);
 
-            Application application = new Application();
-            application.setRound(round);
-            application.setTask(round.getTask());
-            application.setKeycloakUserId(keycloakUserId);
-            application.setKeycloakUserName(keycloakUserName);
-            application.setFilePath(filePath.toString());
-            application.setApplicationDate(LocalDateTime.now());
-            applicationRepository.save(application);
+            createApplication(task, round, blob, StringUtils.getFilename(file.getOriginalFilename()), keycloakUserId, keycloakUserName);
 
             return ResponseEntity.ok("File uploaded and application submitted successfully.");
 
         } catch (IOException e) {
             return ResponseEntity.internalServerError().body("Upload failed: " + e.getMessage());
+        } finally {
+            blobStorageService.discard(blob);
         }
     }
 
     @Override
-    public ResponseEntity<byte[]> downloadFile(Long applicationId) {
+    public ResponseEntity<StreamingResponseBody> downloadFile(Long applicationId, HttpHeaders requestHeaders) {
         Application application = applicationRepository.findById(applicationId).orElse(null);
         if (application == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
 
-        Path filePath = Paths.get(application.getFilePath());
-        if (!Files.exists(filePath)) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        if (application.getBlobHash() != null) {
+            StoredBlob blob = blobStorageService.find(application.getBlobHash()).orElse(null);
+            Path blobPath = blobStorageService.resolve(application.getBlobHash());
+            if (blob == null || !Files.isRegularFile(blobPath)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            String fileName = application.getFileName() != null ? application.getFileName() : blob.getHash();
+            // Tömörítve tárolt blob: a kliens kapja tömörítve (Content-Encoding) vagy streamelve kibontva
+            return blob.getEncoding() == BlobEncoding.GZIP
+                    ? fileStreamer.streamGzip(blobPath, blob.getSize(), fileName, requestHeaders)
+                    : fileStreamer.stream(blobPath, fileName, requestHeaders);
         }
 
-        try {
-            byte[] fileBytes = Files.readAllBytes(filePath);
-            String fileName = filePath.getFileName().toString();
-
-            return ResponseEntity.ok()
-                    .header("Content-Disposition", "attachment; filename=\"" + fileName + "\"")
-                    .header("Content-Type", "application/octet-stream")
-                    .body(fileBytes);
-
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        // A tartalom szerinti tárolás előtti beküldés: a tárolt útvonal
+        Path filePath = application.getFilePath() != null ? Paths.get(application.getFilePath()) : null;
+        if (filePath == null || !Files.isRegularFile(filePath)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
+
+        // Nem olvassuk be a memóriába: a fájl streamelve, Range támogatással megy ki
+        return fileStreamer.stream(filePath, filePath.getFileName().toString(), requestHeaders);
     }
 
     @Override
@@ -201,7 +314,9 @@ public class ApplicationServiceImpl implements ApplicationService {
                 return ResponseEntity.badRequest().<Application>build();
             }
 
-            EvaluationType et = task.getEvaluationType();
+            LocalDateTime seenAt = readWatermarkService
+                    .getSeenAt(app.getKeycloakUserName(), task.getId(), NotificationType.NEW_REVIEW).orElse(null);
+            boolean wasUnread = hasUnreadReview(app, seenAt);
 
             String text = body.getOrDefault("text", body.get("review"));
             String pointsStr = body.get("points");
@@ -214,37 +329,136 @@ public class ApplicationServiceImpl implements ApplicationService {
                 }
             }
 
-            switch (et) {
-                case TEXT:
-                    app.setReviewText((text != null && !text.isBlank()) ? text : null);
-                    app.setReviewPoints(null);
-                    break;
-
-                case BOTH:
-                    if (points != null && (points < 0 || points > 10)) {
-                        return ResponseEntity.badRequest().<Application>build();
-                    }
-                    app.setReviewText((text != null && !text.isBlank()) ? text : null);
-                    app.setReviewPoints(points);
-                    break;
-
-                case POINTS:
-                    if (points == null || points < 0 || points > 10) {
-                        return ResponseEntity.badRequest().<Application>build();
-                    }
-                    app.setReviewText(null);
-                    app.setReviewPoints(points);
-                    break;
-
+            if (applyReview(app, task.getEvaluationType(), text, points, LocalDateTime.now()) != null) {
+                return ResponseEntity.badRequest().<Application>build();
             }
-
-            app.setReviewCreatedAt(LocalDateTime.now());
             applicationRepository.save(app);
+            // Beküldésenként legfeljebb egy olvasatlan értékelés számít (mint a korábbi GROUP BY-ban)
+            unreadCounterService.increment(app.getKeycloakUserName(), task.getId(), NotificationType.NEW_REVIEW,
+                    (hasUnreadReview(app, seenAt) ? 1 : 0) - (wasUnread ? 1 : 0));
+            taskRevisionService.taskChanged(task.getId());
+            eventPublisher.publishEvent(new NotificationEvent(NotificationType.NEW_REVIEW, task.getId(), app.getKeycloakUserName()));
+            if (task.getEvaluationType() != EvaluationType.TEXT) {
+                eventPublisher.publishEvent(new ReviewPointsChangedEvent(task.getId(), List.of(scored(app))));
+            }
             return ResponseEntity.ok(app);
         }).orElse(ResponseEntity.notFound().<Application>build());
     }
 
 
+    /**
+     * Kötegelt értékelés egy task beküldéseire: egy SELECT az összes érintett beküldésre,
+     * az UPDATE-ek a Hibernate JDBC kötegelésével (hibernate.jdbc.batch_size) mennek ki
+     * egy tranzakcióban. A hibás tételek nem buktatják a többit, tételenkénti eredmény jön vissza.
+     */
+    @Override
+    @Transactional
+    public ResponseEntity<Object> updateReviews(Long taskId, List<ReviewRequestDTO> reviews) {
+        if (reviews == null || reviews.isEmpty()) {
+            return ResponseEntity.badRequest().body("No reviews given.");
+        }
+        if (reviews.size() > MAX_REVIEW_BATCH) {
+            return ResponseEntity.badRequest().body("At most " + MAX_REVIEW_BATCH + " reviews per request.");
+        }
+        Task task = taskRepository.findById(taskId).orElse(null);
+        if (task == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Az értékelési típus a taskhoz tartozik, egyszer olvassuk ki
+        EvaluationType evaluationType = task.getEvaluationType();
+        Map<Long, Application> applications = new HashMap<>();
+        applicationRepository.findAllById(reviews.stream()
+                        .map(ReviewRequestDTO::getApplicationId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .forEach(app -> applications.put(app.getId(), app));
+
+        // A jelentkezők NEW_REVIEW vízjelei egy lekérdezéssel
+        Map<String, LocalDateTime> seenAt = readWatermarkService.getSeenAt(taskId, NotificationType.NEW_REVIEW,
+                applications.values().stream().map(Application::getKeycloakUserName).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> unreadDeltas = new HashMap<>();
+        List<ReviewResultDTO> results = new ArrayList<>(reviews.size());
+        List<ReviewPointsChangedEvent.ScoredApplication> scored = new ArrayList<>();
+        for (ReviewRequestDTO review : reviews) {
+            Application app = applications.get(review.getApplicationId());
+            if (app == null || !taskId.equals(app.getTask().getId())) {
+                results.add(new ReviewResultDTO(review.getApplicationId(), HttpStatus.NOT_FOUND.value(), "Application not found in this task."));
+                continue;
+            }
+            LocalDateTime userSeenAt = seenAt.get(app.getKeycloakUserName());
+            boolean wasUnread = hasUnreadReview(app, userSeenAt);
+            String error = applyReview(app, evaluationType, review.getText(), review.getPoints(), now);
+            if (error != null) {
+                results.add(new ReviewResultDTO(app.getId(), HttpStatus.BAD_REQUEST.value(), error));
+                continue;
+            }
+            unreadDeltas.merge(app.getKeycloakUserName(),
+                    (long) ((hasUnreadReview(app, userSeenAt) ? 1 : 0) - (wasUnread ? 1 : 0)), Long::sum);
+            scored.add(scored(app));
+            results.add(new ReviewResultDTO(app.getId(), HttpStatus.OK.value(), null));
+        }
+
+        // A módosított beküldéseket a dirty checking írja ki commitkor, kötegelve
+        unreadCounterService.incrementAll(taskId, NotificationType.NEW_REVIEW, unreadDeltas);
+        if (!unreadDeltas.isEmpty()) {
+            taskRevisionService.taskChanged(taskId);
+        }
+        eventPublisher.publishEvent(new NotificationEvent(NotificationType.NEW_REVIEW, taskId, unreadDeltas.keySet()));
+        if (evaluationType != EvaluationType.TEXT && !scored.isEmpty()) {
+            eventPublisher.publishEvent(new ReviewPointsChangedEvent(taskId, scored));
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    // A ranglistának az értékelés utáni állapot megy (LeaderboardService)
+    private ReviewPointsChangedEvent.ScoredApplication scored(Application app) {
+        return new ReviewPointsChangedEvent.ScoredApplication(app.getId(),
+                app.getRound() != null ? app.getRound().getId() : null,
+                app.getKeycloakUserName(), app.getReviewPoints(), app.getReviewCreatedAt());
+    }
+
+    /**
+     * Az értékelés beállítása a task értékelési típusa szerint (0-10 pont).
+     * null-t ad vissza, ha rendben van, különben a hiba okát; hiba esetén nem módosít.
+     */
+    private String applyReview(Application app, EvaluationType evaluationType, String text, Integer points, LocalDateTime reviewedAt) {
+        String reviewText = (text != null && !text.isBlank()) ? text : null;
+        switch (evaluationType) {
+            case TEXT:
+                app.setReviewText(reviewText);
+                app.setReviewPoints(null);
+                break;
+
+            case BOTH:
+                if (points != null && (points < 0 || points > 10)) {
+                    return "Points must be between 0 and 10.";
+                }
+                app.setReviewText(reviewText);
+                app.setReviewPoints(points);
+                break;
+
+            case POINTS:
+                if (points == null || points < 0 || points > 10) {
+                    return "Points must be between 0 and 10.";
+                }
+                app.setReviewText(null);
+                app.setReviewPoints(points);
+                break;
+        }
+        app.setReviewCreatedAt(reviewedAt);
+        return null;
+    }
+
+    // Olvasatlan, ha a jelentkező NEW_REVIEW vízjele az értékelés előtti (vagy még nincs)
+    private boolean hasUnreadReview(Application app, LocalDateTime seenAt) {
+        return (app.getReviewText() != null || app.getReviewPoints() != null)
+                && app.getReviewCreatedAt() != null
+                && (seenAt == null || seenAt.isBefore(app.getReviewCreatedAt()));
+    }
+
     @Override
     public ResponseEntity<List<Application>> getApplicationsByUser(String keycloakUserId) {
         List<Application> apps = applicationRepository.findByKeycloakUserId(keycloakUserId);
@@ -253,88 +467,37 @@ public class ApplicationServiceImpl implements ApplicationService {
 
     @Override
     public ResponseEntity<List<ApplicationNotificationDTO>> getReviewsWithNewCount(String username) {
-        List<Object[]> results = applicationRepository.getTasksWithNewReviewCount(username);
-
-        List<ApplicationNotificationDTO> notifications = results.stream()
-                .map(result -> new ApplicationNotificationDTO(
-                        ((Number) result[0]).longValue(),
-                        (String) result[1],
-                        ((Number) result[2]).longValue()
-                ))
-                .toList();
-
-        return ResponseEntity.ok(notifications);
+        return ResponseEntity.ok(unreadCounterService.listUnread(username, NotificationType.NEW_REVIEW));
     }
 
     @Override
     @Transactional
     public ResponseEntity<Object> touchReviewView(Long taskId, String username) {
-        List<Application> applications = applicationRepository.findByTaskIdAndKeycloakUserName(taskId, username);
-
-        if (applications.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
-
-        LocalDateTime now = LocalDateTime.now();
-        applications.forEach(app -> {
-            app.setApplicantLastViewedReviewAt(now);
-        });
-
-        applicationRepository.saveAll(applications);
+        // Egy UPSERT a vízjelre, függetlenül a user beküldéseinek számától
+        readWatermarkService.markSeen(username, taskId, NotificationType.NEW_REVIEW);
         return ResponseEntity.ok().build();
     }
 
     @Override
     public ResponseEntity<List<ApplicationNotificationDTO>> getUnseenEliminations(String username) {
-        List<Object[]> rows = applicationRepository.getTasksWithUnseenElimination(username);
-        List<ApplicationNotificationDTO> notifications = rows.stream()
-                .map(r -> new ApplicationNotificationDTO(
-                        ((Number) r[0]).longValue(),
-                        (String) r[1],
-                        ((Number) r[2]).longValue()))
-                .toList();
-        return ResponseEntity.ok(notifications);
+        return ResponseEntity.ok(unreadCounterService.listUnread(username, NotificationType.ELIMINATION));
     }
 
     @Override
     @Transactional
     public ResponseEntity<Object> touchEliminationView(Long taskId, String username) {
-        applicationRepository.markEliminationSeen(username, taskId);
+        readWatermarkService.markSeen(username, taskId, NotificationType.ELIMINATION);
         return ResponseEntity.ok().build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RoundActivationNotificationDTO> listRoundActivationNotifications(String username) {
-        List<Application> apps = applicationRepository.findByKeycloakUserName(username);
-        Instant epoch = Instant.EPOCH;
-
-        return apps.stream()
-                .filter(app -> {
-                    Task t = app.getTask();
-                    // mivel a Task entitásban az eliminatedApplicants ElementCollection van
-                    // (EAGER fetch-csel a Task entitásban, és a findByKeycloakUserName nem tölti be a Task-ot rounds-szal),
-                    // itt van némi Hibernate trükközés, de a kódod szétválasztásánál maradok.
-                    return !t.getEliminatedApplicants().contains(username);
-                })
-                .map(app -> {
-                    Task t = app.getTask();
-                    // Feltételezve, hogy a Task-hoz tartozó Rounds betöltésre kerül (Lazy betöltési probléma lehet, de a megadott kód ezt feltételezi)
-                    Instant lastActivated = t.getRounds() != null ? t.getRounds().stream()
-                            .map(Round::getActivatedAt)
-                            .filter(Objects::nonNull)
-                            .max(Comparator.naturalOrder())
-                            .orElse(null) : null;
-
-                    if (lastActivated == null) return null;
-
-                    Instant lastSeen = Optional.ofNullable(app.getLastRoundActivationViewAt()).orElse(epoch);
-
-                    if (lastActivated.isAfter(lastSeen)) {
-                        return new RoundActivationNotificationDTO(t.getId(), t.getTitle());
-                    }
-                    return null;
-                })
-                .filter(Objects::nonNull)
+        // A kizárás és az activatedAt / vízjel összevetése is SQL-ben történik, nem töltünk be entitást
+        return applicationRepository.findTasksWithUnseenRoundActivation(username).stream()
+                .map(r -> new RoundActivationNotificationDTO(
+                        ((Number) r[0]).longValue(),
+                        (String) r[1]))
                 .toList();
     }
 
@@ -346,14 +509,6 @@ public class ApplicationServiceImpl implements ApplicationService {
     @Override
     @Transactional
     public void touchRoundActivationView(Long taskId, String username) {
-        List<Application> applications = applicationRepository.findByTaskIdAndKeycloakUserName(taskId, username);
-        if (applications.isEmpty()) {
-            return;
-        }
-
-        applications.forEach(app -> {
-            app.setLastRoundActivationViewAt(Instant.now());
-        });
-        applicationRepository.saveAll(applications);
+        readWatermarkService.markSeen(username, taskId, NotificationType.ROUND_ACTIVATED);
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package backend.competition_hub.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * A hivatkozás nélküli (ref_count = 0) blobok törlése kötegenként, kötegenként külön tranzakcióban,
+ * utána a sor nélküli (visszagörgetett feltöltésből maradt) blob fájloké.
+ * Több példányon is futhat, a sorokat SELECT ... FOR UPDATE SKIP LOCKED osztja szét.
+ */
+@Component
+public class BlobGarbageCollectionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobGarbageCollectionJob.class);
+
+    private final BlobStorageService blobStorageService;
+    private final int batchSize;
+
+    public BlobGarbageCollectionJob(BlobStorageService blobStorageService,
+                                    @Value("${storage.blob-gc-batch-size:100}") int batchSize) {
+        this.blobStorageService = blobStorageService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${storage.blob-gc-cron:0 30 3 * * *}")
+    public void collectGarbage() {
+        long start = System.currentTimeMillis();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = blobStorageService.collectGarbage(batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        int orphans = blobStorageService.deleteOrphanFiles(batchSize);
+        if (total > 0 || orphans > 0) {
+            log.info("Deleted {} unreferenced blobs and {} orphan blob files in {} ms", total, orphans,
+                    System.currentTimeMillis() - start);
+        }
+    }
+}
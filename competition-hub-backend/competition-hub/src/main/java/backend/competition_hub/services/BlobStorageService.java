@@ -0,0 +1,22 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.dtos.TaskStorageDTO;
+import backend.competition_hub.entities.StoredBlob;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface BlobStorageService {
+    StagedBlob stage(InputStream content, String fileName) throws IOException;
+    StagedBlob stage(Path file, String fileName) throws IOException;
+    String attach(StagedBlob blob) throws IOException;
+    void discard(StagedBlob blob);
+    void releaseTask(Long taskId);
+    int collectGarbage(int limit);
+    int deleteOrphanFiles(int batchSize);
+    TaskStorageDTO getTaskStorage(Long taskId);
+    Optional<StoredBlob> find(String hash);
+    Path resolve(String hash);
+}
@@ -0,0 +1,320 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.BlobEncoding;
+import backend.competition_hub.dtos.TaskStorageDTO;
+import backend.competition_hub.entities.StoredBlob;
+import backend.competition_hub.repositories.StoredBlobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tartalom szerint címzett, deduplikált fájltárolás. A feltöltés egy menetben megy lemezre
+ * (ideiglenes fájlba) és közben SHA-256-tal hash-elődik; a végleges hely blobs/ab/cd/&lt;hash&gt;,
+ * így egy könyvtárba legfeljebb 256 alkönyvtár vagy néhány blob kerül. A már meglévő tartalom
+ * ideiglenes fájlja törlődik, a hivatkozásszám (stored_blob.ref_count) nő. A tárolás előtt
+ * a tömöríthető tartalom gzip-pel tömörül (storage.compression.enabled), a hash az eredeti tartalomé.
+ */
+@Service
+public class BlobStorageServiceImpl implements BlobStorageService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final double MIN_SAVING = 0.1;
+    private static final Pattern BLOB_NAME = Pattern.compile("[0-9a-f]{64}");
+
+    private final StoredBlobRepository storedBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path root;
+    private final Path tmpDir;
+    private final boolean compressionEnabled;
+    private final Duration orphanMinAge;
+
+    public BlobStorageServiceImpl(StoredBlobRepository storedBlobRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${storage.blob-dir:${user.dir}/uploads/blobs}") String blobDir,
+                                  @Value("${storage.compression.enabled:true}") boolean compressionEnabled,
+                                  @Value("${storage.orphan-min-age:1h}") Duration orphanMinAge) {
+        this.storedBlobRepository = storedBlobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.root = Paths.get(blobDir);
+        this.tmpDir = root.resolve(".tmp");
+        this.compressionEnabled = compressionEnabled;
+        this.orphanMinAge = orphanMinAge;
+    }
+
+    @Override
+    public StagedBlob stage(InputStream content, String fileName) throws IOException {
+        Files.createDirectories(tmpDir);
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".tmp");
+        MessageDigest digest = sha256();
+        long size = 0;
+        try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int n;
+            while ((n = content.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                size += n;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        StagedBlob raw = new StagedBlob(HexFormat.of().formatHex(digest.digest()), size, tmp);
+        try {
+            StagedBlob staged = compress(raw, fileName);
+            if (staged != raw) {
+                Files.deleteIfExists(tmp);
+            }
+            return staged;
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    // Már lemezen lévő fájl (pl. összefűzött darabolt feltöltés): csak a hash-t számoljuk, a fájl (vagy a tömörített
+    // másolata) lesz a blob. Az eredeti fájl a hívóé, tömörítéskor sem töröljük
+    @Override
+    public StagedBlob stage(Path file, String fileName) throws IOException {
+        MessageDigest digest = sha256();
+        long size = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+                size += n;
+            }
+        }
+        return compress(new StagedBlob(HexFormat.of().formatHex(digest.digest()), size, file), fileName);
+    }
+
+    /**
+     * Opcionális tömörítés a tartalomtípus szerint: szöveges tartalom alapszintű gzip-pel, ismeretlen bináris
+     * a leggyorsabb szinttel, a már tömörített formátumok (archívum, kép, hang, videó) kimaradnak. Csak akkor
+     * tartjuk meg, ha legalább 10%-ot spórol. Ha a tartalom már tárolva van (van sora), nem tömörítünk feleslegesen;
+     * a sor nélküli fájl (visszagörgetett feltöltés maradéka) nem számít tároltnak.
+     */
+    private StagedBlob compress(StagedBlob raw, String fileName) throws IOException {
+        if (!compressionEnabled || raw.getSize() == 0 || storedBlobRepository.existsById(raw.getHash())) {
+            return raw;
+        }
+        Integer level = CompressionPolicy.gzipLevel(fileName, raw.getFile());
+        if (level == null) {
+            return raw;
+        }
+
+        Files.createDirectories(tmpDir);
+        Path gz = Files.createTempFile(tmpDir, "upload-", ".gz");
+        try (OutputStream out = new LevelGzipOutputStream(Files.newOutputStream(gz), level)) {
+            Files.copy(raw.getFile(), out);
+        } catch (IOException e) {
+            Files.deleteIfExists(gz);
+            throw e;
+        }
+        long storedSize = Files.size(gz);
+        if (storedSize > raw.getSize() * (1 - MIN_SAVING)) {
+            Files.deleteIfExists(gz);
+            return raw;
+        }
+        return new StagedBlob(raw.getHash(), raw.getSize(), gz, storedSize, BlobEncoding.GZIP);
+    }
+
+    /**
+     * A meglévő tartalomról a stored_blob sor dönt, nem a fájl: a visszagörgetett attach sor nélküli fájlt hagyhat
+     * (akár más kódolással). Meglévő sornál a tárolt fájl marad (a sor zárolva, a szemétgyűjtő nem törölheti),
+     * új sornál a stage-elt fájl mindig felülírja a helyén talált fájlt, így a lemezen a sorban rögzített kódolás van.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String attach(StagedBlob blob) throws IOException {
+        boolean inserted = storedBlobRepository.addReference(blob.getHash(), blob.getSize(), blob.getStoredSize(),
+                blob.getEncoding().name(), LocalDateTime.now()) == 1;
+        Path target = resolve(blob.getHash());
+        if (!inserted) {
+            Files.deleteIfExists(blob.getFile());
+        } else {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(blob.getFile(), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // Másik fájlrendszerről (pl. a darabolt feltöltés könyvtárából): előbb mellé másoljuk, hogy a blob
+                // sose legyen félig megírva a végleges helyén
+                Path tmp = Files.createTempFile(target.getParent(), blob.getHash(), ".tmp");
+                Files.copy(blob.getFile(), tmp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.deleteIfExists(blob.getFile());
+            }
+        }
+        return blob.getHash();
+    }
+
+    // Elutasított vagy hibás feltöltés ideiglenes fájljának takarítása (attach után már nincs mit törölni)
+    @Override
+    public void discard(StagedBlob blob) {
+        if (blob == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(blob.getFile());
+        } catch (IOException ignored) {
+            // az ideiglenes könyvtárban marad, a tartalma nem hivatkozott
+        }
+    }
+
+    // A task (és vele a beküldései) törlése előtt hívandó; a fájlokat a szemétgyűjtő törli
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseTask(Long taskId) {
+        storedBlobRepository.releaseByTaskId(taskId);
+    }
+
+    /**
+     * Legfeljebb limit hivatkozás nélküli blob törlése. A fájl a sor zárolása alatt törlődik,
+     * így egy közben érkező azonos tartalmú feltöltés az UPSERT-nél megvárja, és a fájlt újra létrehozza.
+     */
+    @Override
+    @Transactional
+    public int collectGarbage(int limit) {
+        List<String> hashes = storedBlobRepository.lockUnreferenced(limit);
+        if (hashes.isEmpty()) {
+            return 0;
+        }
+        for (String hash : hashes) {
+            try {
+                Files.deleteIfExists(resolve(hash));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return storedBlobRepository.deleteUnreferenced(hashes);
+    }
+
+    /**
+     * Az attach a fájlt még a tranzakción belül a végleges helyére teszi (commitkor már olvasható), így
+     * visszagörgetéskor sor nélküli fájl maradhat. Ezeket a fájlokat a sor nélküli hash-ek "örökbefogadásával"
+     * töröljük: a hivatkozás nélküli sor zárolása alatt, a szemétgyűjtéssel azonos módon. Az orphanMinAge-nél
+     * frissebb fájlokhoz nem nyúlunk; az ideiglenes fájlok (megszakadt feltöltés) ugyanennyi idő után törlődnek.
+     */
+    @Override
+    public int deleteOrphanFiles(int batchSize) {
+        Instant cutoff = Instant.now().minus(orphanMinAge);
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).filter(file -> isOlderThan(file, cutoff)).toList();
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<String> candidates = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (BLOB_NAME.matcher(name).matches() && file.equals(resolve(name))) {
+                candidates.add(name);
+            } else if (file.startsWith(tmpDir) || name.endsWith(".tmp")) {
+                deleteQuietly(file);
+            }
+        }
+
+        int deleted = 0;
+        for (int from = 0; from < candidates.size(); from += batchSize) {
+            List<String> batch = new ArrayList<>(candidates.subList(from, Math.min(from + batchSize, candidates.size())));
+            batch.removeAll(storedBlobRepository.findExistingHashes(batch));
+            if (!batch.isEmpty()) {
+                deleted += transactionTemplate.execute(status -> deleteOrphans(batch));
+            }
+        }
+        return deleted;
+    }
+
+    private int deleteOrphans(List<String> hashes) {
+        LocalDateTime now = LocalDateTime.now();
+        hashes.forEach(hash -> storedBlobRepository.addUnreferenced(hash, now));
+        List<String> locked = storedBlobRepository.lockUnreferencedIn(hashes);
+        for (String hash : locked) {
+            try {
+                Files.deleteIfExists(resolve(hash));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        storedBlobRepository.deleteUnreferenced(locked);
+        return locked.size();
+    }
+
+    private static boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false; // közben törölték
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // a következő futás újra megpróbálja
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskStorageDTO getTaskStorage(Long taskId) {
+        return storedBlobRepository.getTaskStorage(taskId);
+    }
+
+    @Override
+    public Optional<StoredBlob> find(String hash) {
+        return storedBlobRepository.findById(hash);
+    }
+
+    @Override
+    public Path resolve(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static class LevelGzipOutputStream extends GZIPOutputStream {
+        LevelGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, COPY_BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
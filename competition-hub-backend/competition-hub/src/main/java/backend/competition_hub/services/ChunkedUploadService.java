@@ -0,0 +1,14 @@
+package backend.competition_hub.services;
+
+import org.springframework.http.ResponseEntity;
+
+import java.io.InputStream;
+
+public interface ChunkedUploadService {
+    ResponseEntity<Object> initUpload(Long taskId, Long roundId, String keycloakUserId, String keycloakUserName, String fileName, Long totalSize);
+    ResponseEntity<Object> getUploadStatus(String uploadId);
+    ResponseEntity<Object> putChunk(String uploadId, int index, String checksum, InputStream body);
+    ResponseEntity<String> commitUpload(String uploadId);
+    ResponseEntity<Object> abortUpload(String uploadId);
+    int deleteExpiredSessions(int batchSize);
+}
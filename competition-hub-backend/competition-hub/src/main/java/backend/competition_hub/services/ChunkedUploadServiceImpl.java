@@ -0,0 +1,417 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.UploadSessionStatus;
+import backend.competition_hub.dtos.UploadSessionDTO;
+import backend.competition_hub.entities.UploadSession;
+import backend.competition_hub.metrics.StorageMetrics;
+import backend.competition_hub.repositories.UploadSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+@Service
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadServiceImpl.class);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final String SUBMITTED = "File uploaded and application submitted successfully.";
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final ApplicationService applicationService;
+    private final BlobStorageService blobStorageService;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSize chunkSize;
+    private final DataSize maxFileSize;
+    private final Duration sessionTtl;
+    private final Path chunkRoot;
+    private final StorageMetrics storageMetrics;
+
+    public ChunkedUploadServiceImpl(UploadSessionRepository uploadSessionRepository,
+                                    ApplicationService applicationService,
+                                    BlobStorageService blobStorageService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${upload.chunk-size:8MB}") DataSize chunkSize,
+                                    @Value("${upload.max-file-size:2GB}") DataSize maxFileSize,
+                                    @Value("${upload.session-ttl:24h}") Duration sessionTtl,
+                                    @Value("${upload.chunk-dir:${user.dir}/uploads/.chunks}") String chunkDir,
+                                    StorageMetrics storageMetrics) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.applicationService = applicationService;
+        this.blobStorageService = blobStorageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxFileSize = maxFileSize;
+        this.sessionTtl = sessionTtl;
+        this.chunkRoot = Paths.get(chunkDir);
+        this.storageMetrics = storageMetrics;
+    }
+
+    @Override
+    public ResponseEntity<Object> initUpload(Long taskId, Long roundId, String keycloakUserId, String keycloakUserName, String fileName, Long totalSize) {
+        if (totalSize == null || totalSize <= 0) {
+            return ResponseEntity.badRequest().body("No file uploaded.");
+        }
+        if (totalSize > maxFileSize.toBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body("File exceeds the maximum size of " + maxFileSize + ".");
+        }
+
+        String safeName = sanitizeFileName(fileName);
+        if (safeName == null) {
+            return ResponseEntity.badRequest().body("Invalid file name.");
+        }
+
+        // Ugyanazok a szabályok, mint az egyben feltöltésnél - hogy ne a commitnál derüljön ki a hiba
+        ResponseEntity<String> check = applicationService.checkSubmission(taskId, roundId, keycloakUserName);
+        if (!check.getStatusCode().is2xxSuccessful()) {
+            return ResponseEntity.status(check.getStatusCode()).body(check.getBody());
+        }
+
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setTaskId(taskId);
+        session.setRoundId(roundId);
+        session.setKeycloakUserId(keycloakUserId);
+        session.setKeycloakUserName(keycloakUserName);
+        session.setFileName(safeName);
+        session.setTotalSize(totalSize);
+        session.setChunkSize((int) chunkSize.toBytes());
+        session.setCreatedAt(LocalDateTime.now());
+        session.setExpiresAt(session.getCreatedAt().plus(sessionTtl));
+        uploadSessionRepository.save(session);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(toDto(session, List.of()));
+    }
+
+    @Override
+    public ResponseEntity<Object> getUploadStatus(String uploadId) {
+        return uploadSessionRepository.findById(uploadId)
+                .<ResponseEntity<Object>>map(session -> {
+                    try {
+                        return ResponseEntity.ok(toDto(session, receivedChunks(session)));
+                    } catch (IOException e) {
+                        return ResponseEntity.internalServerError().body("Upload status unavailable: " + e.getMessage());
+                    }
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Override
+    public ResponseEntity<Object> putChunk(String uploadId, int index, String checksum, InputStream body) {
+        UploadSession session = uploadSessionRepository.findById(uploadId).orElse(null);
+        if (session == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity<Object> closed = rejectClosed(session);
+        if (closed != null) {
+            return closed;
+        }
+        if (index < 0 || index >= totalChunks(session)) {
+            return ResponseEntity.badRequest().body("Invalid chunk index.");
+        }
+
+        long expected = Math.min(session.getChunkSize(), session.getTotalSize() - (long) index * session.getChunkSize());
+        Path tmp = null;
+        try {
+            Path dir = chunkDir(uploadId);
+            Files.createDirectories(dir);
+            tmp = Files.createTempFile(dir, "chunk-" + index + "-", ".tmp");
+
+            // A darab közvetlenül lemezre megy, közben számoljuk az ellenőrzőösszeget
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long written = 0;
+            long start = System.nanoTime();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int n;
+                while ((n = body.read(buffer)) != -1) {
+                    written += n;
+                    if (written > expected) {
+                        break;
+                    }
+                    out.write(buffer, 0, n);
+                }
+            }
+            storageMetrics.recordWrite(written, System.nanoTime() - start);
+
+            if (written != expected) {
+                return ResponseEntity.badRequest().body("Chunk size mismatch: expected " + expected + " bytes.");
+            }
+            if (checksum == null || !HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(checksum.trim())) {
+                return ResponseEntity.badRequest().body("Chunk checksum mismatch.");
+            }
+
+            // Csak ellenőrzött darab kerül a végleges helyére, így a félbeszakadt PUT nem számít beérkezettnek
+            Files.move(tmp, dir.resolve(index + ".part"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+            return ResponseEntity.ok(toDto(session, receivedChunks(session)));
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body("Chunk upload failed: " + e.getMessage());
+        } finally {
+            deleteQuietly(tmp);
+        }
+    }
+
+    /**
+     * Az összefűzés és a stage-elés (hash, tömörítés) tranzakción és sorzáron kívül fut; utána egy rövid tranzakció
+     * zárolja a munkamenet sorát, újraellenőrzi az állapotát és hivatkozza a blobot. A párhuzamos vagy ismételt commit
+     * a zárnál megvárja a másikat, és a COMMITTED állapotot látva a beküldés újabb létrehozása nélkül sikerrel tér vissza.
+     * A darabok törlése a commit után történik, hogy visszagörgetéskor az újrapróbálás megtalálja őket.
+     */
+    @Override
+    public ResponseEntity<String> commitUpload(String uploadId) {
+        UploadSession session = uploadSessionRepository.findById(uploadId).orElse(null);
+        ResponseEntity<String> closed = rejectCommit(session);
+        if (closed != null) {
+            return closed;
+        }
+
+        Path dir = chunkDir(uploadId);
+        Path assembled = null;
+        StagedBlob blob = null;
+        try {
+            List<Integer> missing = new ArrayList<>(IntStream.range(0, totalChunks(session)).boxed().toList());
+            missing.removeAll(receivedChunks(session));
+            if (!missing.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("Missing chunks: " + missing);
+            }
+
+            // Összefűzés lemezről lemezre, a tartalom nem megy át a heapen; a párhuzamos commitok külön fájlba fűznek
+            assembled = Files.createTempFile(dir, "assembled-", ".tmp");
+            try (FileChannel out = FileChannel.open(assembled, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (int i = 0; i < totalChunks(session); i++) {
+                    try (FileChannel in = FileChannel.open(dir.resolve(i + ".part"), StandardOpenOption.READ)) {
+                        long position = 0;
+                        long size = in.size();
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                }
+            }
+            // Az összefűzött fájl (vagy a tömörített másolata) lesz a blob, ha a tartalom még nincs meg
+            blob = blobStorageService.stage(assembled, session.getFileName());
+
+            StagedBlob staged = blob;
+            return transactionTemplate.execute(status -> submit(uploadId, staged));
+
+        } catch (IOException e) {
+            // A párhuzamos commit közben befejeződött és törölte a darabokat
+            if (uploadSessionRepository.findById(uploadId).map(s -> s.getStatus() == UploadSessionStatus.COMMITTED).orElse(false)) {
+                return ResponseEntity.ok(SUBMITTED);
+            }
+            return ResponseEntity.internalServerError().body("Upload failed: " + e.getMessage());
+        } finally {
+            blobStorageService.discard(blob);
+            deleteQuietly(assembled);
+        }
+    }
+
+    // A munkamenet sora a tranzakció végéig zárolva; a zár alatt újraellenőrzött állapot dönt a beküldésről
+    private ResponseEntity<String> submit(String uploadId, StagedBlob blob) {
+        UploadSession session = uploadSessionRepository.findByIdForUpdate(uploadId).orElse(null);
+        ResponseEntity<String> closed = rejectCommit(session);
+        if (closed != null) {
+            return closed;
+        }
+
+        // A szabályok a munkamenet indításának pillanatára vonatkoznak (mint az egyben feltöltésnél a kérés érkezésére)
+        ResponseEntity<String> result = applicationService.submitUploadedFile(
+                session.getTaskId(), session.getRoundId(), session.getKeycloakUserId(), session.getKeycloakUserName(),
+                session.getFileName(), blob, session.getCreatedAt());
+
+        if (result.getStatusCode().is2xxSuccessful()) {
+            session.setStatus(UploadSessionStatus.COMMITTED);
+            afterCommit(() -> deleteChunks(uploadId));
+        }
+        return result;
+    }
+
+    @Override
+    public ResponseEntity<Object> abortUpload(String uploadId) {
+        return uploadSessionRepository.findById(uploadId)
+                .<ResponseEntity<Object>>map(session -> {
+                    if (session.getStatus() == UploadSessionStatus.COMMITTED) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).body("Upload already committed.");
+                    }
+                    try {
+                        FileSystemUtils.deleteRecursively(chunkDir(uploadId));
+                    } catch (IOException e) {
+                        return ResponseEntity.internalServerError().body("Abort failed: " + e.getMessage());
+                    }
+                    uploadSessionRepository.delete(session);
+                    return ResponseEntity.noContent().build();
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * A lejárt munkamenetek törlése (sor és darabok), majd a sor nélküli, a TTL-nél régebbi darabkönyvtáraké
+     * (pl. ha a példány a sor törlése és a könyvtár törlése között állt le). Több példányon is futhat.
+     */
+    @Override
+    public int deleteExpiredSessions(int batchSize) {
+        List<String> expired = uploadSessionRepository.findExpiredIds(LocalDateTime.now(), PageRequest.ofSize(batchSize));
+        for (String uploadId : expired) {
+            uploadSessionRepository.deleteById(uploadId);
+            deleteChunks(uploadId);
+        }
+        if (expired.size() < batchSize) {
+            deleteOrphanChunkDirs();
+        }
+        return expired.size();
+    }
+
+    private void deleteOrphanChunkDirs() {
+        if (!Files.isDirectory(chunkRoot)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - sessionTtl.toMillis();
+        try (var dirs = Files.list(chunkRoot)) {
+            for (Path dir : dirs.toList()) {
+                if (Files.getLastModifiedTime(dir).toMillis() < cutoff
+                        && !uploadSessionRepository.existsById(dir.getFileName().toString())) {
+                    FileSystemUtils.deleteRecursively(dir);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Orphan chunk directory cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    // A lezárt (commitolt vagy lejárt) munkamenetbe nem lehet több darabot küldeni
+    private ResponseEntity<Object> rejectClosed(UploadSession session) {
+        if (session.getStatus() == UploadSessionStatus.COMMITTED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Upload already committed.");
+        }
+        if (isExpired(session)) {
+            return ResponseEntity.status(HttpStatus.GONE).body("Upload session expired.");
+        }
+        return null;
+    }
+
+    // A commit sikerrel tér vissza a már commitolt munkamenetre (ismételt vagy párhuzamos kérés)
+    private ResponseEntity<String> rejectCommit(UploadSession session) {
+        if (session == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (session.getStatus() == UploadSessionStatus.COMMITTED) {
+            return ResponseEntity.ok(SUBMITTED);
+        }
+        if (isExpired(session)) {
+            return ResponseEntity.status(HttpStatus.GONE).body("Upload session expired.");
+        }
+        return null;
+    }
+
+    private boolean isExpired(UploadSession session) {
+        return session.getExpiresAt().isBefore(LocalDateTime.now());
+    }
+
+    // Tranzakción kívül (pl. tesztből hívva) azonnal fut
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void deleteChunks(String uploadId) {
+        try {
+            FileSystemUtils.deleteRecursively(chunkDir(uploadId));
+        } catch (IOException e) {
+            // a sor nélküli könyvtárat a következő takarítás törli
+            log.warn("Could not delete chunks of upload {}: {}", uploadId, e.getMessage());
+        }
+    }
+
+    private UploadSessionDTO toDto(UploadSession session, List<Integer> receivedChunks) {
+        return new UploadSessionDTO(session.getId(), session.getTotalSize(), session.getChunkSize(),
+                totalChunks(session), receivedChunks, session.getStatus(), session.getExpiresAt());
+    }
+
+    private int totalChunks(UploadSession session) {
+        return (int) ((session.getTotalSize() + session.getChunkSize() - 1) / session.getChunkSize());
+    }
+
+    private List<Integer> receivedChunks(UploadSession session) throws IOException {
+        Path dir = chunkDir(session.getId());
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (var files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.matches("\\d+\\.part"))
+                    .map(name -> Integer.valueOf(name.substring(0, name.indexOf('.'))))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path chunkDir(String uploadId) {
+        return chunkRoot.resolve(uploadId);
+    }
+
+    private String sanitizeFileName(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            return null;
+        }
+        try {
+            Path name = Paths.get(fileName).getFileName();
+            return name != null ? name.toString() : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // az ideiglenes fájl a következő próbálkozásnál felülíródik
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package backend.competition_hub.services;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Tömöríthetőség a tartalomtípus (fájlnév) és a fájl-aláírás szerint: a tömörített tárolás
+ * (BlobStorageServiceImpl) és a ZIP export (STORE vagy DEFLATE bejegyzés) közösen használja.
+ */
+final class CompressionPolicy {
+
+    private static final List<String> COMPRESSED_SUBTYPES = List.of("zip", "compressed", "gzip", "x-7z", "x-rar",
+            "x-bzip", "x-xz", "zstd", "java-archive", "openxmlformats", "opendocument", "epub");
+
+    private CompressionPolicy() {
+    }
+
+    /**
+     * A gzip szintje: szöveges tartalomra alapszint, ismeretlen binárisra a leggyorsabb;
+     * null, ha a tartalom már tömörített (archívum, kép, hang, videó), ezt nem tömörítjük.
+     */
+    static Integer gzipLevel(String fileName, Path file) throws IOException {
+        if (hasCompressedSignature(file)) {
+            return null;
+        }
+        MediaType type = MediaTypeFactory.getMediaType(fileName != null ? fileName : "")
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        String subtype = type.getSubtype().toLowerCase();
+        if (type.getType().equals("text") || subtype.endsWith("json") || subtype.endsWith("xml")
+                || subtype.contains("javascript") || subtype.contains("yaml") || subtype.equals("sql")) {
+            return Deflater.DEFAULT_COMPRESSION;
+        }
+        if (type.getType().equals("image") || type.getType().equals("audio") || type.getType().equals("video")
+                || COMPRESSED_SUBTYPES.stream().anyMatch(subtype::contains)) {
+            return null;
+        }
+        return Deflater.BEST_SPEED;
+    }
+
+    static boolean isCompressed(String fileName, Path file) throws IOException {
+        return gzipLevel(fileName, file) == null;
+    }
+
+    // Kiterjesztéstől függetlenül felismert tömörített formátumok (zip és rá épülők, gzip, zstd, 7z, rar, png, jpeg)
+    private static boolean hasCompressedSignature(Path file) throws IOException {
+        byte[] head = new byte[4];
+        try (InputStream in = Files.newInputStream(file)) {
+            if (in.readNBytes(head, 0, head.length) < head.length) {
+                return false;
+            }
+        }
+        int magic = ByteBuffer.wrap(head).getInt();
+        return magic == 0x504B0304 || (magic >>> 16) == 0x1F8B || magic == 0x28B52FFD || magic == 0x377ABCAF
+                || magic == 0x52617221 || magic == 0x89504E47 || (magic >>> 8) == 0xFFD8FF;
+    }
+}
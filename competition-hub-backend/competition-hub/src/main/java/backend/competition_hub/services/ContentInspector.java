@@ -0,0 +1,140 @@
+package backend.competition_hub.services;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * A feltöltés utáni feldolgozás tartalomvizsgálatai (SubmissionProcessingServiceImpl):
+ * tartalomtípus a fájl-aláírásból, archívum-bejegyzések és PDF oldalszám streamelve.
+ */
+final class ContentInspector {
+
+    static final String PDF = "application/pdf";
+    static final String ZIP = "application/zip";
+    static final int HEAD_SIZE = 512;
+
+    // Oldal objektum ("/Type /Page"), de nem az oldalfa ("/Type /Pages")
+    private static final Pattern PDF_PAGE = Pattern.compile("/Type\\s{0,8}/Page(?!s)");
+    private static final int PDF_OVERLAP = 32;
+
+    private ContentInspector() {
+    }
+
+    /**
+     * Tartalomtípus a fájl első bájtjaiból; a kiterjesztés csak a zip alapú formátumok (docx, jar, ...)
+     * és a szöveges altípusok (json, csv, ...) pontosítására számít, hamis kiterjesztéssel nem lesz PDF-ből szöveg.
+     */
+    static String sniff(byte[] head, int length, String fileName) {
+        MediaType byName = MediaTypeFactory.getMediaType(fileName != null ? fileName : "")
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        if (length >= 4) {
+            int magic = ByteBuffer.wrap(head, 0, 4).getInt();
+            if (magic == 0x25504446) {
+                return PDF;
+            }
+            if (magic == 0x504B0304 || magic == 0x504B0506) {
+                String subtype = byName.getSubtype();
+                return subtype.contains("openxmlformats") || subtype.contains("opendocument")
+                        || subtype.contains("java-archive") || subtype.contains("epub") ? byName.toString() : ZIP;
+            }
+            if ((magic >>> 16) == 0x1F8B) {
+                return "application/gzip";
+            }
+            if (magic == 0x28B52FFD) {
+                return "application/zstd";
+            }
+            if (magic == 0x377ABCAF) {
+                return "application/x-7z-compressed";
+            }
+            if (magic == 0x52617221) {
+                return "application/vnd.rar";
+            }
+            if (magic == 0x89504E47) {
+                return MediaType.IMAGE_PNG_VALUE;
+            }
+            if ((magic >>> 8) == 0xFFD8FF) {
+                return MediaType.IMAGE_JPEG_VALUE;
+            }
+            if (magic == 0x47494638) {
+                return MediaType.IMAGE_GIF_VALUE;
+            }
+        }
+        if (isText(head, length)) {
+            String subtype = byName.getSubtype();
+            return byName.getType().equals("text") || subtype.endsWith("json") || subtype.endsWith("xml")
+                    || subtype.contains("javascript") || subtype.contains("yaml") || subtype.equals("sql")
+                    ? byName.toString() : MediaType.TEXT_PLAIN_VALUE;
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    // Szöveg: érvényes UTF-8 (a levágott utolsó karakter nem számít) és nincs benne NUL bájt
+    private static boolean isText(byte[] head, int length) {
+        for (int i = 0; i < length; i++) {
+            if (head[i] == 0) {
+                return false;
+            }
+        }
+        try {
+            StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(head, 0, Math.max(0, length - 3)));
+            return true;
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    // Az archívum fájl-bejegyzéseinek száma (könyvtárak nélkül); sérült archívumnál IOException (ZipException)
+    static int countZipEntries(InputStream content) throws IOException {
+        ZipInputStream zip = new ZipInputStream(content);
+        int entries = 0;
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (!entry.isDirectory()) {
+                entries++;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * A PDF oldal objektumainak száma; null, ha nem talál egyet sem (pl. tömörített objektumfolyamokban
+     * vannak az oldalak). Darabonként olvas, a darabhatáron átnyúló találatot az átfedés fogja meg.
+     */
+    static Integer countPdfPages(InputStream content) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        String tail = "";
+        int pages = 0;
+        int read;
+        while ((read = content.readNBytes(buffer, 0, buffer.length)) > 0) {
+            boolean last = read < buffer.length;
+            String window = tail + new String(buffer, 0, read, StandardCharsets.ISO_8859_1);
+            Matcher matcher = PDF_PAGE.matcher(CharBuffer.wrap(window));
+            while (matcher.find()) {
+                // Az előző ablakban a végén állók nem számítottak (a lookaheadnek kell a következő karakter)
+                if (matcher.end() >= tail.length() && (last || matcher.end() < window.length())) {
+                    pages++;
+                }
+            }
+            tail = window.substring(Math.max(0, window.length() - PDF_OVERLAP));
+            if (last) {
+                break;
+            }
+        }
+        return pages > 0 ? pages : null;
+    }
+}
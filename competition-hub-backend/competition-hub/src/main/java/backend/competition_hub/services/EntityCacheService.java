@@ -0,0 +1,63 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.dtos.CacheRegionStatisticsDTO;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.events.TaskChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A Hibernate második szintű cache (Task, Round, Task.rounds és a findByTaskId lekérdezés)
+ * explicit ürítése és statisztikája. Az entitásokon végzett írásokat a Hibernate maga
+ * követi; a Task.rounds inverz gyűjteményt viszont a Round mentése nem érvényteleníti,
+ * ezért minden Task-változás után (commit után) itt ürítünk.
+ */
+@Component
+public class EntityCacheService {
+
+    public static final String ROUNDS_BY_TASK_REGION = "rounds-by-task";
+    private static final String TASK_ROUNDS_ROLE = Task.class.getName() + ".rounds";
+
+    private final SessionFactory sessionFactory;
+
+    public EntityCacheService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTaskChanged(TaskChangedEvent event) {
+        evictTask(event.getTaskId());
+    }
+
+    public void evictTask(Long taskId) {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(Task.class, taskId);
+        cache.evictCollectionData(TASK_ROUNDS_ROLE, taskId);
+        cache.evictQueryRegion(ROUNDS_BY_TASK_REGION);
+    }
+
+    public List<CacheRegionStatisticsDTO> getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheRegionStatisticsDTO> result = new ArrayList<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(region -> {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                result.add(new CacheRegionStatisticsDTO(region, stats.getHitCount(), stats.getMissCount(),
+                        stats.getPutCount(), stats.getElementCountInMemory()));
+            }
+        });
+        return result;
+    }
+}
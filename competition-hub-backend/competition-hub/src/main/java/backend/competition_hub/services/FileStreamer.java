@@ -0,0 +1,238 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.metrics.StorageMetrics;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Beküldött fájlok kiszolgálása streamelve: a fájl tartalma soha nem kerül
+ * egészében a heapre, a FileChannel.transferTo egy kis pufferen át másol a válasz
+ * kimenetére. Ez nem zero-copy (sendfile): a servlet OutputStream nem csatorna, így a
+ * bájtok a heapen át mennek. Támogatja az egy tartományos Range / If-Range kéréseket
+ * (folytatható letöltés). A gzip-pel tárolt blobokat (BlobStorageService) a kliens
+ * Accept-Encoding fejléce szerint tömörítve továbbítja, vagy streamelve kibontja.
+ */
+@Component
+public class FileStreamer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final StorageMetrics storageMetrics;
+
+    public FileStreamer(StorageMetrics storageMetrics) {
+        this.storageMetrics = storageMetrics;
+    }
+
+    public ResponseEntity<StreamingResponseBody> stream(Path file, String downloadName, HttpHeaders requestHeaders) {
+        long length;
+        long lastModified;
+        try {
+            length = Files.size(file);
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        return serve(length, etag, lastModified, downloadName, new HttpHeaders(), requestHeaders,
+                (position, count, out) -> transfer(file, position, count, out));
+    }
+
+    /**
+     * Gzip-pel tömörítve tárolt fájl. Ha a kliens elfogadja (Accept-Encoding: gzip) és nem tartományt kér,
+     * a tárolt bájtok mennek ki változatlanul, Content-Encoding: gzip fejléccel, kibontás nélkül; különben
+     * streamelve kibontjuk, a Range az eredeti tartalomra vonatkozik.
+     */
+    public ResponseEntity<StreamingResponseBody> streamGzip(Path file, long originalLength, String downloadName,
+                                                            HttpHeaders requestHeaders) {
+        long storedLength;
+        long lastModified;
+        try {
+            storedLength = Files.size(file);
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+
+        // A két reprezentáció (tömörített / kibontott) ETag-je különbözik
+        String etag = "\"" + Long.toHexString(originalLength) + "-" + Long.toHexString(lastModified) + "\"";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+        if (acceptsGzip(requestHeaders) && !requestHeaders.containsKey(HttpHeaders.RANGE)) {
+            addDownloadHeaders(headers, downloadName, "\"" + Long.toHexString(storedLength) + "-"
+                    + Long.toHexString(lastModified) + "-gzip\"", lastModified);
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(storedLength);
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(out -> transfer(file, 0, storedLength, out));
+        }
+        return serve(originalLength, etag, lastModified, downloadName, headers, requestHeaders,
+                (position, count, out) -> inflate(file, position, count, out));
+    }
+
+    // Közös Range / If-Range kezelés; a body a [position, position + count) tartományt írja ki
+    private ResponseEntity<StreamingResponseBody> serve(long length, String etag, long lastModified, String downloadName,
+                                                        HttpHeaders headers, HttpHeaders requestHeaders, RangeWriter writer) {
+        addDownloadHeaders(headers, downloadName, etag, lastModified);
+
+        List<HttpRange> ranges;
+        try {
+            ranges = requestHeaders.getRange();
+        } catch (IllegalArgumentException e) {
+            return rangeNotSatisfiable(length);
+        }
+
+        // Több tartományt (multipart/byteranges) nem szolgálunk ki, ilyenkor a teljes fájl megy (RFC 9110 megengedi)
+        if (ranges.size() != 1 || !ifRangeMatches(requestHeaders, etag, lastModified)) {
+            headers.setContentLength(length);
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(out -> writer.write(0, length, out));
+        }
+
+        long start;
+        long end;
+        try {
+            start = ranges.get(0).getRangeStart(length);
+            end = ranges.get(0).getRangeEnd(length);
+        } catch (IllegalArgumentException e) {
+            return rangeNotSatisfiable(length);
+        }
+        if (length == 0 || start >= length || end < start) {
+            return rangeNotSatisfiable(length);
+        }
+
+        long count = end - start + 1;
+        headers.setContentLength(count);
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .headers(headers)
+                .body(out -> writer.write(start, count, out));
+    }
+
+    private void addDownloadHeaders(HttpHeaders headers, String downloadName, String etag, long lastModified) {
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(downloadName, StandardCharsets.UTF_8)
+                .build());
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setETag(etag);
+        headers.setLastModified(lastModified);
+    }
+
+    // "gzip" vagy "*" szerepel az Accept-Encoding-ban, és nem q=0
+    private boolean acceptsGzip(HttpHeaders requestHeaders) {
+        for (String header : requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim();
+                if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                    continue;
+                }
+                boolean refused = false;
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim().replace(" ", "");
+                    if (param.matches("q=0(\\.0*)?")) {
+                        refused = true;
+                    }
+                }
+                if (!refused) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Range: ha a kliens által ismert változat (ETag vagy dátum) eltér a jelenlegitől,
+     * a Range fejlécet figyelmen kívül kell hagyni és a teljes fájlt kell küldeni.
+     */
+    private boolean ifRangeMatches(HttpHeaders requestHeaders, String etag, long lastModified) {
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null || ifRange.isBlank()) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // gyenge ETag soha nem egyezik If-Range esetén
+            return ifRange.equals(etag);
+        }
+        try {
+            long since = requestHeaders.getFirstDate(HttpHeaders.IF_RANGE);
+            return since / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> rangeNotSatisfiable(long length) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                .build();
+    }
+
+    // A stream fölé tett csatornába a transferTo pufferelt másolással ír (nem sendfile), a heapen csak a puffer van
+    private void transfer(Path file, long position, long count, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long sent = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            while (sent < count) {
+                long n = channel.transferTo(position + sent, count - sent, target);
+                if (n <= 0) {
+                    break;
+                }
+                sent += n;
+            }
+        } finally {
+            // Megszakadt letöltésnél is az átküldött rész számít
+            storageMetrics.recordRead(sent, System.nanoTime() - start);
+        }
+    }
+
+    // Kibontás streamelve: a tartomány eleje előtti rész kibontva eldobódik, a heapen csak a puffer van
+    private void inflate(Path file, long position, long count, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long sent = 0;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+            in.skipNBytes(position);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (sent < count) {
+                int n = in.read(buffer, 0, (int) Math.min(buffer.length, count - sent));
+                if (n < 0) {
+                    break;
+                }
+                out.write(buffer, 0, n);
+                sent += n;
+            }
+        } finally {
+            storageMetrics.recordRead(sent, System.nanoTime() - start);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeWriter {
+        void write(long position, long count, OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,108 @@
+package backend.competition_hub.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Felhasználónként egy pontszám, pontszám szerint csökkenő sorrendben (egyenlőségnél név szerint).
+ * A sorrend egy TreeSet (top-N: O(log n + N)), a helyezéshez egy Fenwick-fa számolja pontszámonként
+ * a felhasználókat: a helyezés = a nagyobb pontszámúak száma + 1 (O(log P), P a legnagyobb pontszám).
+ * A pontszámok nemnegatív egészek (fordulónként 0-10, összesítve ezek összege). Nem szálbiztos.
+ */
+final class Leaderboard {
+
+    record Entry(String username, int points) {}
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::points).reversed()
+            .thenComparing(Entry::username);
+
+    private final Map<String, Integer> points = new HashMap<>();
+    private final TreeSet<Entry> ranking = new TreeSet<>(ORDER);
+
+    // tree[i]: a Fenwick-fa; pontszám p az (p + 1). indexen, hogy a 0 pont is beférjen
+    private int[] tree = new int[16];
+
+    void set(String username, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative points: " + value);
+        }
+        Integer previous = points.put(username, value);
+        if (previous != null) {
+            if (previous == value) {
+                return;
+            }
+            ranking.remove(new Entry(username, previous));
+            add(previous, -1);
+        }
+        add(value, 1);
+        ranking.add(new Entry(username, value));
+    }
+
+    void remove(String username) {
+        Integer previous = points.remove(username);
+        if (previous != null) {
+            ranking.remove(new Entry(username, previous));
+            add(previous, -1);
+        }
+    }
+
+    Integer points(String username) {
+        return points.get(username);
+    }
+
+    // Holtversenyben azonos helyezés (1, 2, 2, 4); null, ha a felhasználó nincs a listán
+    Integer rank(String username) {
+        Integer value = points.get(username);
+        return value == null ? null : points.size() - countAtMost(value) + 1;
+    }
+
+    List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, ranking.size()));
+        Iterator<Entry> iterator = ranking.iterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    int size() {
+        return points.size();
+    }
+
+    private void add(int value, int delta) {
+        if (value + 1 >= tree.length) {
+            grow(value + 2);
+        }
+        for (int i = value + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Legfeljebb value pontos felhasználók száma
+    private int countAtMost(int value) {
+        int count = 0;
+        for (int i = Math.min(value + 1, tree.length - 1); i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    // A Fenwick-fa nem bővíthető helyben: újraépül a rangsorból (ritka, a legnagyobb pontszám duplázódásakor)
+    private void grow(int minLength) {
+        int length = tree.length;
+        while (length < minLength) {
+            length *= 2;
+        }
+        tree = new int[length];
+        for (Entry entry : ranking) {
+            for (int i = entry.points() + 1; i < tree.length; i += i & -i) {
+                tree[i]++;
+            }
+        }
+    }
+}
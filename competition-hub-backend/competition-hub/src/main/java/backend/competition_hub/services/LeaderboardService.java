@@ -0,0 +1,11 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.dtos.LeaderboardDTO;
+import backend.competition_hub.dtos.LeaderboardEntryDTO;
+import org.springframework.http.ResponseEntity;
+
+public interface LeaderboardService {
+    ResponseEntity<LeaderboardDTO> getLeaderboard(Long taskId, Long roundId, int limit);
+    ResponseEntity<LeaderboardEntryDTO> getRank(Long taskId, Long roundId, String username);
+    void rebuild();
+}
@@ -0,0 +1,259 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.dtos.LeaderboardDTO;
+import backend.competition_hub.dtos.LeaderboardEntryDTO;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.events.ReviewPointsChangedEvent;
+import backend.competition_hub.events.ReviewPointsChangedEvent.ScoredApplication;
+import backend.competition_hub.events.TaskChangedEvent;
+import backend.competition_hub.repositories.ApplicationRepository;
+import backend.competition_hub.repositories.RoundRepository;
+import backend.competition_hub.repositories.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Ranglisták pontozott (POINTS / BOTH) taskokhoz, memóriában: fordulónként a felhasználók legjobb pontszáma,
+ * taskonként ezek összege. Induláskor egy lekérdezéssel épül fel, utána minden értékelés commitja után
+ * csak az érintett felhasználó sorai frissülnek (ReviewPointsChangedEvent); a Task változásakor (törlés,
+ * fordulók) a task listája eldobódik, és a következő olvasáskor az adatbázisból töltődik újra.
+ * Több példánynál a többi példány értékelései csak a saját újratöltésükkor látszanak.
+ */
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardServiceImpl.class);
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ApplicationRepository applicationRepository;
+    private final TaskRepository taskRepository;
+    private final RoundRepository roundRepository;
+
+    private final Map<Long, TaskBoard> boards = new ConcurrentHashMap<>();
+
+    public LeaderboardServiceImpl(ApplicationRepository applicationRepository, TaskRepository taskRepository,
+                                  RoundRepository roundRepository) {
+        this.applicationRepository = applicationRepository;
+        this.taskRepository = taskRepository;
+        this.roundRepository = roundRepository;
+    }
+
+    @Override
+    public ResponseEntity<LeaderboardDTO> getLeaderboard(Long taskId, Long roundId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        TaskBoard board = board(taskId);
+        if (board == null || !roundBelongsToTask(taskId, roundId)) {
+            return ResponseEntity.notFound().build();
+        }
+        synchronized (board) {
+            Leaderboard leaderboard = board.leaderboard(roundId);
+            List<LeaderboardEntryDTO> entries = new ArrayList<>();
+            int rank = 0;
+            Integer previousPoints = null;
+            for (Leaderboard.Entry entry : leaderboard.top(limit)) {
+                // Holtversenyben azonos helyezés; az első eltérő pontszám a sorszámát kapja
+                if (!Objects.equals(previousPoints, entry.points())) {
+                    rank = entries.size() + 1;
+                    previousPoints = entry.points();
+                }
+                entries.add(new LeaderboardEntryDTO(rank, entry.username(), entry.points()));
+            }
+            return ResponseEntity.ok(new LeaderboardDTO(taskId, roundId, leaderboard.size(), entries));
+        }
+    }
+
+    @Override
+    public ResponseEntity<LeaderboardEntryDTO> getRank(Long taskId, Long roundId, String username) {
+        TaskBoard board = board(taskId);
+        if (board == null || !roundBelongsToTask(taskId, roundId)) {
+            return ResponseEntity.notFound().build();
+        }
+        synchronized (board) {
+            Leaderboard leaderboard = board.leaderboard(roundId);
+            Integer rank = leaderboard.rank(username);
+            if (rank == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(new LeaderboardEntryDTO(rank, username, leaderboard.points(username)));
+        }
+    }
+
+    /**
+     * Minden pontozott task listája egy lekérdezésből. Az üres listák a lekérdezés előtt jönnek létre,
+     * így a közben commitolt értékelések vagy már benne vannak az eredményben, vagy a betöltés után alkalmazódnak.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<Long, TaskBoard> fresh = new HashMap<>();
+        for (Long taskId : taskRepository.findScoredTaskIds()) {
+            TaskBoard board = new TaskBoard();
+            fresh.put(taskId, board);
+            boards.put(taskId, board);
+        }
+        Map<Long, List<Object[]>> scores = applicationRepository.findAllScores().stream()
+                .collect(Collectors.groupingBy(row -> ((Number) row[0]).longValue()));
+        fresh.forEach((taskId, board) -> {
+            synchronized (board) {
+                if (!board.loaded) {
+                    board.load(scores.getOrDefault(taskId, List.of()).stream()
+                            .map(row -> scored(row, 1))
+                            .toList());
+                }
+            }
+        });
+        log.info("Leaderboards of {} tasks rebuilt in {} ms", fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewPointsChanged(ReviewPointsChangedEvent event) {
+        TaskBoard board = boards.get(event.getTaskId());
+        if (board == null) {
+            return; // még nincs betöltve: az első olvasáskor az adatbázisból jön, már ezzel az értékeléssel
+        }
+        synchronized (board) {
+            if (board.loaded) {
+                event.getApplications().forEach(board::apply);
+            } else {
+                board.pending.addAll(event.getApplications());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        boards.remove(event.getTaskId());
+    }
+
+    // A task listája (szükség esetén betöltve); null, ha a task nem létezik vagy nem pontozott
+    private TaskBoard board(Long taskId) {
+        TaskBoard board = boards.computeIfAbsent(taskId, id -> new TaskBoard());
+        synchronized (board) {
+            if (!board.loaded) {
+                Task task = taskRepository.findById(taskId).orElse(null);
+                if (task == null || task.getEvaluationType() == EvaluationType.TEXT) {
+                    boards.remove(taskId, board);
+                    return null;
+                }
+                board.load(applicationRepository.findScoresByTaskId(taskId).stream()
+                        .map(row -> scored(row, 0))
+                        .toList());
+            }
+        }
+        return board;
+    }
+
+    // A fordulók listája cache-elt lekérdezés (RoundRepository.findByTaskId)
+    private boolean roundBelongsToTask(Long taskId, Long roundId) {
+        return roundId == null || roundRepository.findByTaskId(taskId).stream().anyMatch(r -> r.getId().equals(roundId));
+    }
+
+    // [.., id, forduló id, felhasználónév, pont, értékelés ideje], az offset-edik oszloptól
+    private ScoredApplication scored(Object[] row, int offset) {
+        return new ScoredApplication(((Number) row[offset]).longValue(),
+                row[offset + 1] != null ? ((Number) row[offset + 1]).longValue() : null,
+                (String) row[offset + 2],
+                (Integer) row[offset + 3],
+                (LocalDateTime) row[offset + 4]);
+    }
+
+    /**
+     * Egy task ranglistái. A beküldésenkénti legutolsó állapotból (scores) számolódik a felhasználó
+     * fordulónkénti legjobb pontszáma (a forduló nélküli beküldések a null kulcs alatt), abból az összesített.
+     * Az alkalmazás idempotens, a régebbi értékelés nem írja felül az újabbat.
+     */
+    private static final class TaskBoard {
+        final Map<Long, ScoredApplication> scores = new HashMap<>();
+        final Map<Long, Map<String, Map<Long, Integer>>> attempts = new HashMap<>();
+        final Map<Long, Leaderboard> rounds = new HashMap<>();
+        final Map<String, Integer> scoredRounds = new HashMap<>();
+        final Leaderboard total = new Leaderboard();
+        final List<ScoredApplication> pending = new ArrayList<>();
+        boolean loaded;
+
+        void load(List<ScoredApplication> snapshot) {
+            snapshot.forEach(this::apply);
+            pending.forEach(this::apply);
+            pending.clear();
+            loaded = true;
+        }
+
+        Leaderboard leaderboard(Long roundId) {
+            return roundId == null ? total : rounds.getOrDefault(roundId, new Leaderboard());
+        }
+
+        void apply(ScoredApplication update) {
+            ScoredApplication previous = scores.get(update.applicationId());
+            if (previous != null && previous.reviewedAt() != null && update.reviewedAt() != null
+                    && update.reviewedAt().isBefore(previous.reviewedAt())) {
+                return;
+            }
+            scores.put(update.applicationId(), update);
+            if (previous != null) {
+                userAttempts(previous.roundId(), previous.username()).remove(previous.applicationId());
+            }
+            if (update.points() != null) {
+                userAttempts(update.roundId(), update.username()).put(update.applicationId(), update.points());
+            }
+            if (previous != null && !(Objects.equals(previous.roundId(), update.roundId())
+                    && Objects.equals(previous.username(), update.username()))) {
+                refresh(previous.roundId(), previous.username());
+            }
+            refresh(update.roundId(), update.username());
+        }
+
+        private Map<Long, Integer> userAttempts(Long roundId, String username) {
+            return attempts.computeIfAbsent(roundId, id -> new HashMap<>()).computeIfAbsent(username, u -> new HashMap<>());
+        }
+
+        // A felhasználó legjobb pontszáma a fordulóban, és a különbség az összesítettben
+        private void refresh(Long roundId, String username) {
+            Map<String, Map<Long, Integer>> roundAttempts = attempts.get(roundId);
+            Map<Long, Integer> userAttempts = roundAttempts != null ? roundAttempts.get(username) : null;
+            Integer best = userAttempts == null ? null : userAttempts.values().stream().max(Integer::compare).orElse(null);
+            if (userAttempts != null && userAttempts.isEmpty()) {
+                roundAttempts.remove(username);
+            }
+
+            Leaderboard round = rounds.computeIfAbsent(roundId, id -> new Leaderboard());
+            Integer previousBest = round.points(username);
+            if (Objects.equals(best, previousBest)) {
+                return;
+            }
+            if (best == null) {
+                round.remove(username);
+            } else {
+                round.set(username, best);
+            }
+
+            int remaining = scoredRounds.merge(username, (best != null ? 1 : 0) - (previousBest != null ? 1 : 0), Integer::sum);
+            if (remaining == 0) {
+                scoredRounds.remove(username);
+                total.remove(username);
+            } else {
+                Integer current = total.points(username);
+                total.set(username, (current != null ? current : 0) - (previousBest != null ? previousBest : 0)
+                        + (best != null ? best : 0));
+            }
+        }
+    }
+}
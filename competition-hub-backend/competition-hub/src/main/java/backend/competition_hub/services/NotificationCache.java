@@ -0,0 +1,65 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.dtos.NotificationSummaryDTO;
+import backend.competition_hub.events.NotificationEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Felhasználónkénti értesítés-összesítő cache. A pollozás innen kap választ,
+ * az adatbázist csak akkor érjük el, ha egy író művelet (új beküldés, értékelés,
+ * kizárás, forduló aktiválás, megtekintés) az adott felhasználót érintette.
+ * A TTL csak biztonsági háló több példányos futtatáshoz.
+ */
+@Component
+public class NotificationCache {
+
+    private record Entry(NotificationSummaryDTO summary, long loadedAt) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Minden invalidálás növeli: ha betöltés közben invalidáltak, a (lehet, hogy elavult) eredményt nem tesszük el
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlMillis;
+
+    public NotificationCache(@Value("${notifications.cache-ttl:5m}") Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public NotificationSummaryDTO get(String username, Supplier<NotificationSummaryDTO> loader) {
+        Entry entry = entries.get(username);
+        long now = System.currentTimeMillis();
+        if (entry != null && now - entry.loadedAt() < ttlMillis) {
+            return entry.summary();
+        }
+
+        long startGeneration = generation.get();
+        NotificationSummaryDTO summary = loader.get();
+        if (generation.get() == startGeneration) {
+            entries.put(username, new Entry(summary, now));
+        }
+        return summary;
+    }
+
+    // Commit után ürítünk, különben a következő olvasás még a régi állapotot tölthetné vissza
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onNotificationEvent(NotificationEvent event) {
+        generation.incrementAndGet();
+        event.getUsernames().forEach(entries::remove);
+    }
+
+    // Tömeges változás után (pl. számláló-újraépítés), commit után hívandó
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+}
@@ -0,0 +1,10 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.dtos.NotificationSummaryDTO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface NotificationService {
+    ResponseEntity<NotificationSummaryDTO> getSummary(String username);
+    SseEmitter subscribe(String username);
+}
@@ -0,0 +1,85 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.dtos.NotificationSummaryDTO;
+import backend.competition_hub.events.NotificationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.function.Supplier;
+
+@Service
+public class NotificationServiceImpl implements NotificationService {
+
+    private final NotificationCache notificationCache;
+    private final TaskService taskService;
+    private final ApplicationService applicationService;
+    private final NotificationStreamRegistry streamRegistry;
+    private final TaskExecutor taskExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public NotificationServiceImpl(NotificationCache notificationCache, TaskService taskService, ApplicationService applicationService,
+                                   NotificationStreamRegistry streamRegistry,
+                                   @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                   MeterRegistry meterRegistry) {
+        this.notificationCache = notificationCache;
+        this.taskService = taskService;
+        this.applicationService = applicationService;
+        this.streamRegistry = streamRegistry;
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ResponseEntity<NotificationSummaryDTO> getSummary(String username) {
+        return ResponseEntity.ok(notificationCache.get(username, () -> loadSummary(username)));
+    }
+
+    @Override
+    public SseEmitter subscribe(String username) {
+        SseEmitter emitter = streamRegistry.register(username);
+        // Az első esemény a jelenlegi állapot, utána csak változáskor küldünk
+        streamRegistry.send(username, emitter, "notifications", notificationCache.get(username, () -> loadSummary(username)));
+        return emitter;
+    }
+
+    /**
+     * A cache ürítése (NotificationCache) után fut, így az elküldött összesítő már a friss állapot.
+     * A küldés a közös task executoron megy, nem a commitoló kérés szálán.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onNotificationEvent(NotificationEvent event) {
+        for (String username : event.getUsernames()) {
+            if (streamRegistry.hasSubscribers(username)) {
+                taskExecutor.execute(() -> streamRegistry.send(username, "notifications",
+                        notificationCache.get(username, () -> loadSummary(username))));
+            }
+        }
+    }
+
+    // Csak cache-hiánykor fut: a notifications.query idősor a valódi adatbázis-lekérdezéseket méri
+    private NotificationSummaryDTO loadSummary(String username) {
+        return timed("summary", () -> new NotificationSummaryDTO(
+                timed("new-applications", () -> taskService.getTasksWithNewApplicationCounts(username).getBody()),
+                timed("new-reviews", () -> applicationService.getReviewsWithNewCount(username).getBody()),
+                timed("eliminations", () -> applicationService.getUnseenEliminations(username).getBody()),
+                timed("round-activations", () -> applicationService.listRoundActivationNotifications(username))));
+    }
+
+    private <T> T timed(String query, Supplier<T> supplier) {
+        return Timer.builder("notifications.query")
+                .description("Értesítés-lekérdezések ideje")
+                .tag("query", query)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(supplier);
+    }
+}
@@ -0,0 +1,103 @@
+package backend.competition_hub.services;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Felhasználónként nyilvántartott SSE kapcsolatok. Az SseEmitter async servlet
+ * kérés, így a tétlen feliratkozók nem foglalnak Tomcat worker szálat; a
+ * heartbeat a halott kapcsolatokat takarítja és a proxykat ébren tartja.
+ */
+@Component
+public class NotificationStreamRegistry {
+
+    private final Map<String, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "sse-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long timeoutMillis;
+
+    public NotificationStreamRegistry(@Value("${notifications.stream-timeout:30m}") Duration timeout,
+                                      @Value("${notifications.stream-heartbeat:25s}") Duration heartbeatInterval) {
+        this.timeoutMillis = timeout.toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter register(String username) {
+        // Lejárat után az EventSource magától újracsatlakozik
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitters.computeIfAbsent(username, k -> ConcurrentHashMap.newKeySet()).add(emitter);
+
+        Runnable remove = () -> remove(username, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    public boolean hasSubscribers(String username) {
+        Set<SseEmitter> set = emitters.get(username);
+        return set != null && !set.isEmpty();
+    }
+
+    public void send(String username, String eventName, Object payload) {
+        Set<SseEmitter> set = emitters.get(username);
+        if (set == null) {
+            return;
+        }
+        for (SseEmitter emitter : set) {
+            send(username, emitter, eventName, payload);
+        }
+    }
+
+    public void send(String username, SseEmitter emitter, String eventName, Object payload) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(payload));
+        } catch (IOException | IllegalStateException e) {
+            // a kliens lezárta a kapcsolatot
+            remove(username, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void sendHeartbeats() {
+        emitters.forEach((username, set) -> {
+            for (SseEmitter emitter : set) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(username, emitter);
+                    emitter.completeWithError(e);
+                }
+            }
+        });
+    }
+
+    private void remove(String username, SseEmitter emitter) {
+        emitters.computeIfPresent(username, (k, set) -> {
+            set.remove(emitter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        emitters.values().forEach(set -> set.forEach(SseEmitter::complete));
+        emitters.clear();
+    }
+}
@@ -0,0 +1,15 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.events.NotificationType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ReadWatermarkService {
+    void markSeen(String username, Long taskId, NotificationType kind);
+    Optional<LocalDateTime> getSeenAt(String username, Long taskId, NotificationType kind);
+    Map<String, LocalDateTime> getSeenAt(Long taskId, NotificationType kind, Collection<String> usernames);
+    void taskDeleted(Long taskId);
+}
@@ -0,0 +1,64 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.events.NotificationEvent;
+import backend.competition_hub.events.NotificationType;
+import backend.competition_hub.repositories.ReadWatermarkRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class ReadWatermarkServiceImpl implements ReadWatermarkService {
+
+    private final ReadWatermarkRepository readWatermarkRepository;
+    private final UnreadCounterService unreadCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReadWatermarkServiceImpl(ReadWatermarkRepository readWatermarkRepository,
+                                    UnreadCounterService unreadCounterService,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.readWatermarkRepository = readWatermarkRepository;
+        this.unreadCounterService = unreadCounterService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Mind a négy touch végpont ezt hívja: vízjel léptetése, a számláló nullázása
+     * és az értesítés (cache ürítés, SSE) egy tranzakcióban, konstans számú utasítással.
+     */
+    @Override
+    @Transactional
+    public void markSeen(String username, Long taskId, NotificationType kind) {
+        readWatermarkRepository.markSeen(username, taskId, kind.name(), LocalDateTime.now());
+        unreadCounterService.reset(username, taskId, kind);
+        eventPublisher.publishEvent(new NotificationEvent(kind, taskId, username));
+    }
+
+    @Override
+    public Optional<LocalDateTime> getSeenAt(String username, Long taskId, NotificationType kind) {
+        return readWatermarkRepository.findSeenAt(username, taskId, kind);
+    }
+
+    @Override
+    public Map<String, LocalDateTime> getSeenAt(Long taskId, NotificationType kind, Collection<String> usernames) {
+        Map<String, LocalDateTime> seenAt = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            readWatermarkRepository.findSeenAt(taskId, kind, usernames)
+                    .forEach(r -> seenAt.put((String) r[0], (LocalDateTime) r[1]));
+        }
+        return seenAt;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskDeleted(Long taskId) {
+        readWatermarkRepository.deleteByTaskId(taskId);
+    }
+}
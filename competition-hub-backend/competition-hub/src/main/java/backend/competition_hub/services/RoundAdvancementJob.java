@@ -0,0 +1,40 @@
+package backend.competition_hub.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Automatikus fordulóváltás: a lejárt határidejű aktív fordulókat kötegenként lépteti tovább,
+ * kötegenként külön tranzakcióban. Több példányon is futhat egyszerre, a fordulókat
+ * SELECT ... FOR UPDATE SKIP LOCKED osztja szét (lásd RoundRepository.lockExpiredActiveRounds).
+ */
+@Component
+public class RoundAdvancementJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RoundAdvancementJob.class);
+
+    private final TaskService taskService;
+    private final int batchSize;
+
+    public RoundAdvancementJob(TaskService taskService, @Value("${rounds.advance-batch-size:100}") int batchSize) {
+        this.taskService = taskService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${rounds.advance-cron:0 */5 * * * *}")
+    public void advanceExpiredRounds() {
+        long start = System.currentTimeMillis();
+        int total = 0;
+        int advanced;
+        do {
+            advanced = taskService.advanceExpiredRounds(batchSize);
+            total += advanced;
+        } while (advanced == batchSize);
+        if (total > 0) {
+            log.info("Advanced {} expired rounds in {} ms", total, System.currentTimeMillis() - start);
+        }
+    }
+}
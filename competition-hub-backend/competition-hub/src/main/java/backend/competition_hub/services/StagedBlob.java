@@ -0,0 +1,51 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.BlobEncoding;
+
+import java.nio.file.Path;
+
+/**
+ * Lemezre írt, már hash-elt, de még nem publikált feltöltés: a tartalom a file
+ * ideiglenes fájlban van (az encoding szerint tömörítve), a BlobStorageService.attach
+ * helyezi a végleges helyére. A hash és a size az eredeti tartalomé.
+ */
+public class StagedBlob {
+
+    private final String hash;
+    private final long size;
+    private final Path file;
+    private final long storedSize;
+    private final BlobEncoding encoding;
+
+    public StagedBlob(String hash, long size, Path file) {
+        this(hash, size, file, size, BlobEncoding.IDENTITY);
+    }
+
+    public StagedBlob(String hash, long size, Path file, long storedSize, BlobEncoding encoding) {
+        this.hash = hash;
+        this.size = size;
+        this.file = file;
+        this.storedSize = storedSize;
+        this.encoding = encoding;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getStoredSize() {
+        return storedSize;
+    }
+
+    public BlobEncoding getEncoding() {
+        return encoding;
+    }
+}
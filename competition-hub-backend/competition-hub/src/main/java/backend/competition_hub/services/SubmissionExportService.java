@@ -0,0 +1,8 @@
+package backend.competition_hub.services;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface SubmissionExportService {
+    ResponseEntity<StreamingResponseBody> exportSubmissions(Long taskId, Long roundId, boolean manifest);
+}
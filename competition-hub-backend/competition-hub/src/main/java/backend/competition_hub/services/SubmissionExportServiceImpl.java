@@ -0,0 +1,184 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.BlobEncoding;
+import backend.competition_hub.dtos.SubmissionFileDTO;
+import backend.competition_hub.metrics.StorageMetrics;
+import backend.competition_hub.repositories.ApplicationRepository;
+import backend.competition_hub.repositories.RoundRepository;
+import backend.competition_hub.repositories.TaskRepository;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Egy task (vagy egy forduló) összes beküldése egy ZIP-ben, menet közben írva: a fájlok
+ * egyenként, pufferen át mennek a válaszba, a memóriaigény nem függ a beküldések méretétől.
+ * A már tömörített fájlok (archívum, kép, videó) STORE módban kerülnek be, a többi DEFLATE-tel.
+ * A manifest.csv a beküldők nevét, a beküldés idejét és a pontszámot tartalmazza.
+ */
+@Service
+public class SubmissionExportServiceImpl implements SubmissionExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String MANIFEST = "manifest.csv";
+
+    private final TaskRepository taskRepository;
+    private final RoundRepository roundRepository;
+    private final ApplicationRepository applicationRepository;
+    private final BlobStorageService blobStorageService;
+    private final StorageMetrics storageMetrics;
+
+    public SubmissionExportServiceImpl(TaskRepository taskRepository, RoundRepository roundRepository,
+                                       ApplicationRepository applicationRepository, BlobStorageService blobStorageService,
+                                       StorageMetrics storageMetrics) {
+        this.taskRepository = taskRepository;
+        this.roundRepository = roundRepository;
+        this.applicationRepository = applicationRepository;
+        this.blobStorageService = blobStorageService;
+        this.storageMetrics = storageMetrics;
+    }
+
+    // A beküldések listája a tranzakcióban töltődik be, a fájlok írása már utána, a válasz streamelésekor történik
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(Long taskId, Long roundId, boolean manifest) {
+        if (!taskRepository.existsById(taskId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        if (roundId != null && roundRepository.findByTaskId(taskId).stream().noneMatch(r -> r.getId().equals(roundId))) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        List<SubmissionFileDTO> files = applicationRepository.findSubmissionFiles(taskId, roundId);
+
+        String archiveName = "task-" + taskId + (roundId != null ? "-round-" + roundId : "") + ".zip";
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, "application/zip")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(archiveName, StandardCharsets.UTF_8)
+                        .build().toString())
+                .body(out -> writeZip(files, manifest, out));
+    }
+
+    private void writeZip(List<SubmissionFileDTO> files, boolean manifest, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, BUFFER_SIZE), StandardCharsets.UTF_8);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        List<String> entryNames = new ArrayList<>(files.size());
+        for (SubmissionFileDTO file : files) {
+            entryNames.add(writeEntry(zip, file, buffer));
+        }
+        if (manifest) {
+            writeManifest(zip, files, entryNames);
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    // A bejegyzés neve, vagy null, ha a fájl nincs meg a lemezen (a manifestben üres marad)
+    private String writeEntry(ZipOutputStream zip, SubmissionFileDTO file, byte[] buffer) throws IOException {
+        Path path = file.getBlobHash() != null ? blobStorageService.resolve(file.getBlobHash())
+                : file.getFilePath() != null ? Paths.get(file.getFilePath()) : null;
+        if (path == null || !Files.isRegularFile(path)) {
+            return null;
+        }
+        boolean gzipped = file.getEncoding() == BlobEncoding.GZIP;
+        String fileName = file.getFileName() != null ? file.getFileName() : path.getFileName().toString();
+        String name = sanitize(file.getUsername()) + "/" + file.getApplicationId() + "_" + sanitize(fileName);
+
+        ZipEntry entry = new ZipEntry(name);
+        if (file.getApplicationDate() != null) {
+            entry.setTimeLocal(file.getApplicationDate());
+        }
+        // A gzip-pel tárolt tartalom tömöríthető, DEFLATE; a már tömörített formátumokat nem tömörítjük újra.
+        // A STORE bejegyzés fejlécébe előre kell a CRC és a méret: ehhez egy külön olvasás kell
+        if (!gzipped && CompressionPolicy.isCompressed(fileName, path)) {
+            entry.setMethod(ZipEntry.STORED);
+            CRC32 crc = new CRC32();
+            long size = 0;
+            try (InputStream in = Files.newInputStream(path)) {
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    crc.update(buffer, 0, n);
+                    size += n;
+                }
+            }
+            entry.setSize(size);
+            entry.setCompressedSize(size);
+            entry.setCrc(crc.getValue());
+        }
+
+        zip.putNextEntry(entry);
+        long start = System.nanoTime();
+        long read = 0;
+        try (InputStream in = gzipped ? new GZIPInputStream(Files.newInputStream(path), BUFFER_SIZE) : Files.newInputStream(path)) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                zip.write(buffer, 0, n);
+                read += n;
+            }
+        } finally {
+            storageMetrics.recordRead(read, System.nanoTime() - start);
+        }
+        zip.closeEntry();
+        return name;
+    }
+
+    private void writeManifest(ZipOutputStream zip, List<SubmissionFileDTO> files, List<String> entryNames) throws IOException {
+        zip.putNextEntry(new ZipEntry(MANIFEST));
+        StringBuilder csv = new StringBuilder("application_id,username,round_id,application_date,review_points,file\n");
+        for (int i = 0; i < files.size(); i++) {
+            SubmissionFileDTO file = files.get(i);
+            csv.append(file.getApplicationId()).append(',')
+                    .append(csv(file.getUsername())).append(',')
+                    .append(file.getRoundId() != null ? file.getRoundId() : "").append(',')
+                    .append(file.getApplicationDate() != null ? file.getApplicationDate() : "").append(',')
+                    .append(file.getReviewPoints() != null ? file.getReviewPoints() : "").append(',')
+                    .append(csv(entryNames.get(i))).append('\n');
+            // Soronként legfeljebb néhány száz bájt; nagy tasknál részletekben írjuk ki
+            if (csv.length() >= BUFFER_SIZE) {
+                zip.write(csv.toString().getBytes(StandardCharsets.UTF_8));
+                csv.setLength(0);
+            }
+        }
+        zip.write(csv.toString().getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    // RFC 4180: vessző, idézőjel vagy sortörés esetén idézőjelek közé, a belső idézőjel duplázva
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    // A ZIP-en belüli útvonalba nem kerülhet könyvtár-elválasztó vagy "..", és ne legyen üres
+    private String sanitize(String value) {
+        if (value == null || value.isBlank()) {
+            return "_";
+        }
+        String cleaned = value.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_");
+        return cleaned.startsWith(".") ? "_" + cleaned.substring(1) : cleaned;
+    }
+}
@@ -0,0 +1,34 @@
+package backend.competition_hub.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * A feldolgozási sorba be nem került (megtelt a sor, újraindult a példány) vagy félbemaradt beküldéseket
+ * teszi újra sorba. Futásonként egy köteg: ami most sem fér be, az a következő futásra marad.
+ */
+@Component
+public class SubmissionProcessingJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SubmissionProcessingJob.class);
+
+    private final SubmissionProcessingService processingService;
+    private final int batchSize;
+
+    public SubmissionProcessingJob(SubmissionProcessingService processingService,
+                                   @Value("${processing.sweep-batch-size:100}") int batchSize) {
+        this.processingService = processingService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${processing.sweep-cron:0 * * * * *}")
+    public void requeuePending() {
+        int queued = processingService.requeuePending(batchSize);
+        if (queued > 0) {
+            log.info("Requeued {} pending submissions for processing", queued);
+        }
+    }
+}
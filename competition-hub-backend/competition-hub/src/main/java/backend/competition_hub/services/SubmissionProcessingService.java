@@ -0,0 +1,7 @@
+package backend.competition_hub.services;
+
+public interface SubmissionProcessingService {
+    boolean enqueue(Long applicationId);
+    void process(Long applicationId);
+    int requeuePending(int limit);
+}
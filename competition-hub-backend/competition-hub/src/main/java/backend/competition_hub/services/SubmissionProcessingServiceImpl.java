@@ -0,0 +1,289 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.BlobEncoding;
+import backend.competition_hub.ProcessingStatus;
+import backend.competition_hub.entities.Application;
+import backend.competition_hub.entities.StoredBlob;
+import backend.competition_hub.events.ApplicationSubmittedEvent;
+import backend.competition_hub.repositories.ApplicationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Feltöltés utáni feldolgozás a kérésszálon kívül: a beküldés commitja után egy korlátos sorba kerül,
+ * a rögzített méretű worker pool lépésenként dolgozza fel (ellenőrzőösszeg, tartalomtípus, archívum-bejegyzések
+ * vagy PDF oldalszám, SubmissionScanner-ek). Az állapot az Application processing_* oszlopaiban van.
+ * Ha a sor tele van, a beküldés PENDING marad, és a SubmissionProcessingJob később sorba teszi;
+ * több példánynál a PENDING -> PROCESSING feltételes UPDATE dönti el, melyik dolgozza fel.
+ * Az állapot a Task JSON-jában is látszik, ezért minden állapotváltás ugyanabban a tranzakcióban
+ * lépteti a task revízióját (különben a feltételes GET a régi állapotra adna 304-et).
+ */
+@Service
+public class SubmissionProcessingServiceImpl implements SubmissionProcessingService {
+
+    private static final Logger log = LoggerFactory.getLogger(SubmissionProcessingServiceImpl.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final ApplicationRepository applicationRepository;
+    private final BlobStorageService blobStorageService;
+    private final TaskRevisionService taskRevisionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<SubmissionScanner> scanners;
+    private final MeterRegistry meterRegistry;
+    private final Duration pendingDelay;
+    private final Duration stalledAfter;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    // Az ebben a példányban sorban álló beküldések: az újraütemezés ne tegye be őket még egyszer
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    public SubmissionProcessingServiceImpl(ApplicationRepository applicationRepository, BlobStorageService blobStorageService,
+                                           TaskRevisionService taskRevisionService,
+                                           PlatformTransactionManager transactionManager,
+                                           ObjectProvider<SubmissionScanner> scanners, MeterRegistry meterRegistry,
+                                           @Value("${processing.workers:2}") int workers,
+                                           @Value("${processing.queue-capacity:200}") int queueCapacity,
+                                           @Value("${processing.pending-delay:1m}") Duration pendingDelay,
+                                           @Value("${processing.stalled-after:10m}") Duration stalledAfter) {
+        this.applicationRepository = applicationRepository;
+        this.blobStorageService = blobStorageService;
+        this.taskRevisionService = taskRevisionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scanners = scanners;
+        this.meterRegistry = meterRegistry;
+        this.pendingDelay = pendingDelay;
+        this.stalledAfter = stalledAfter;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "submission-processing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("processing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Feldolgozásra váró beküldések a sorban")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("processing.queue.rejected")
+                .description("Megtelt sor miatt később feldolgozott beküldések")
+                .register(meterRegistry);
+    }
+
+    // Commit után: a kérés nem vár a feldolgozásra, csak a sorba tételre
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplicationSubmitted(ApplicationSubmittedEvent event) {
+        enqueue(event.getApplicationId());
+    }
+
+    @Override
+    public boolean enqueue(Long applicationId) {
+        if (!queued.add(applicationId)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(applicationId);
+                } finally {
+                    queued.remove(applicationId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            queued.remove(applicationId);
+            rejected.increment();
+            return false;
+        }
+    }
+
+    @Override
+    public void process(Long applicationId) {
+        boolean claimed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (applicationRepository.claimForProcessing(applicationId, LocalDateTime.now()) == 0) {
+                return false;
+            }
+            applicationRepository.findTaskIdById(applicationId).ifPresent(taskRevisionService::taskChanged);
+            return true;
+        }));
+        if (!claimed) {
+            return; // közben törölték, vagy más (példány) már feldolgozta
+        }
+        Application application = applicationRepository.findById(applicationId).orElse(null);
+        if (application == null) {
+            return;
+        }
+
+        String hash = application.getBlobHash();
+        StoredBlob blob = hash != null ? blobStorageService.find(hash).orElse(null) : null;
+        Path path = hash != null ? blobStorageService.resolve(hash) : null;
+        if (blob == null || !Files.isRegularFile(path)) {
+            complete(applicationId, ProcessingStatus.FAILED, "A beküldött fájl nem található.", null, null, null);
+            return;
+        }
+        boolean gzipped = blob.getEncoding() == BlobEncoding.GZIP;
+        String fileName = application.getFileName();
+
+        try {
+            // 1. Ellenőrzőösszeg: a lemezen lévő tartalom (kibontva) még mindig a hash-ének felel meg
+            long start = System.nanoTime();
+            String checksum = sha256(path, gzipped);
+            record("checksum", start);
+            if (!checksum.equals(hash)) {
+                complete(applicationId, ProcessingStatus.FAILED, "Sérült fájl: az ellenőrzőösszeg nem egyezik.", null, null, null);
+                return;
+            }
+
+            // 2. Tartalomtípus a fájl elejéből
+            start = System.nanoTime();
+            String contentType;
+            try (InputStream in = open(path, gzipped)) {
+                byte[] head = new byte[ContentInspector.HEAD_SIZE];
+                int length = in.readNBytes(head, 0, head.length);
+                contentType = ContentInspector.sniff(head, length, fileName);
+            }
+            record("sniff", start);
+
+            // 3. Archívum-bejegyzések vagy PDF oldalszám
+            Integer archiveEntries = null;
+            Integer pageCount = null;
+            if (ContentInspector.ZIP.equals(contentType) || ContentInspector.PDF.equals(contentType)) {
+                start = System.nanoTime();
+                try (InputStream in = open(path, gzipped)) {
+                    if (ContentInspector.ZIP.equals(contentType)) {
+                        archiveEntries = ContentInspector.countZipEntries(in);
+                    } else {
+                        pageCount = ContentInspector.countPdfPages(in);
+                    }
+                }
+                record("inspect", start);
+            }
+
+            // 4. Bővítmények (pl. vírusirtó): az első elutasítás dönt
+            start = System.nanoTime();
+            for (SubmissionScanner scanner : scanners.orderedStream().toList()) {
+                String reason;
+                try (InputStream in = open(path, gzipped)) {
+                    reason = scanner.scan(in, fileName, contentType);
+                }
+                if (reason != null) {
+                    record("scan", start);
+                    complete(applicationId, ProcessingStatus.REJECTED, reason, contentType, pageCount, archiveEntries);
+                    return;
+                }
+            }
+            record("scan", start);
+
+            complete(applicationId, ProcessingStatus.DONE, null, contentType, pageCount, archiveEntries);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Processing of application {} failed", applicationId, e);
+            complete(applicationId, ProcessingStatus.FAILED, "A feldolgozás sikertelen: " + e.getMessage(), null, null, null);
+        }
+    }
+
+    @Override
+    public int requeuePending(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        int stalled = transactionTemplate.execute(status -> {
+            int reset = applicationRepository.resetStalledProcessing(now.minus(stalledAfter), now);
+            if (reset > 0) {
+                taskRevisionService.tasksChanged(applicationRepository.findTaskIdsByPendingSince(now));
+            }
+            return reset;
+        });
+        if (stalled > 0) {
+            log.warn("Reset {} stalled submission processings", stalled);
+        }
+        List<Long> pending = applicationRepository.findPendingProcessingIds(now.minus(pendingDelay), PageRequest.of(0, limit));
+        int count = 0;
+        for (Long applicationId : pending) {
+            if (!enqueue(applicationId)) {
+                break; // a sor megint tele van, a többi a következő futásra marad
+            }
+            count++;
+        }
+        return count;
+    }
+
+    // A sorban állók PENDING-ek maradnak (a következő induláskor sorra kerülnek), a futók befejeződnek
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.getQueue().clear();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void complete(Long applicationId, ProcessingStatus status, String error, String contentType,
+                          Integer pageCount, Integer archiveEntries) {
+        String message = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (applicationRepository.completeProcessing(applicationId, status, message, contentType, pageCount,
+                    archiveEntries, LocalDateTime.now()) > 0) {
+                applicationRepository.findTaskIdById(applicationId).ifPresent(taskRevisionService::taskChanged);
+            }
+        });
+    }
+
+    // A blob eredeti tartalma: a tömörítve tárolt streamelve kibontva
+    private InputStream open(Path path, boolean gzipped) throws IOException {
+        InputStream in = Files.newInputStream(path);
+        return gzipped ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+
+    private String sha256(Path path, boolean gzipped) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(open(path, gzipped), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void record(String stage, long start) {
+        Timer.builder("processing.stage")
+                .description("A beküldés-feldolgozás lépéseinek ideje")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
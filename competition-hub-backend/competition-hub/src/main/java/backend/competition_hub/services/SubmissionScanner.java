@@ -0,0 +1,16 @@
+package backend.competition_hub.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bővítési pont a feltöltés utáni feldolgozás vizsgálati lépéséhez (pl. vírusirtó, plágiumszűrő).
+ * Minden SubmissionScanner bean lefut, a tartalmat kibontva, elejétől kapja.
+ */
+public interface SubmissionScanner {
+
+    /**
+     * null, ha a beküldés rendben van; különben az elutasítás oka (REJECTED állapot).
+     */
+    String scan(InputStream content, String fileName, String contentType) throws IOException;
+}
@@ -0,0 +1,15 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.dtos.ResourceVersionDTO;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface TaskRevisionService {
+    void taskChanged(Long taskId);
+    void tasksChanged(Collection<Long> taskIds);
+    void taskDeleted(Long taskId);
+    Optional<ResourceVersionDTO> getTaskVersion(Long taskId);
+    Optional<ResourceVersionDTO> getTaskListVersion();
+    Optional<ResourceVersionDTO> getApplicationsByUserVersion(String keycloakUserId);
+}
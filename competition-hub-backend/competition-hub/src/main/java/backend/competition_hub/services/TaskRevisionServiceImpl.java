@@ -0,0 +1,143 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.dtos.ResourceVersionDTO;
+import backend.competition_hub.entities.TaskRevision;
+import backend.competition_hub.repositories.TaskRevisionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * A feltételes GET-ek validátorai. Az író műveletek a saját tranzakciójukban léptetik
+ * a task revízióját, így a verzió sosem előzi meg a tartalmat; a controller a verziót a tartalom
+ * előtt olvassa, és egyezéskor a Task gráfot be sem tölti. A teljes lista sorát minden írás érinti,
+ * ezért azt nem az író tranzakció zárolja: a commit után, külön rövid tranzakcióban lép.
+ */
+@Service
+public class TaskRevisionServiceImpl implements TaskRevisionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskRevisionServiceImpl.class);
+
+    // A teljes Task-lista (GET /api/tasks, /api/tasks/summaries) revíziós sora
+    private static final long ALL_TASKS = 0L;
+
+    private final TaskRevisionRepository taskRevisionRepository;
+    private final TransactionTemplate requiresNew;
+
+    public TaskRevisionServiceImpl(TaskRevisionRepository taskRevisionRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.taskRevisionRepository = taskRevisionRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // A hívó tranzakció végén hívandó, hogy a task sorának zárja rövid legyen
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskChanged(Long taskId) {
+        taskRevisionRepository.bump(taskId, now());
+        taskListChangedAfterCommit();
+    }
+
+    // Kötegelt változás (pl. automatikus fordulóváltás): a taskok növekvő id sorrendben, így nem lehet holtpont
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void tasksChanged(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = now();
+        taskIds.stream().sorted().forEach(taskId -> taskRevisionRepository.bump(taskId, now));
+        taskListChangedAfterCommit();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskDeleted(Long taskId) {
+        taskRevisionRepository.deleteByTaskId(taskId);
+        taskListChangedAfterCommit();
+    }
+
+    @Override
+    public Optional<ResourceVersionDTO> getTaskVersion(Long taskId) {
+        return taskRevisionRepository.findById(taskId).map(r -> toVersion("task-" + taskId, r));
+    }
+
+    @Override
+    public Optional<ResourceVersionDTO> getTaskListVersion() {
+        return taskRevisionRepository.findById(ALL_TASKS).map(r -> toVersion("tasks", r));
+    }
+
+    /**
+     * A felhasználó beküldései több taskhoz tartoznak: az ETag a (task, revízió) párok lenyomata.
+     * Last-Modified nincs, mert egy task törlésekor a halmaz szűkül, a legnagyobb időpont viszont nem nő.
+     */
+    @Override
+    public Optional<ResourceVersionDTO> getApplicationsByUserVersion(String keycloakUserId) {
+        List<TaskRevision> revisions = taskRevisionRepository.findByApplicantUserId(keycloakUserId);
+        if (revisions.isEmpty()) {
+            return Optional.empty();
+        }
+        String fingerprint = revisions.stream()
+                .map(r -> r.getTaskId() + ":" + r.getRevision())
+                .collect(Collectors.joining(","));
+        String hash = DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8));
+        return Optional.of(new ResourceVersionDTO("W/\"applications-" + hash + "\"", -1));
+    }
+
+    /**
+     * A lista sora tranzakciónként egyszer, a commit után lép (visszagörgetéskor nem). A tartalom így
+     * a verzió előtt látszik: aki közben a régi verzióval az új tartalmat kapja, a léptetés után újra letölti.
+     */
+    private void taskListChangedAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bumpTaskList();
+            return;
+        }
+        if (TransactionSynchronizationManager.getSynchronizations().stream().noneMatch(TaskListBump.class::isInstance)) {
+            TransactionSynchronizationManager.registerSynchronization(new TaskListBump());
+        }
+    }
+
+    private void bumpTaskList() {
+        try {
+            requiresNew.executeWithoutResult(status -> taskRevisionRepository.bump(ALL_TASKS, now()));
+        } catch (RuntimeException e) {
+            // a tartalom már commitolva van; a lista verziója a következő változással lép
+            log.warn("Could not bump task list revision: {}", e.getMessage());
+        }
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private ResourceVersionDTO toVersion(String prefix, TaskRevision revision) {
+        long lastModified = revision.getModifiedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new ResourceVersionDTO("W/\"" + prefix + "-" + revision.getRevision() + "\"", lastModified);
+    }
+
+    private final class TaskListBump implements TransactionSynchronization {
+        @Override
+        public void afterCommit() {
+            bumpTaskList();
+        }
+    }
+}
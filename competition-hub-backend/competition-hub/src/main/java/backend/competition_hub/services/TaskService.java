@@ -1,6 +1,8 @@
 package backend.competition_hub.services;
 
 import backend.competition_hub.dtos.ApplicationNotificationDTO;
+import backend.competition_hub.dtos.TaskPageDTO;
+import backend.competition_hub.dtos.TaskStorageDTO;
 import backend.competition_hub.entities.Task;
 import org.springframework.http.ResponseEntity;
 
@@ -8,6 +10,7 @@ import java.util.List;
 
 public interface TaskService {
     List<Task> getAllTasks();
+    ResponseEntity<TaskPageDTO> getTaskSummaries(Long before, int size);
     ResponseEntity<Task> getTaskById(Long id);
     Task createTask(Task task);
     ResponseEntity<Task> updateTask(Long id, Task updatedTask);
@@ -15,5 +18,10 @@ public interface TaskService {
     ResponseEntity<List<ApplicationNotificationDTO>> getTasksWithNewApplicationCounts(String creator);
     ResponseEntity<Object> touchView(Long id);
     ResponseEntity<Task> eliminateApplicants(Long taskId, List<String> eliminatedUsernames);
+    ResponseEntity<TaskStorageDTO> getTaskStorage(Long taskId);
+    ResponseEntity<List<String>> getEliminatedApplicants(Long taskId);
+    ResponseEntity<List<String>> addEliminations(Long taskId, List<String> usernames);
+    ResponseEntity<Object> removeElimination(Long taskId, String username);
     ResponseEntity<Object> activateNextRound(Long taskId);
+    int advanceExpiredRounds(int batchSize);
 }
\ No newline at end of file
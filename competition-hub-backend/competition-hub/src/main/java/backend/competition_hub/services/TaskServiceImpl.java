@@ -1,36 +1,69 @@
 package backend.competition_hub.services;
 
 import backend.competition_hub.dtos.ApplicationNotificationDTO;
+import backend.competition_hub.dtos.TaskPageDTO;
+import backend.competition_hub.dtos.TaskStorageDTO;
+import backend.competition_hub.dtos.TaskSummaryDTO;
 import backend.competition_hub.entities.Application;
 import backend.competition_hub.entities.Round;
 import backend.competition_hub.entities.Task;
+import backend.competition_hub.events.NotificationEvent;
+import backend.competition_hub.events.NotificationType;
+import backend.competition_hub.events.TaskChangedEvent;
 import backend.competition_hub.repositories.ApplicationRepository;
+import backend.competition_hub.repositories.EliminationRepository;
 import backend.competition_hub.repositories.RoundRepository;
 import backend.competition_hub.repositories.TaskRepository;
 import backend.competition_hub.services.TaskService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final TaskRepository taskRepository;
     private final RoundRepository roundRepository;
     private final ApplicationRepository applicationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UnreadCounterService unreadCounterService;
+    private final EliminationRepository eliminationRepository;
+    private final ReadWatermarkService readWatermarkService;
+    private final TaskRevisionService taskRevisionService;
+    private final BlobStorageService blobStorageService;
 
-    public TaskServiceImpl(TaskRepository taskRepository, RoundRepository roundRepository, ApplicationRepository applicationRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, RoundRepository roundRepository, ApplicationRepository applicationRepository,
+                           ApplicationEventPublisher eventPublisher, UnreadCounterService unreadCounterService,
+                           EliminationRepository eliminationRepository, ReadWatermarkService readWatermarkService,
+                           TaskRevisionService taskRevisionService, BlobStorageService blobStorageService) {
         this.taskRepository = taskRepository;
         this.roundRepository = roundRepository;
         this.applicationRepository = applicationRepository;
+        this.eventPublisher = eventPublisher;
+        this.unreadCounterService = unreadCounterService;
+        this.eliminationRepository = eliminationRepository;
+        this.readWatermarkService = readWatermarkService;
+        this.taskRevisionService = taskRevisionService;
+        this.blobStorageService = blobStorageService;
     }
 
     @Override
@@ -38,6 +71,17 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.findAll();
     }
 
+    @Override
+    public ResponseEntity<TaskPageDTO> getTaskSummaries(Long before, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<TaskSummaryDTO> items = taskRepository.findSummaries(
+                before != null ? before : Long.MAX_VALUE, PageRequest.ofSize(pageSize));
+
+        // Ha tele lett az oldal, az utolsó ID a következő oldal kurzora
+        Long nextCursor = items.size() == pageSize ? items.get(items.size() - 1).getId() : null;
+        return ResponseEntity.ok(new TaskPageDTO(items, nextCursor));
+    }
+
     @Override
     public ResponseEntity<Task> getTaskById(Long id) {
         return taskRepository.findById(id)
@@ -64,7 +108,9 @@ public class TaskServiceImpl implements TaskService {
                 round.setIsActive(i == 0); // első aktív, a többi nem
             }
         }
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        taskRevisionService.taskChanged(saved.getId());
+        return saved;
     }
 
     @Override
@@ -85,16 +131,29 @@ public class TaskServiceImpl implements TaskService {
                     }
 
                     Task savedTask = taskRepository.save(task);
+                    taskRevisionService.taskChanged(id);
+                    eventPublisher.publishEvent(new TaskChangedEvent(id));
                     return ResponseEntity.ok(savedTask);
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @Override
+    @Transactional
     public ResponseEntity<Object> deleteTask(Long id) {
         return taskRepository.findById(id)
                 .map(task -> {
+                    Set<String> involved = new HashSet<>(applicationRepository.findDistinctUserNamesByTaskId(id));
+                    involved.add(task.getCreator());
+                    unreadCounterService.taskDeleted(id);
+                    eliminationRepository.deleteByTaskId(id);
+                    readWatermarkService.taskDeleted(id);
+                    // A beküldések blobjainak hivatkozásai; a fájlokat a BlobGarbageCollectionJob törli
+                    blobStorageService.releaseTask(id);
                     taskRepository.delete(task);
+                    taskRevisionService.taskDeleted(id);
+                    eventPublisher.publishEvent(new NotificationEvent(null, id, involved));
+                    eventPublisher.publishEvent(new TaskChangedEvent(id));
                     return ResponseEntity.ok().build();
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -102,26 +161,14 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     public ResponseEntity<List<ApplicationNotificationDTO>> getTasksWithNewApplicationCounts(String creator) {
-        List<Object[]> results = taskRepository.getTasksWithNewApplicationCount(creator);
-
-        // Konvertáljuk az Object[] listát ApplicationNotificationDTO listává
-        List<ApplicationNotificationDTO> notifications = results.stream()
-                .map(result -> new ApplicationNotificationDTO(
-                        ((Number) result[0]).longValue(),
-                        (String) result[1],
-                        ((Number) result[2]).longValue()
-                ))
-                .toList();
-
-        return ResponseEntity.ok(notifications);
+        return ResponseEntity.ok(unreadCounterService.listUnread(creator, NotificationType.NEW_APPLICATION));
     }
 
     @Override
     @Transactional
     public ResponseEntity<Object> touchView(Long id) {
         return taskRepository.findById(id).map(task -> {
-            task.setCreatorLastViewedAt(LocalDateTime.now());
-            taskRepository.save(task);
+            readWatermarkService.markSeen(task.getCreator(), id, NotificationType.NEW_APPLICATION);
             return ResponseEntity.ok().build();
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -131,14 +178,91 @@ public class TaskServiceImpl implements TaskService {
     public ResponseEntity<Task> eliminateApplicants(Long taskId, List<String> eliminatedUsernames) {
         return taskRepository.findById(taskId)
                 .map(task -> {
-                    // Átadjuk az új listát a Task entitásnak
-                    task.setEliminatedApplicants(eliminatedUsernames);
-                    Task savedTask = taskRepository.save(task);
-                    return ResponseEntity.ok(savedTask);
+                    // Teljes lista érkezik, de csak a különbséget írjuk: a változatlan sorokhoz nem nyúlunk
+                    Set<String> previous = new HashSet<>(eliminationRepository.findUsernamesByTaskId(taskId));
+                    Set<String> restored = new HashSet<>(previous);
+                    restored.removeAll(eliminatedUsernames);
+                    Set<String> toAdd = new LinkedHashSet<>(eliminatedUsernames);
+                    toAdd.removeAll(previous);
+
+                    Set<String> added = insertEliminations(taskId, toAdd);
+                    if (!restored.isEmpty()) {
+                        eliminationRepository.deleteByTaskIdAndUsernameIn(taskId, restored);
+                    }
+                    eliminationChanged(taskId, added, restored);
+                    return ResponseEntity.ok(task);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // A beküldések eredeti és tárolt (tömörített) mérete, a tömörítési arány riportjához
+    @Override
+    public ResponseEntity<TaskStorageDTO> getTaskStorage(Long taskId) {
+        if (!taskRepository.existsById(taskId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(blobStorageService.getTaskStorage(taskId));
+    }
+
+    @Override
+    public ResponseEntity<List<String>> getEliminatedApplicants(Long taskId) {
+        if (!taskRepository.existsById(taskId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(eliminationRepository.findUsernamesByTaskId(taskId));
+    }
+
+    @Override
+    @Transactional
+    public ResponseEntity<List<String>> addEliminations(Long taskId, List<String> usernames) {
+        if (!taskRepository.existsById(taskId)) {
+            return ResponseEntity.notFound().build();
+        }
+        Set<String> added = insertEliminations(taskId, usernames);
+        eliminationChanged(taskId, added, Set.of());
+        return ResponseEntity.ok(added.stream().sorted().toList());
+    }
+
+    @Override
+    @Transactional
+    public ResponseEntity<Object> removeElimination(Long taskId, String username) {
+        if (!taskRepository.existsById(taskId)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (eliminationRepository.deleteByTaskIdAndUsernameIn(taskId, Set.of(username)) > 0) {
+            eliminationChanged(taskId, Set.of(), Set.of(username));
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Egy sor userenként; a már kizártaknál az INSERT IGNORE nem ír semmit.
+     * Visszaadja azokat, akik ténylegesen most kerültek be.
+     */
+    private Set<String> insertEliminations(Long taskId, Collection<String> usernames) {
+        Long roundId = roundRepository.findFirstByTaskIdAndIsActiveTrue(taskId).map(Round::getId).orElse(null);
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> added = new HashSet<>();
+        for (String username : new LinkedHashSet<>(usernames)) {
+            if (username != null && !username.isBlank() && eliminationRepository.add(taskId, username, roundId, now) > 0) {
+                added.add(username);
+            }
+        }
+        return added;
+    }
+
+    // Csak azokat értesítjük, akiknek az állapota ténylegesen változott
+    private void eliminationChanged(Long taskId, Set<String> added, Set<String> restored) {
+        if (added.isEmpty() && restored.isEmpty()) {
+            return;
+        }
+        Set<String> changed = new HashSet<>(added);
+        changed.addAll(restored);
+        unreadCounterService.eliminationChanged(taskId, added, restored);
+        taskRevisionService.taskChanged(taskId);
+        eventPublisher.publishEvent(new NotificationEvent(NotificationType.ELIMINATION, taskId, changed));
+    }
+
     @Override
     @Transactional
     public ResponseEntity<Object> activateNextRound(Long taskId) {
@@ -177,13 +301,54 @@ public class TaskServiceImpl implements TaskService {
 
             // Átváltás
             current.setIsActive(false);
-            current.setActivatedAt(Instant.now());
+            current.setActivatedAt(LocalDateTime.now());
             Round next = rounds.get(activeIdx + 1);
             next.setIsActive(true);
             roundRepository.save(current);
             roundRepository.save(next);
+            taskRevisionService.taskChanged(taskId);
+            eventPublisher.publishEvent(new TaskChangedEvent(taskId));
+            eventPublisher.publishEvent(new NotificationEvent(NotificationType.ROUND_ACTIVATED, taskId,
+                    applicationRepository.findDistinctUserNamesByTaskId(taskId)));
 
             return ResponseEntity.ok().build();
         }).orElse(ResponseEntity.notFound().build());
     }
+
+    /**
+     * Egy köteg lejárt aktív forduló továbbléptetése (RoundAdvancementJob). A fordulók zárolva
+     * (SKIP LOCKED) jönnek, a váltás két tömeges UPDATE, a jelentkezők egy lekérdezéssel;
+     * az értesítések és a cache-ürítés ugyanazok, mint a kézi activateNextRound-nál.
+     * A feldolgozott fordulók számát adja vissza.
+     */
+    @Override
+    @Transactional
+    public int advanceExpiredRounds(int batchSize) {
+        List<Object[]> expired = roundRepository.lockExpiredActiveRounds(LocalDate.now(), batchSize);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> currentIds = new ArrayList<>(expired.size());
+        List<Long> nextIds = new ArrayList<>(expired.size());
+        Set<Long> taskIds = new TreeSet<>();
+        for (Object[] row : expired) {
+            currentIds.add(((Number) row[0]).longValue());
+            taskIds.add(((Number) row[1]).longValue());
+            nextIds.add(((Number) row[2]).longValue());
+        }
+        roundRepository.deactivateAll(currentIds, LocalDateTime.now());
+        roundRepository.activateAll(nextIds);
+        taskRevisionService.tasksChanged(taskIds);
+
+        Map<Long, List<String>> applicants = applicationRepository.findDistinctUserNamesByTaskIds(taskIds).stream()
+                .collect(Collectors.groupingBy(r -> ((Number) r[0]).longValue(),
+                        Collectors.mapping(r -> (String) r[1], Collectors.toList())));
+        for (Long taskId : taskIds) {
+            eventPublisher.publishEvent(new TaskChangedEvent(taskId));
+            eventPublisher.publishEvent(new NotificationEvent(NotificationType.ROUND_ACTIVATED, taskId,
+                    applicants.getOrDefault(taskId, List.of())));
+        }
+        return expired.size();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.dtos.TaskStatisticsDTO;
+import org.springframework.http.ResponseEntity;
+
+public interface TaskStatisticsService {
+    ResponseEntity<TaskStatisticsDTO> getTaskStatistics(Long taskId);
+}
@@ -0,0 +1,145 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.dtos.SubmissionStatisticsDTO;
+import backend.competition_hub.dtos.TaskStatisticsDTO;
+import backend.competition_hub.entities.Round;
+import backend.competition_hub.events.NotificationEvent;
+import backend.competition_hub.events.TaskChangedEvent;
+import backend.competition_hub.repositories.ApplicationRepository;
+import backend.competition_hub.repositories.RoundRepository;
+import backend.competition_hub.repositories.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kiíró statisztika két GROUP BY lekérdezésből (fordulónkénti darabszámok és pontszám-eloszlás), entitások betöltése nélkül.
+ * Az eredmény taskonként rövid ideig cache-elt; a beküldés és az értékelés (NotificationEvent), valamint
+ * a task változása (TaskChangedEvent) commit után üríti.
+ */
+@Service
+public class TaskStatisticsServiceImpl implements TaskStatisticsService {
+
+    private static final int MAX_POINTS = 10;
+
+    private record Entry(TaskStatisticsDTO statistics, long loadedAt) {}
+
+    private final ApplicationRepository applicationRepository;
+    private final RoundRepository roundRepository;
+    private final TaskRepository taskRepository;
+    private final long ttlMillis;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Mint a NotificationCache-ben: ha betöltés közben ürítettek, az eredményt nem tesszük el
+    private final AtomicLong generation = new AtomicLong();
+
+    public TaskStatisticsServiceImpl(ApplicationRepository applicationRepository, RoundRepository roundRepository,
+                                     TaskRepository taskRepository, @Value("${statistics.cache-ttl:30s}") Duration ttl) {
+        this.applicationRepository = applicationRepository;
+        this.roundRepository = roundRepository;
+        this.taskRepository = taskRepository;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    @Override
+    public ResponseEntity<TaskStatisticsDTO> getTaskStatistics(Long taskId) {
+        Entry entry = entries.get(taskId);
+        long now = System.currentTimeMillis();
+        if (entry != null && now - entry.loadedAt() < ttlMillis) {
+            return ResponseEntity.ok(entry.statistics());
+        }
+        if (!taskRepository.existsById(taskId)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        long startGeneration = generation.get();
+        TaskStatisticsDTO statistics = load(taskId);
+        if (generation.get() == startGeneration) {
+            entries.put(taskId, new Entry(statistics, now));
+        }
+        return ResponseEntity.ok(statistics);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationEvent(NotificationEvent event) {
+        evict(event.getTaskId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        evict(event.getTaskId());
+    }
+
+    private void evict(Long taskId) {
+        generation.incrementAndGet();
+        if (taskId != null) {
+            entries.remove(taskId);
+        }
+    }
+
+    private TaskStatisticsDTO load(Long taskId) {
+        // A fordulók sorrendje a task szerinti, a beküldés nélküli fordulók is szerepelnek (cache-elt lekérdezés)
+        Map<Long, long[]> counts = new LinkedHashMap<>();
+        for (Round round : roundRepository.findByTaskId(taskId)) {
+            counts.put(round.getId(), new long[2]);
+        }
+        for (Object[] row : applicationRepository.countSubmissionsPerRound(taskId)) {
+            long[] count = counts.computeIfAbsent((Long) row[0], id -> new long[2]);
+            count[0] = ((Number) row[1]).longValue();
+            count[1] = ((Number) row[2]).longValue();
+        }
+
+        Map<Long, long[]> distributions = new HashMap<>();
+        long[] totalDistribution = new long[MAX_POINTS + 1];
+        for (Object[] row : applicationRepository.countPointsPerRound(taskId)) {
+            int points = (Integer) row[1];
+            if (points < 0 || points > MAX_POINTS) {
+                continue;
+            }
+            long count = ((Number) row[2]).longValue();
+            distributions.computeIfAbsent((Long) row[0], id -> new long[MAX_POINTS + 1])[points] += count;
+            totalDistribution[points] += count;
+        }
+
+        List<SubmissionStatisticsDTO> rounds = new ArrayList<>();
+        long submissions = 0;
+        long reviewed = 0;
+        for (Map.Entry<Long, long[]> round : counts.entrySet()) {
+            // a forduló nélküli beküldések a lista végére
+            if (round.getKey() == null) {
+                continue;
+            }
+            rounds.add(statistics(round.getKey(), round.getValue(), distributions.get(round.getKey())));
+            submissions += round.getValue()[0];
+            reviewed += round.getValue()[1];
+        }
+        long[] withoutRound = counts.get(null);
+        if (withoutRound != null) {
+            rounds.add(statistics(null, withoutRound, distributions.get(null)));
+            submissions += withoutRound[0];
+            reviewed += withoutRound[1];
+        }
+        SubmissionStatisticsDTO total = new SubmissionStatisticsDTO(null, submissions, reviewed, toList(totalDistribution));
+        return new TaskStatisticsDTO(taskId, total, rounds);
+    }
+
+    private SubmissionStatisticsDTO statistics(Long roundId, long[] counts, long[] distribution) {
+        return new SubmissionStatisticsDTO(roundId, counts[0], counts[1],
+                toList(distribution != null ? distribution : new long[MAX_POINTS + 1]));
+    }
+
+    private List<Long> toList(long[] distribution) {
+        return Arrays.stream(distribution).boxed().toList();
+    }
+}
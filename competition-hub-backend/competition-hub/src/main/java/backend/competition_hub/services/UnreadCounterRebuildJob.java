@@ -0,0 +1,40 @@
+package backend.competition_hub.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Induláskor és éjszakánként újraépíti az olvasatlan-számlálókat, hogy egy
+ * esetleges eltérés (pl. kézi adatbázis-módosítás) ne maradjon meg tartósan.
+ * Több példány közül egyszerre csak egy futtatja (UnreadCounterService.rebuild).
+ */
+@Component
+public class UnreadCounterRebuildJob {
+
+    private static final Logger log = LoggerFactory.getLogger(UnreadCounterRebuildJob.class);
+
+    private final UnreadCounterService unreadCounterService;
+
+    public UnreadCounterRebuildJob(UnreadCounterService unreadCounterService) {
+        this.unreadCounterService = unreadCounterService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${notifications.counter-rebuild-cron:0 0 3 * * *}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        if (unreadCounterService.rebuild()) {
+            log.info("Unread counters rebuilt in {} ms", System.currentTimeMillis() - start);
+        } else {
+            log.info("Unread counter rebuild skipped, another instance is running it");
+        }
+    }
+}
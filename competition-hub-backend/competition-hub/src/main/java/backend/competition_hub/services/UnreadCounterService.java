@@ -0,0 +1,18 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.dtos.ApplicationNotificationDTO;
+import backend.competition_hub.events.NotificationType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface UnreadCounterService {
+    List<ApplicationNotificationDTO> listUnread(String username, NotificationType kind);
+    void increment(String username, Long taskId, NotificationType kind, long delta);
+    void incrementAll(Long taskId, NotificationType kind, Map<String, Long> deltas);
+    void reset(String username, Long taskId, NotificationType kind);
+    void eliminationChanged(Long taskId, Collection<String> eliminated, Collection<String> restored);
+    void taskDeleted(Long taskId);
+    boolean rebuild();
+}
@@ -0,0 +1,137 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.dtos.ApplicationNotificationDTO;
+import backend.competition_hub.entities.JobLock;
+import backend.competition_hub.events.NotificationType;
+import backend.competition_hub.repositories.JobLockRepository;
+import backend.competition_hub.repositories.UnreadCounterRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class UnreadCounterServiceImpl implements UnreadCounterService {
+
+    // Ugyanaz az UPSERT, mint az UnreadCounterRepository.increment, pozicionális paraméterekkel a JDBC kötegeléshez
+    private static final String INCREMENT_SQL = """
+        insert into unread_counter (username, task_id, kind, unread_count)
+        values (?, ?, ?, greatest(?, 0))
+        on duplicate key update unread_count = greatest(unread_count + ?, 0)
+    """;
+
+    static final String REBUILD_LOCK = "unread-counter-rebuild";
+
+    private final UnreadCounterRepository unreadCounterRepository;
+    private final JobLockRepository jobLockRepository;
+    private final NotificationCache notificationCache;
+    private final JdbcTemplate jdbcTemplate;
+
+    public UnreadCounterServiceImpl(UnreadCounterRepository unreadCounterRepository,
+                                    JobLockRepository jobLockRepository,
+                                    NotificationCache notificationCache,
+                                    JdbcTemplate jdbcTemplate) {
+        this.unreadCounterRepository = unreadCounterRepository;
+        this.jobLockRepository = jobLockRepository;
+        this.notificationCache = notificationCache;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<ApplicationNotificationDTO> listUnread(String username, NotificationType kind) {
+        return unreadCounterRepository.findUnread(username, kind).stream()
+                .map(r -> new ApplicationNotificationDTO(
+                        ((Number) r[0]).longValue(),
+                        (String) r[1],
+                        ((Number) r[2]).longValue()))
+                .toList();
+    }
+
+    // A hívó (író) tranzakciójában fut: a számláló és a forrásadat együtt commitolódik
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment(String username, Long taskId, NotificationType kind, long delta) {
+        if (delta != 0) {
+            unreadCounterRepository.increment(username, taskId, kind.name(), delta);
+        }
+    }
+
+    /**
+     * Több user számlálója egy taskon belül, egyetlen JDBC kötegben (pl. kötegelt értékelés).
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void incrementAll(Long taskId, NotificationType kind, Map<String, Long> deltas) {
+        List<Object[]> rows = deltas.entrySet().stream()
+                .filter(e -> e.getKey() != null && e.getValue() != 0)
+                .map(e -> new Object[]{e.getKey(), taskId, kind.name(), e.getValue(), e.getValue()})
+                .toList();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, rows);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void reset(String username, Long taskId, NotificationType kind) {
+        unreadCounterRepository.reset(username, taskId, kind);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eliminationChanged(Long taskId, Collection<String> eliminated, Collection<String> restored) {
+        // Friss kizárás mindig a vízjel után van: taskonként egy olvasatlan kizárás
+        for (String username : eliminated) {
+            unreadCounterRepository.set(username, taskId, NotificationType.ELIMINATION.name(), 1);
+        }
+        for (String username : restored) {
+            unreadCounterRepository.reset(username, taskId, NotificationType.ELIMINATION);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskDeleted(Long taskId) {
+        unreadCounterRepository.deleteByTaskId(taskId);
+    }
+
+    /**
+     * Az összes számláló újraszámolása a nyers adatokból (beküldések, értékelések,
+     * kizárások és az olvasási vízjelek alapján), helyben: a hiányzó sorok beszúrása, a meglévők frissítése,
+     * majd a már nulla sorok törlése. Egyszerre csak egy példány futtatja (job_lock sor);
+     * ha a zár foglalt, nem csinál semmit. A commit után az értesítés-cache teljesen ürül.
+     */
+    @Override
+    @Transactional
+    public boolean rebuild() {
+        JobLock lock = jobLockRepository.tryLock(REBUILD_LOCK).orElse(null);
+        if (lock == null) {
+            return false;
+        }
+        unreadCounterRepository.insertNewApplicationCounts();
+        unreadCounterRepository.insertNewReviewCounts();
+        unreadCounterRepository.insertEliminationCounts();
+        unreadCounterRepository.refreshNewApplicationCounts();
+        unreadCounterRepository.refreshNewReviewCounts();
+        unreadCounterRepository.refreshEliminationCounts();
+        unreadCounterRepository.deleteZeroCounts();
+        lock.setLastRunAt(LocalDateTime.now());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notificationCache.invalidateAll();
+                }
+            });
+        }
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package backend.competition_hub.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * A lejárt (upload.session-ttl) darabolt feltöltések törlése kötegenként: a munkamenet sora és a darabok könyvtára.
+ */
+@Component
+public class UploadSessionCleanupJob {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadSessionCleanupJob.class);
+
+    private final ChunkedUploadService chunkedUploadService;
+    private final int batchSize;
+
+    public UploadSessionCleanupJob(ChunkedUploadService chunkedUploadService,
+                                   @Value("${upload.cleanup-batch-size:100}") int batchSize) {
+        this.chunkedUploadService = chunkedUploadService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${upload.cleanup-cron:0 15 * * * *}")
+    public void deleteExpiredSessions() {
+        long start = System.currentTimeMillis();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = chunkedUploadService.deleteExpiredSessions(batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) {
+            log.info("Deleted {} expired upload sessions in {} ms", total, System.currentTimeMillis() - start);
+        }
+    }
+}
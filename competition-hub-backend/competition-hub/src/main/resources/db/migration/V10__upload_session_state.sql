@@ -0,0 +1,9 @@
+-- Darabolt feltöltés: a commit állapota (a COMMITTED munkamenet ismételt commitja nem hoz létre új beküldést)
+-- és a lejárat (a lejárt munkamenet nem commitolható, az UploadSessionCleanupJob törli a darabjaival együtt).
+-- A meglévő munkamenetek a migrációtól számítva egy napig érvényesek
+alter table upload_session add column status varchar(16) not null default 'OPEN';
+alter table upload_session add column expires_at datetime(6);
+update upload_session set expires_at = current_timestamp(6) + interval '1' day;
+alter table upload_session modify expires_at datetime(6) not null;
+
+create index idx_upload_session_expires on upload_session (expires_at);
@@ -0,0 +1,9 @@
+-- Egypéldányos ütemezett feladatok zárja: a futó példány a saját sorát FOR UPDATE SKIP LOCKED zárolja
+-- a tranzakciója végéig, a többi példány ilyenkor kihagyja a futást.
+create table job_lock (
+    name varchar(64) not null,
+    last_run_at datetime(6),
+    primary key (name)
+);
+
+insert into job_lock (name) values ('unread-counter-rebuild');
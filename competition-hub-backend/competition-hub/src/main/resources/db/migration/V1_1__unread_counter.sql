@@ -0,0 +1,11 @@
+-- Materializált olvasatlan-számlálók (UnreadCounter). A V1 a korábbi ddl-auto=create séma változatlanul;
+-- ami azóta került be, külön migráció, hogy a V1-re baseline-olt meglévő adatbázison is létrejöjjön.
+create table unread_counter (
+    id bigint not null auto_increment,
+    username varchar(255) not null,
+    task_id bigint not null,
+    kind enum ('ELIMINATION','NEW_APPLICATION','NEW_REVIEW','ROUND_ACTIVATED') not null,
+    unread_count bigint not null,
+    primary key (id),
+    constraint uk_unread_counter_user_kind_task unique (username, kind, task_id)
+);
@@ -0,0 +1,13 @@
+-- Darabolt feltöltés munkamenetei (UploadSession), a V1_1-hez hasonlóan külön migrációban.
+create table upload_session (
+    id varchar(255) not null,
+    task_id bigint not null,
+    round_id bigint,
+    keycloak_user_id varchar(255),
+    keycloak_user_name varchar(255) not null,
+    file_name varchar(255) not null,
+    total_size bigint not null,
+    chunk_size integer not null,
+    created_at datetime(6) not null,
+    primary key (id)
+);
@@ -0,0 +1,19 @@
+-- A repository lekérdezések szűrőfeltételeihez tartozó indexek (QueryPlanTest ellenőrzi, hogy ne legyen full scan).
+
+-- Jelentkező saját beküldései: findByKeycloakUserName, round-activation értesítés
+create index idx_application_user_name on application (keycloak_user_name);
+
+-- findByKeycloakUserId (/api/applications/by-user)
+create index idx_application_user_id on application (keycloak_user_id);
+
+-- findByTaskIdAndKeycloakUserName (touch-view végpontok), markEliminationSeen, countUnseenElimination
+create index idx_application_task_user on application (task_id, keycloak_user_name);
+
+-- Kiíró saját taskjai
+create index idx_task_creator on task (creator);
+
+-- "member of eliminatedApplicants" ellenőrzések és a kizárt userek keresése
+create index idx_eliminated_user_task on task_eliminated_applicants (keycloak_username, task_id);
+
+-- Task törlésekor a számlálók takarítása (deleteByTaskId); az egyedi kulcs username-mel kezdődik
+create index idx_unread_counter_task on unread_counter (task_id);
@@ -0,0 +1,21 @@
+-- A kizárások saját táblába kerülnek (task, user) egyedi kulccsal, forduló- és időbélyeggel.
+-- A régi task_eliminated_applicants gyűjtemény minden mentéskor törölte és újraírta a task összes sorát.
+
+create table elimination (
+    id bigint not null auto_increment,
+    task_id bigint not null,
+    keycloak_username varchar(255) not null,
+    round_id bigint,
+    eliminated_at datetime(6) not null,
+    primary key (id),
+    constraint uk_elimination_task_user unique (task_id, keycloak_username),
+    constraint fk_elimination_task foreign key (task_id) references task (id),
+    constraint fk_elimination_round foreign key (round_id) references round (id)
+);
+
+insert into elimination (task_id, keycloak_username, eliminated_at)
+select distinct task_id, keycloak_username, current_timestamp(6)
+from task_eliminated_applicants
+where keycloak_username is not null;
+
+drop table task_eliminated_applicants;
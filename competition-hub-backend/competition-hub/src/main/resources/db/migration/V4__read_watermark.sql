@@ -0,0 +1,44 @@
+-- Egységes olvasási vízjelek (felhasználó, task, értesítés-típus) szerint.
+-- A korábbi, beküldésenként / taskonként tárolt megtekintési mezők ide költöznek, majd törlődnek.
+
+create table read_watermark (
+    id bigint not null auto_increment,
+    username varchar(255) not null,
+    task_id bigint not null,
+    kind enum ('ELIMINATION','NEW_APPLICATION','NEW_REVIEW','ROUND_ACTIVATED') not null,
+    seen_at datetime(6) not null,
+    primary key (id),
+    constraint uk_read_watermark_user_task_kind unique (username, task_id, kind)
+);
+
+-- Task törlésekor a vízjelek takarítása
+create index idx_read_watermark_task on read_watermark (task_id);
+
+insert into read_watermark (username, task_id, kind, seen_at)
+select creator, id, 'NEW_APPLICATION', creator_last_viewed_at
+from task
+where creator_last_viewed_at is not null;
+
+-- A touch-review-view egy task összes beküldését egyszerre jelölte, a legkésőbbi időpont a vízjel
+insert into read_watermark (username, task_id, kind, seen_at)
+select keycloak_user_name, task_id, 'NEW_REVIEW', max(applicant_last_viewed_review_at)
+from application
+where keycloak_user_name is not null and applicant_last_viewed_review_at is not null
+group by keycloak_user_name, task_id;
+
+insert into read_watermark (username, task_id, kind, seen_at)
+select keycloak_user_name, task_id, 'ROUND_ACTIVATED', max(last_round_activation_view_at)
+from application
+where keycloak_user_name is not null and last_round_activation_view_at is not null
+group by keycloak_user_name, task_id;
+
+-- A látott kizárásoknak nincs időpontja: a migráció pillanata már minden meglévő kizárás után van
+insert into read_watermark (username, task_id, kind, seen_at)
+select distinct keycloak_user_name, task_id, 'ELIMINATION', current_timestamp(6)
+from application
+where keycloak_user_name is not null and eliminated_seen = true;
+
+alter table task drop column creator_last_viewed_at;
+alter table application drop column applicant_last_viewed_review_at;
+alter table application drop column eliminated_seen;
+alter table application drop column last_round_activation_view_at;
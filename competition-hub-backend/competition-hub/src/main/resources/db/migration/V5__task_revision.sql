@@ -0,0 +1,13 @@
+-- Feltételes GET (ETag / If-None-Match, Last-Modified) validátora: taskonként monoton revízió.
+-- A 0 azonosítójú sor a teljes Task-listáé, minden változás azt is lépteti. Nincs FK, a törölt task sora is törlődik.
+create table task_revision (
+    task_id bigint not null,
+    revision bigint not null,
+    modified_at datetime(6) not null,
+    primary key (task_id)
+);
+
+insert into task_revision (task_id, revision, modified_at)
+select id, 1, current_timestamp(0) from task;
+
+insert into task_revision (task_id, revision, modified_at) values (0, 1, current_timestamp(0));
@@ -0,0 +1,4 @@
+-- Automatikus fordulóváltás (RoundAdvancementJob): a lejárt határidejű aktív fordulókat
+-- határidő szerint rendezett indextartományból olvassuk, nem a teljes round táblából.
+
+create index idx_round_active_deadline on round (is_active, deadline);
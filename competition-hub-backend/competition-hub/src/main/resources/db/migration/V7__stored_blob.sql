@@ -0,0 +1,18 @@
+-- Tartalom szerint címzett beküldés-tárolás: a fájl SHA-256 hash-e a kulcs, minden tartalom egyszer van
+-- lemezen (uploads/blobs/ab/cd/<hash>). A ref_count a blobra hivatkozó beküldések száma; a 0-ra csökkent
+-- blobokat a BlobGarbageCollectionJob törli (fájl és sor).
+create table stored_blob (
+    hash varchar(64) not null,
+    size bigint not null,
+    ref_count bigint not null,
+    created_at datetime(6) not null,
+    primary key (hash)
+);
+
+-- A szemétgyűjtő a hivatkozás nélküli blobokat keresi
+create index idx_stored_blob_ref_count on stored_blob (ref_count);
+
+-- A régi beküldések file_path-ja marad (blob_hash = null), az újaké a blobra mutat, az eredeti név a file_name-ben
+alter table application add column blob_hash varchar(64);
+alter table application add column file_name varchar(255);
+alter table application add constraint fk_application_blob foreign key (blob_hash) references stored_blob (hash);
@@ -0,0 +1,6 @@
+-- Tömörített tárolás: a size az eredeti (kibontott) méret, a stored_size a lemezen foglalt, az encoding a tárolt forma.
+-- A meglévő blobok tömörítetlenek
+alter table stored_blob add column stored_size bigint;
+alter table stored_blob add column encoding varchar(16) not null default 'IDENTITY';
+update stored_blob set stored_size = size;
+alter table stored_blob modify stored_size bigint not null;
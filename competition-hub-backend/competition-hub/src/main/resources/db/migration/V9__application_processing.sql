@@ -0,0 +1,11 @@
+-- Feltöltés utáni feldolgozás (ellenőrzőösszeg, tartalomtípus, archívum / oldalszám, vizsgálat) eredménye a beküldésen.
+-- A korábbi beküldéseknél a processing_status null: ezek nem mennek át a feldolgozáson
+alter table application add column processing_status varchar(16);
+alter table application add column processing_error varchar(255);
+alter table application add column processing_updated_at datetime(6);
+alter table application add column content_type varchar(100);
+alter table application add column page_count int;
+alter table application add column archive_entries int;
+
+-- Az elakadt (sorba nem került vagy félbemaradt) feldolgozásokat a SubmissionProcessingJob állapot és idő szerint keresi
+create index idx_application_processing on application (processing_status, processing_updated_at);
@@ -2,8 +2,10 @@ package backend.competition_hub;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("h2") // MySQL szerver nélkül is betölthető a teljes kontextus
 class CompetitionHubApplicationTests {
 
 	@Test
@@ -0,0 +1,81 @@
+package backend.competition_hub;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Meglévő, a sorozat előtt ddl-auto=create-tel létrehozott adatbázis frissítése: a Flyway V1-re baseline-olja
+ * (a V1 nem fut le rajta), a többi migráció rátelepül, és a Hibernate validate elfogadja a kapott sémát.
+ * A kontextus indulása maga a validálás.
+ */
+@JpaSliceTest
+class FlywayBaselineTest {
+
+    private static final String URL = "jdbc:h2:mem:competition-hub-baseline;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static boolean created;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // A régi séma az adatforrás megnyitása előtt jön létre, a Flyway már ezt találja
+    @DynamicPropertySource
+    static void baselineDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> {
+            createBaselineSchema();
+            return URL;
+        });
+    }
+
+    @Test
+    void migrate_ShouldUpgradeSchemaCreatedBeforeMigrations() {
+        // --- THEN ---
+        List<MigrationInfo> applied = Arrays.asList(flyway.info().applied());
+        assertEquals(MigrationState.BASELINE, applied.get(0).getState());
+        assertEquals("1", applied.get(0).getVersion().getVersion());
+        assertEquals("1.1", applied.get(1).getVersion().getVersion());
+        assertEquals("1.2", applied.get(2).getVersion().getVersion());
+        assertTrue(applied.stream().skip(1).allMatch(m -> m.getState() == MigrationState.SUCCESS));
+
+        // A később hozzáadott táblák létrejöttek, a régi sorok megmaradtak (a task revíziós sort a V5 tölti fel)
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from unread_counter", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from upload_session", Integer.class));
+        assertEquals("student1", jdbcTemplate.queryForObject("select keycloak_user_name from application where id = 1", String.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from task_revision where task_id = 1", Integer.class));
+    }
+
+    private static synchronized void createBaselineSchema() {
+        if (created) {
+            return;
+        }
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(URL, "sa", "", true);
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/baseline-schema.sql"));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            dataSource.destroy();
+        }
+        created = true;
+    }
+}
@@ -0,0 +1,31 @@
+package backend.competition_hub;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * JPA szelet a MySQL módú H2-n (h2 profil, Flyway-jel migrált séma): a beágyazott adatbázist nem cseréli le,
+ * mert a natív UPSERT-ek és a zárolós lekérdezések csak ezen futnak. Az adatbázis a tesztosztályok között közös,
+ * ezért a tranzakció nélkül (NOT_SUPPORTED) futó tesztek maguk után takarítanak.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+public @interface JpaSliceTest {
+
+    @AliasFor(annotation = DataJpaTest.class)
+    String[] properties() default {};
+}
@@ -0,0 +1,33 @@
+package backend.competition_hub;
+
+import backend.competition_hub.metrics.StorageMetrics;
+import backend.competition_hub.services.ApplicationServiceImpl;
+import backend.competition_hub.services.BlobStorageServiceImpl;
+import backend.competition_hub.services.ChunkedUploadServiceImpl;
+import backend.competition_hub.services.EntityCacheService;
+import backend.competition_hub.services.FileStreamer;
+import backend.competition_hub.services.LeaderboardServiceImpl;
+import backend.competition_hub.services.NotificationCache;
+import backend.competition_hub.services.ReadWatermarkServiceImpl;
+import backend.competition_hub.services.SubmissionExportServiceImpl;
+import backend.competition_hub.services.SubmissionProcessingServiceImpl;
+import backend.competition_hub.services.TaskRevisionServiceImpl;
+import backend.competition_hub.services.TaskServiceImpl;
+import backend.competition_hub.services.TaskStatisticsServiceImpl;
+import backend.competition_hub.services.UnreadCounterServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * A {@link ServiceSliceTest} szolgáltatásai: új szolgáltatás vagy új függőség esetén csak ezt a listát kell bővíteni.
+ * Az ütemezett jobok és az SSE (NotificationService) kimaradnak, a szeletben nincs ütemező és nincs web réteg.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+@Import({TaskServiceImpl.class, ApplicationServiceImpl.class, FileStreamer.class, TaskRevisionServiceImpl.class,
+        UnreadCounterServiceImpl.class, NotificationCache.class, ReadWatermarkServiceImpl.class,
+        BlobStorageServiceImpl.class, ChunkedUploadServiceImpl.class, SubmissionProcessingServiceImpl.class,
+        SubmissionExportServiceImpl.class, TaskStatisticsServiceImpl.class, LeaderboardServiceImpl.class,
+        EntityCacheService.class, StorageMetrics.class, SimpleMeterRegistry.class})
+public class ServiceSliceConfiguration {
+}
@@ -0,0 +1,28 @@
+package backend.competition_hub;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AliasFor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Szolgáltatás-szelet: a {@link JpaSliceTest} és a szolgáltatások közös készlete ({@link ServiceSliceConfiguration}),
+ * így a tesztek nem sorolják fel egyenként a tesztelt szolgáltatás függőségeit.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@JpaSliceTest
+@Import(ServiceSliceConfiguration.class)
+public @interface ServiceSliceTest {
+
+    @AliasFor(annotation = DataJpaTest.class)
+    String[] properties() default {};
+}
@@ -0,0 +1,50 @@
+package backend.competition_hub;
+
+import backend.competition_hub.entities.Application;
+import backend.competition_hub.entities.Round;
+import backend.competition_hub.entities.Task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * A tesztek közös entitásgyára: mentetlen, érvényes entitások az alapértékekkel (a feladat kiírója "creator",
+ * a jelentkezési határidő egy hét múlva). A mentés (TestEntityManager vagy repository) a tesztre marad.
+ */
+public final class TestEntities {
+
+    public static final String CREATOR = "creator";
+
+    private TestEntities() {
+    }
+
+    public static Task task(String title, EvaluationType evaluationType) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setCreator(CREATOR);
+        task.setApplicationDeadline(LocalDate.now().plusDays(7));
+        task.setEvaluationType(evaluationType);
+        return task;
+    }
+
+    // A fordulót a task rounds listájába is felveszi, így a task mentése (cascade) a fordulót is menti
+    public static Round round(Task task, String description, LocalDate deadline, boolean active) {
+        Round round = new Round();
+        round.setTask(task);
+        round.setDescription(description);
+        round.setDeadline(deadline);
+        round.setIsActive(active);
+        if (task.getRounds() == null) {
+            task.setRounds(new ArrayList<>());
+        }
+        task.getRounds().add(round);
+        return round;
+    }
+
+    public static Application application(Task task, Round round, String username) {
+        Application application = new Application(task, "uid-" + username, username, "uploads/x.zip", LocalDateTime.now());
+        application.setRound(round);
+        return application;
+    }
+}
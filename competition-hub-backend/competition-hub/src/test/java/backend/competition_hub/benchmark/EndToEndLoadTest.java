@@ -0,0 +1,313 @@
+package backend.competition_hub.benchmark;
+
+import backend.competition_hub.services.UnreadCounterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Offline terheléses mérés a legforgalmasabb végpontokra, valódi MySQL nélkül: az alkalmazás H2-n
+ * (MySQL mód) indul, több ezer taskkal és több tízezer beküldéssel, a terhelést JVM-en belüli
+ * HTTP kliensek adják. Végpontonként p50 / p99 késleltetést és kérés/másodpercet jelent.
+ * Csak kérésre fut: mvn test -Ploadtest (méretek: -Dloadtest.tasks, -Dloadtest.applications,
+ * -Dloadtest.concurrency, -Dloadtest.duration; eredmények: README).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"h2", "loadtest"})
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class EndToEndLoadTest {
+
+    private static final int TASKS = Integer.getInteger("loadtest.tasks", 2_000);
+    private static final int APPLICATIONS = Integer.getInteger("loadtest.applications", 20_000);
+    private static final int STUDENTS = Integer.getInteger("loadtest.students", 1_000);
+    private static final int CREATORS = 100;
+    private static final int ROUNDS_PER_TASK = 3;
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 16);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 3));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 10));
+
+    private static final int UPLOAD_SIZE = 16 * 1024;
+    private static final int DOWNLOAD_SIZE = 64 * 1024;
+    private static final String BOUNDARY = "loadtestBoundary";
+    private static final String UPLOAD_USER_PREFIX = "loadtest-";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UnreadCounterService unreadCounterService;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final AtomicLong uploadSequence = new AtomicLong();
+
+    private List<Long> taskIds;
+    private List<Long> applicationIds;
+    private Path downloadFile;
+
+    @Value("${storage.blob-dir}")
+    private Path blobDir;
+
+    @Test
+    void hotEndpoints_ShouldReportLatencyAndThroughput() throws Exception {
+        // --- GIVEN ---
+        seed();
+
+        Map<String, Function<ThreadLocalRandom, HttpRequest>> scenarios = new LinkedHashMap<>();
+        scenarios.put("GET /api/notifications/{username}", random -> get(
+                "/api/notifications/student" + random.nextInt(STUDENTS)));
+        scenarios.put("GET /api/tasks/{id}", random -> get(
+                "/api/tasks/" + pick(taskIds, random)));
+        scenarios.put("POST /api/applications/{taskId}", random -> {
+            long sequence = uploadSequence.incrementAndGet();
+            String user = UPLOAD_USER_PREFIX + sequence;
+            // Minden beküldés tartalma más (mint a valóságban), különben mind ugyanazt a blob sort zárolná
+            byte[] content = new byte[UPLOAD_SIZE];
+            ByteBuffer.wrap(content).putLong(sequence);
+            return request("/api/applications/" + pick(taskIds, random) + "?keycloakUserId=" + user + "&keycloakUserName=" + user)
+                    .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(multipartBody(content)))
+                    .build();
+        });
+        scenarios.put("GET /api/applications/download/{id}", random -> get(
+                "/api/applications/download/" + pick(applicationIds, random)));
+        scenarios.put("PUT /api/applications/{id}/review", random -> request(
+                "/api/applications/" + pick(applicationIds, random) + "/review")
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"text\":\"Terheléses értékelés\",\"points\":\""
+                        + random.nextInt(11) + "\"}"))
+                .build());
+
+        // --- WHEN ---
+        List<String> report = new ArrayList<>();
+        long errors = 0;
+        for (Map.Entry<String, Function<ThreadLocalRandom, HttpRequest>> scenario : scenarios.entrySet()) {
+            run(scenario.getValue(), WARMUP);
+            Result result = run(scenario.getValue(), DURATION);
+            errors += result.errors;
+            report.add(result.format(scenario.getKey()));
+        }
+
+        // --- THEN ---
+        System.out.printf("[loadtest] java=%s tasks=%d applications=%d concurrency=%d duration=%ds%n",
+                System.getProperty("java.version"), TASKS, APPLICATIONS, CONCURRENCY, DURATION.toSeconds());
+        System.out.printf("[loadtest] %-40s %10s %10s %10s %10s %8s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+        report.forEach(line -> System.out.println("[loadtest] " + line));
+        assertEquals(0, errors, "Minden kérésnek 2xx választ kell kapnia");
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        if (downloadFile != null) {
+            Files.deleteIfExists(downloadFile);
+        }
+        // A feltöltések blobjai a mérés saját könyvtárában vannak (application-loadtest.properties)
+        FileSystemUtils.deleteRecursively(blobDir);
+    }
+
+    // Fix számú kliens szál ismételten küldi a kéréseket a megadott ideig; a késleltetések szálanként gyűlnek
+    private Result run(Function<ThreadLocalRandom, HttpRequest> scenario, Duration duration) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            futures.add(workers.submit(() -> {
+                Result result = new Result();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = scenario.apply(random);
+                    long start = System.nanoTime();
+                    HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                    try (InputStream body = response.body()) {
+                        body.transferTo(OutputStream.nullOutputStream());
+                    }
+                    result.add(System.nanoTime() - start, response.statusCode() / 100 == 2);
+                }
+                return result;
+            }));
+        }
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get(duration.toSeconds() + 60, TimeUnit.SECONDS));
+        }
+        workers.shutdown();
+        total.seconds = duration.toNanos() / 1e9;
+        return total;
+    }
+
+    /**
+     * Tömeges tesztadat JDBC kötegekben: taskok fordulókkal, beküldések (fele értékelve),
+     * kizárások és vízjelek, végül az olvasatlan-számlálók újraépítése.
+     */
+    private void seed() throws IOException {
+        downloadFile = Files.createTempFile("loadtest-download", ".bin");
+        Files.write(downloadFile, new byte[DOWNLOAD_SIZE]);
+        LocalDateTime now = LocalDateTime.now();
+        EvaluationTypes evaluationTypes = new EvaluationTypes();
+
+        List<Object[]> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new Object[]{"Terheléses feladat " + i, "Leírás ".repeat(20), Date.valueOf(LocalDate.now().plusDays(30)),
+                    "creator" + (i % CREATORS), evaluationTypes.next()});
+        }
+        jdbcTemplate.batchUpdate("insert into task (title, description, application_deadline, creator, evaluation_type) values (?, ?, ?, ?, ?)", tasks);
+        taskIds = jdbcTemplate.queryForList("select id from task order by id", Long.class);
+
+        jdbcTemplate.batchUpdate("insert into task_revision (task_id, revision, modified_at) values (?, 1, ?)",
+                taskIds.stream().map(id -> new Object[]{id, Timestamp.valueOf(now)}).toList());
+
+        List<Object[]> rounds = new ArrayList<>(TASKS * ROUNDS_PER_TASK);
+        for (Long taskId : taskIds) {
+            for (int r = 0; r < ROUNDS_PER_TASK; r++) {
+                rounds.add(new Object[]{taskId, (r + 1) + ". forduló", Date.valueOf(LocalDate.now().plusDays(10L * (r + 1))),
+                        r == 0, r == 0 ? Timestamp.valueOf(now.minusDays(1)) : null});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into round (task_id, description, deadline, is_active, activated_at) values (?, ?, ?, ?, ?)", rounds);
+        Map<Long, Long> activeRoundByTask = new LinkedHashMap<>();
+        jdbcTemplate.query("select task_id, id from round where is_active = true",
+                (RowCallbackHandler) rs -> activeRoundByTask.put(rs.getLong(1), rs.getLong(2)));
+
+        List<Object[]> applications = new ArrayList<>(APPLICATIONS);
+        for (int i = 0; i < APPLICATIONS; i++) {
+            Long taskId = taskIds.get(i % TASKS);
+            String student = "student" + (i % STUDENTS);
+            boolean reviewed = i % 2 == 0;
+            applications.add(new Object[]{"uid-" + student, student, taskId, activeRoundByTask.get(taskId),
+                    downloadFile.toString(), Timestamp.valueOf(now.minusHours(2)),
+                    reviewed ? "Értékelés " + i : null, reviewed ? i % 11 : null, reviewed ? Timestamp.valueOf(now.minusHours(1)) : null});
+        }
+        jdbcTemplate.batchUpdate("insert into application (keycloak_user_id, keycloak_user_name, task_id, round_id, file_path, "
+                + "application_date, review_text, review_points, review_created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", applications);
+        applicationIds = jdbcTemplate.queryForList("select id from application order by id", Long.class);
+
+        // Minden 20. task első beküldőjét kizárjuk, minden 3. student látta az értékeléseit
+        List<Object[]> eliminations = new ArrayList<>();
+        for (int i = 0; i < TASKS; i += 20) {
+            eliminations.add(new Object[]{taskIds.get(i), "student" + (i % STUDENTS), Timestamp.valueOf(now.minusMinutes(30))});
+        }
+        jdbcTemplate.batchUpdate("insert into elimination (task_id, keycloak_username, eliminated_at) values (?, ?, ?)", eliminations);
+        jdbcTemplate.update("""
+                insert into read_watermark (username, task_id, kind, seen_at)
+                select distinct keycloak_user_name, task_id, 'NEW_REVIEW', ?
+                from application
+                where mod(cast(substring(keycloak_user_name, 8) as int), 3) = 0
+                """, Timestamp.valueOf(now));
+
+        unreadCounterService.rebuild();
+    }
+
+    private static Long pick(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private static byte[] multipartBody(byte[] content) {
+        byte[] head = ("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"file.bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] body = Arrays.copyOf(head, head.length + content.length + tail.length);
+        System.arraycopy(content, 0, body, head.length, content.length);
+        System.arraycopy(tail, 0, body, head.length + content.length, tail.length);
+        return body;
+    }
+
+    // Az értékelési típusok egyenletesen elosztva a taskok között
+    private static final class EvaluationTypes {
+        private static final String[] VALUES = {"TEXT", "POINTS", "BOTH"};
+        private int next;
+
+        String next() {
+            return VALUES[next++ % VALUES.length];
+        }
+    }
+
+    // Egy forgatókönyv késleltetései (ns) és hibái; a szálak eredményei a végén összefésülődnek
+    private static final class Result {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private double seconds;
+
+        void add(long latencyNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        String format(String endpoint) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return String.format("%-40s %10d %10.0f %10.2f %10.2f %8d", endpoint, count, count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), errors);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
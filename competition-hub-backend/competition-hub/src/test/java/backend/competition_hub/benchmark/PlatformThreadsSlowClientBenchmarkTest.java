@@ -0,0 +1,16 @@
+package backend.competition_hub.benchmark;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Alapértelmezett mód: platform szálak, korlátos Tomcat pool és applicationTaskExecutor
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsSlowClientBenchmarkTest extends SlowClientBenchmark {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
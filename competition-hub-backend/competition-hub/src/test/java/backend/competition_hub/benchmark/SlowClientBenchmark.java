@@ -0,0 +1,242 @@
+package backend.competition_hub.benchmark;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.entities.Application;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.repositories.ApplicationRepository;
+import backend.competition_hub.repositories.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Lassú kliensek (feltöltés / letöltés) párhuzamosan, közben gyors "szonda" kérések a Task-listára.
+ * Platform módban a kérésszálak (server.tomcat.threads.max) és az applicationTaskExecutor
+ * (StreamingResponseBody) szálai elfogynak, a szondák sorban állnak; virtuális módban nem.
+ * Csak kérésre fut: mvn test -Dbenchmark=true -Dtest='*SlowClientBenchmarkTest'; a feltétel a konkrét
+ * osztályokon van, mert a JUnit nem örökli (a virtuális változathoz Java 21 kell, eredmények: README).
+ */
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {
+        "server.tomcat.threads.max=20",
+        "spring.jpa.show-sql=false",
+        "storage.blob-dir=${java.io.tmpdir}/competition-hub-benchmark-blobs",
+        // A szálak kiéheztetését méri: a feltöltések beengedése (429) itt nem korlátozhat
+        "uploads.admission.max-concurrent=1000"
+})
+abstract class SlowClientBenchmark {
+
+    private static final int SLOW_UPLOADS = 40;
+    private static final int SLOW_DOWNLOADS = 40;
+    private static final int PROBES = 20;
+
+    private static final int UPLOAD_SIZE = 256 * 1024;
+    private static final int DOWNLOAD_SIZE = 8 * 1024 * 1024;
+    private static final int CHUNK = 8 * 1024;
+    private static final long UPLOAD_CHUNK_DELAY_MS = 60;  // ~2 s feltöltésenként
+    private static final long DOWNLOAD_CHUNK_DELAY_MS = 2;  // ~2 s letöltésenként
+    private static final String BOUNDARY = "benchmarkBoundary";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Value("${storage.blob-dir}")
+    private Path blobDir;
+
+    private Path uploadDir;
+
+    abstract String mode();
+
+    @Test
+    void slowUploadsAndDownloads_ShouldNotStarveFastRequests() throws Exception {
+        // --- GIVEN ---
+        Task task = new Task();
+        task.setTitle("Benchmark");
+        task.setCreator("creator");
+        task.setApplicationDeadline(LocalDate.now().plusDays(7));
+        task.setEvaluationType(EvaluationType.TEXT);
+        task = taskRepository.save(task);
+        uploadDir = Paths.get(System.getProperty("user.dir"), "uploads", String.valueOf(task.getId()));
+        Files.createDirectories(uploadDir);
+
+        Path downloadFile = uploadDir.resolve("bench-download.bin");
+        Files.write(downloadFile, new byte[DOWNLOAD_SIZE]);
+        Long applicationId = applicationRepository.save(new Application(task, "bench-uid", "bench-owner",
+                downloadFile.toString(), LocalDateTime.now())).getId();
+
+        // A kliensoldal platform szálakon fut, hogy Java 17-en is ugyanaz legyen a mérés
+        ExecutorService clients = Executors.newCachedThreadPool();
+        List<Future<Long>> uploads = new ArrayList<>();
+        List<Future<Long>> downloads = new ArrayList<>();
+
+        // --- WHEN ---
+        long start = System.nanoTime();
+        for (int i = 0; i < SLOW_UPLOADS; i++) {
+            String user = "bench-" + i;
+            Long taskId = task.getId();
+            uploads.add(clients.submit(() -> slowUpload(taskId, user)));
+        }
+        for (int i = 0; i < SLOW_DOWNLOADS; i++) {
+            downloads.add(clients.submit(() -> slowDownload(applicationId)));
+        }
+        Thread.sleep(300); // a lassú kliensek elfoglalják a szálakat
+
+        long[] probeMillis = new long[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            long probeStart = System.nanoTime();
+            assertEquals(200, fastGet("/api/tasks/summaries"));
+            probeMillis[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - probeStart);
+        }
+
+        long uploadMax = 0;
+        for (Future<Long> upload : uploads) {
+            uploadMax = Math.max(uploadMax, upload.get(5, TimeUnit.MINUTES));
+        }
+        long downloadMax = 0;
+        for (Future<Long> download : downloads) {
+            downloadMax = Math.max(downloadMax, download.get(5, TimeUnit.MINUTES));
+        }
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        clients.shutdown();
+
+        // --- THEN ---
+        Arrays.sort(probeMillis);
+        System.out.printf("[benchmark] mode=%s java=%s uploads=%d downloads=%d total=%dms slowest-upload=%dms "
+                        + "slowest-download=%dms probe-p50=%dms probe-max=%dms%n",
+                mode(), System.getProperty("java.version"), SLOW_UPLOADS, SLOW_DOWNLOADS, totalMillis,
+                uploadMax, downloadMax, probeMillis[PROBES / 2], probeMillis[PROBES - 1]);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileSystemUtils.deleteRecursively(blobDir);
+        if (uploadDir == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().startsWith("bench-")).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        try (Stream<Path> rest = Files.list(uploadDir)) {
+            if (rest.findAny().isEmpty()) {
+                Files.delete(uploadDir);
+            }
+        }
+    }
+
+    // Multipart feltöltés 8 KB-os darabokban, darabonként késleltetve; a válasz megérkezéséig eltelt idő
+    private long slowUpload(Long taskId, String user) throws Exception {
+        long start = System.nanoTime();
+        byte[] head = ("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"file.bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        long contentLength = head.length + UPLOAD_SIZE + tail.length;
+
+        try (Socket socket = connect(0)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("POST /api/applications/" + taskId + "?keycloakUserId=" + user + "&keycloakUserName=" + user + " HTTP/1.1\r\n"
+                    + "Host: localhost\r\n"
+                    + "Content-Type: multipart/form-data; boundary=" + BOUNDARY + "\r\n"
+                    + "Content-Length: " + contentLength + "\r\n"
+                    + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(head);
+            byte[] chunk = new byte[CHUNK];
+            for (int sent = 0; sent < UPLOAD_SIZE; sent += CHUNK) {
+                out.write(chunk);
+                out.flush();
+                Thread.sleep(UPLOAD_CHUNK_DELAY_MS);
+            }
+            out.write(tail);
+            out.flush();
+
+            assertEquals(200, readStatus(socket.getInputStream()));
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    // Kis fogadópufferrel, lassan olvasó letöltés: a szerver írása blokkol, amíg a kliens nem olvas
+    private long slowDownload(Long applicationId) throws Exception {
+        long start = System.nanoTime();
+        try (Socket socket = connect(16 * 1024)) {
+            socket.getOutputStream().write(("GET /api/applications/download/" + applicationId + " HTTP/1.1\r\n"
+                    + "Host: localhost\r\n"
+                    + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            InputStream in = socket.getInputStream();
+            assertEquals(200, readStatus(in));
+            byte[] buffer = new byte[CHUNK];
+            while (in.read(buffer) != -1) {
+                Thread.sleep(DOWNLOAD_CHUNK_DELAY_MS);
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private int fastGet(String path) throws IOException {
+        try (Socket socket = connect(0)) {
+            socket.getOutputStream().write(("GET " + path + " HTTP/1.1\r\n"
+                    + "Host: localhost\r\n"
+                    + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            InputStream in = socket.getInputStream();
+            int status = readStatus(in);
+            in.transferTo(OutputStream.nullOutputStream());
+            return status;
+        }
+    }
+
+    private Socket connect(int receiveBuffer) throws IOException {
+        Socket socket = new Socket();
+        if (receiveBuffer > 0) {
+            socket.setReceiveBufferSize(receiveBuffer);
+        }
+        socket.connect(new InetSocketAddress("localhost", port));
+        return socket;
+    }
+
+    // "HTTP/1.1 200 ..." -> 200; a fejléceket is elfogyasztja
+    private int readStatus(InputStream in) throws IOException {
+        StringBuilder headers = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            headers.append((char) b);
+            if (headers.length() >= 4 && headers.lastIndexOf("\r\n\r\n") == headers.length() - 4) {
+                break;
+            }
+        }
+        return Integer.parseInt(headers.substring(9, 12));
+    }
+}
@@ -0,0 +1,19 @@
+package backend.competition_hub.benchmark;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Java 17-en a kapcsoló hatástalan, ezért ez a változat csak Java 21+ alatt fut
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsSlowClientBenchmarkTest extends SlowClientBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
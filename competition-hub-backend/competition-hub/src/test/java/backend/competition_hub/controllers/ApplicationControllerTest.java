@@ -1,6 +1,8 @@
 package backend.competition_hub.controllers;
 
 import backend.competition_hub.services.ApplicationService;
+import backend.competition_hub.services.SubmissionExportService;
+import backend.competition_hub.services.TaskRevisionService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -27,6 +29,12 @@ class ApplicationControllerTest {
     @MockBean
     private ApplicationService applicationService;
 
+    @MockBean
+    private TaskRevisionService taskRevisionService;
+
+    @MockBean
+    private SubmissionExportService submissionExportService;
+
     @Test
     void handleFileUploadForRound_ShouldDelegateToService() throws Exception {
         // --- GIVEN ---
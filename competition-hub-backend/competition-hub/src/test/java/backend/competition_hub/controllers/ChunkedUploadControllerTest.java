@@ -0,0 +1,55 @@
+package backend.competition_hub.controllers;
+
+import backend.competition_hub.services.ChunkedUploadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ChunkedUploadController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ChunkedUploadControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ChunkedUploadService chunkedUploadService;
+
+    @Test
+    void putChunk_ShouldPassRawBodyAndChecksumToService() throws Exception {
+        // --- GIVEN ---
+        when(chunkedUploadService.putChunk(eq("abc"), eq(3), eq("deadbeef"), any(InputStream.class)))
+                .thenReturn(ResponseEntity.ok().build());
+
+        // --- WHEN & THEN ---
+        // A darab nyers octet-stream törzsként érkezik, nem multipartként
+        mockMvc.perform(put("/api/applications/uploads/{uploadId}/chunks/{index}", "abc", 3)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header("X-Chunk-Checksum", "deadbeef")
+                        .content("chunk-bytes".getBytes()))
+                .andExpect(status().isOk());
+
+        verify(chunkedUploadService).putChunk(eq("abc"), eq(3), eq("deadbeef"), any(InputStream.class));
+    }
+
+    @Test
+    void putChunk_ShouldRejectMissingChecksum() throws Exception {
+        mockMvc.perform(put("/api/applications/uploads/{uploadId}/chunks/{index}", "abc", 0)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content("chunk-bytes".getBytes()))
+                .andExpect(status().isBadRequest());
+    }
+}
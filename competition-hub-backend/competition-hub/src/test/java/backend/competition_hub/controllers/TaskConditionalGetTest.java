@@ -0,0 +1,161 @@
+package backend.competition_hub.controllers;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.ProcessingStatus;
+import backend.competition_hub.entities.Application;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.repositories.ApplicationRepository;
+import backend.competition_hub.services.BlobStorageService;
+import backend.competition_hub.services.SubmissionProcessingService;
+import backend.competition_hub.services.SubmissionScanner;
+import backend.competition_hub.services.TaskRevisionService;
+import backend.competition_hub.services.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A teljes alkalmazás H2-n: a revízió, a feldolgozás és a feltételes GET együtt, commitolt adatokon
+@SpringBootTest(properties = "storage.blob-dir=${java.io.tmpdir}/competition-hub-conditional-get-test")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class TaskConditionalGetTest {
+
+    // A feldolgozás közepén (PROCESSING állapotban) lekérdezett ETag, ahogy egy pollozó kliens látná
+    private static final AtomicReference<String> PROCESSING_TAG = new AtomicReference<>();
+
+    @TestConfiguration
+    static class PollingScannerConfig {
+
+        @Bean
+        SubmissionScanner pollingScanner(ObjectProvider<MockMvc> mockMvc) {
+            return (content, fileName, contentType) -> {
+                try {
+                    PROCESSING_TAG.set(mockMvc.getObject().perform(get("/api/tasks/{id}", taskIdOf(fileName)))
+                            .andExpect(jsonPath("$.applications[0].processingStatus").value("PROCESSING"))
+                            .andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                return null;
+            };
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private BlobStorageService blobStorageService;
+
+    @Autowired
+    private TaskRevisionService taskRevisionService;
+
+    @Autowired
+    private SubmissionProcessingService submissionProcessingService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${storage.blob-dir}")
+    private Path blobDir;
+
+    private Long taskId;
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        if (taskId != null) {
+            taskService.deleteTask(taskId);
+            blobStorageService.collectGarbage(100); // a közös adatbázisban ne maradjon hivatkozatlan blob sor
+        }
+        FileSystemUtils.deleteRecursively(blobDir);
+    }
+
+    @Test
+    void getTask_ShouldNotReturnNotModifiedAfterProcessingCompletes() throws Exception {
+        // --- GIVEN ---
+        // Beküldés feldolgozatlanul (PENDING); a feldolgozást a teszt indítja szinkron, nem a commit utáni esemény
+        // (a fájlnévben a task azonosítója, hogy a pollozó scanner lekérdezhesse)
+        Long applicationId = new TransactionTemplate(transactionManager).execute(status -> {
+            Task saved = taskService.createTask(task("Feltételes GET", EvaluationType.TEXT));
+            taskId = saved.getId();
+            Application application = new Application(saved, "uid", "student1", null, LocalDateTime.now());
+            try {
+                application.setBlobHash(blobStorageService.attach(blobStorageService.stage(
+                        new ByteArrayInputStream("class Main {}".getBytes(StandardCharsets.UTF_8)), "Main.java")));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            application.setFileName(taskId + ".java");
+            application.setProcessingStatus(ProcessingStatus.PENDING);
+            Long id = applicationRepository.save(application).getId();
+            taskRevisionService.taskChanged(taskId);
+            return id;
+        });
+        String pendingTag = mockMvc.perform(get("/api/tasks/{id}", taskId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applications[0].processingStatus").value("PENDING"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(pendingTag);
+        String pendingByUserTag = mockMvc.perform(get("/api/applications/by-user/{id}", "uid"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // --- WHEN ---
+        submissionProcessingService.process(applicationId);
+
+        // --- THEN ---
+        // A foglalás és a befejezés is léptette a revíziót: egyik korábbi ETag-re sem jön 304
+        String processingTag = PROCESSING_TAG.get();
+        assertNotNull(processingTag);
+        assertNotEquals(pendingTag, processingTag);
+        String doneTag = mockMvc.perform(get("/api/tasks/{id}", taskId).header(HttpHeaders.IF_NONE_MATCH, processingTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applications[0].processingStatus").value("DONE"))
+                .andExpect(jsonPath("$.applications[0].contentType").value("text/x-java-source"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(processingTag, doneTag);
+        mockMvc.perform(get("/api/tasks/{id}", taskId).header(HttpHeaders.IF_NONE_MATCH, doneTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/applications/by-user/{id}", "uid").header(HttpHeaders.IF_NONE_MATCH, pendingByUserTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].processingStatus").value("DONE"));
+    }
+
+    // A scanner csak a fájlnevet kapja: a teszt a task azonosítóját teszi bele
+    private static long taskIdOf(String fileName) {
+        return Long.parseLong(fileName.substring(0, fileName.indexOf('.')));
+    }
+}
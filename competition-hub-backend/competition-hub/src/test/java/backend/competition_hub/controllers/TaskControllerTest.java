@@ -1,17 +1,25 @@
 package backend.competition_hub.controllers;
 
+import backend.competition_hub.dtos.ResourceVersionDTO;
 import backend.competition_hub.entities.Task;
+import backend.competition_hub.services.TaskRevisionService;
 import backend.competition_hub.services.TaskService;
+import backend.competition_hub.services.TaskStatisticsService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
+import java.util.Optional;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -26,6 +34,12 @@ class TaskControllerTest {
     @MockBean // A Service-t itt is mockoljuk, mert csak a Controllert teszteljük
     private TaskService taskService;
 
+    @MockBean
+    private TaskRevisionService taskRevisionService;
+
+    @MockBean
+    private TaskStatisticsService taskStatisticsService;
+
     @Test
     void getAllTasks_ShouldReturnJsonList() throws Exception {
         // GIVEN
@@ -57,4 +71,54 @@ class TaskControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound()); // Elvárjuk a 404-es státuszkódot
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTaskById_ShouldReturn304WithoutLoadingTask_WhenETagMatches() throws Exception {
+        // --- GIVEN ---
+        when(taskRevisionService.getTaskVersion(1L))
+                .thenReturn(Optional.of(new ResourceVersionDTO("W/\"task-1-7\"", 1_700_000_000_000L)));
+
+        // --- WHEN & THEN ---
+        mockMvc.perform(get("/api/tasks/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"task-1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"task-1-7\""))
+                .andExpect(content().string(""));
+
+        // A Task gráfot be sem töltjük
+        verify(taskService, never()).getTaskById(1L);
+    }
+
+    @Test
+    void getTaskById_ShouldReturnBodyWithETag_WhenTaskChanged() throws Exception {
+        // --- GIVEN ---
+        Task task = new Task(); task.setId(1L); task.setTitle("Task A");
+        when(taskRevisionService.getTaskVersion(1L))
+                .thenReturn(Optional.of(new ResourceVersionDTO("W/\"task-1-8\"", 1_700_000_000_000L)));
+        when(taskService.getTaskById(1L)).thenReturn(ResponseEntity.ok(task));
+
+        // --- WHEN & THEN ---
+        // A kliens még a 7-es revíziót tartja
+        mockMvc.perform(get("/api/tasks/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"task-1-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"task-1-8\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.title").value("Task A"));
+    }
+
+    @Test
+    void getTaskSummaries_ShouldReturn304_WhenNotModifiedSince() throws Exception {
+        // --- GIVEN ---
+        when(taskRevisionService.getTaskListVersion())
+                .thenReturn(Optional.of(new ResourceVersionDTO("W/\"tasks-3\"", 1_700_000_000_000L)));
+
+        // --- WHEN & THEN ---
+        mockMvc.perform(get("/api/tasks/summaries")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Tue, 14 Nov 2023 22:13:20 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(taskService, never()).getTaskSummaries(null, 20);
+    }
+}
@@ -0,0 +1,193 @@
+package backend.competition_hub.controllers;
+
+import backend.competition_hub.WebConfig;
+import backend.competition_hub.repositories.UploadSessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.CorsFilter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class UploadAdmissionFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService clients = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        clients.shutdownNow();
+    }
+
+    @Test
+    void uploads_ShouldBeLimitedPerClient() throws Exception {
+        // --- GIVEN ---
+        UploadAdmissionFilter filter = new UploadAdmissionFilter(4, 1, 0, Duration.ZERO, Duration.ofSeconds(5), uploadOwners(), meterRegistry);
+        CountDownLatch entered = new CountDownLatch(1);
+        Future<MockHttpServletResponse> running = clients.submit(() ->
+                perform(filter, upload("/api/applications/1", "student1"), blockingChain(entered)));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // --- WHEN ---
+        MockHttpServletResponse sameUser = perform(filter, upload("/api/applications/2/round/3", "student1"), (req, res) -> {});
+        MockHttpServletResponse otherUser = perform(filter, upload("/api/applications/1", "student2"), (req, res) -> {});
+        MockHttpServletResponse download = perform(filter, new MockHttpServletRequest("GET", "/api/applications/download/1"),
+                (req, res) -> {});
+
+        // --- THEN ---
+        assertEquals(429, sameUser.getStatus());
+        assertEquals("5", sameUser.getHeader("Retry-After"));
+        assertEquals(200, otherUser.getStatus());
+        assertEquals(200, download.getStatus()); // nem feltöltés: nincs korlát
+
+        release.countDown();
+        assertEquals(200, running.get(5, TimeUnit.SECONDS).getStatus());
+        // a futó feltöltés vége után ugyanaz a kliens újra beengedhető
+        assertEquals(200, perform(filter, upload("/api/applications/1", "student1"), (req, res) -> {}).getStatus());
+        assertEquals(1.0, meterRegistry.get("uploads.admission.rejected").tag("reason", "client").counter().count());
+    }
+
+    @Test
+    void uploads_ShouldQueueBrieflyAndRejectWhenQueueIsFull() throws Exception {
+        // --- GIVEN ---
+        // egy hely, egy várakozó
+        UploadAdmissionFilter filter = new UploadAdmissionFilter(1, 5, 1, Duration.ofSeconds(10), Duration.ofSeconds(3), uploadOwners(),
+                meterRegistry);
+        CountDownLatch entered = new CountDownLatch(1);
+        Future<MockHttpServletResponse> running = clients.submit(() ->
+                perform(filter, upload("/api/applications/1", "student1"), blockingChain(entered)));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        Future<MockHttpServletResponse> queued = clients.submit(() ->
+                perform(filter, chunk("abc"), (req, res) -> {}));
+        waitForQueueDepth(1);
+
+        // --- WHEN ---
+        MockHttpServletResponse overflow = perform(filter, upload("/api/applications/1", "student3"), (req, res) -> {});
+        release.countDown();
+
+        // --- THEN ---
+        assertEquals(429, overflow.getStatus());
+        assertEquals("3", overflow.getHeader("Retry-After"));
+        assertEquals(200, running.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(200, queued.get(5, TimeUnit.SECONDS).getStatus()); // a sorban várt, nem utasítottuk el
+        assertEquals(1.0, meterRegistry.get("uploads.admission.rejected").tag("reason", "queue").counter().count());
+        assertEquals(0.0, meterRegistry.get("uploads.admission.queue").gauge().value());
+        assertEquals(0.0, meterRegistry.get("uploads.admission.active").gauge().value());
+    }
+
+    @Test
+    void chunkedUploads_ShouldBeLimitedPerSessionOwner() throws Exception {
+        // --- GIVEN ---
+        // student1 két munkamenete ("a" és "b") egy kliensnek számít, student2-é ("c") külön
+        UploadAdmissionFilter filter = new UploadAdmissionFilter(4, 1, 0, Duration.ZERO, Duration.ofSeconds(5),
+                uploadOwners("a", "student1", "b", "student1", "c", "student2"), meterRegistry);
+        CountDownLatch entered = new CountDownLatch(1);
+        Future<MockHttpServletResponse> running = clients.submit(() -> perform(filter, chunk("a"), blockingChain(entered)));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // --- WHEN ---
+        MockHttpServletResponse otherSession = perform(filter, chunk("b"), (req, res) -> {});
+        MockHttpServletResponse multipart = perform(filter, upload("/api/applications/1", "student1"), (req, res) -> {});
+        MockHttpServletResponse otherUser = perform(filter, chunk("c"), (req, res) -> {});
+
+        // --- THEN ---
+        assertEquals(429, otherSession.getStatus());
+        assertEquals(429, multipart.getStatus()); // a darabolt és az egyben feltöltés ugyanaz a kliens
+        assertEquals(200, otherUser.getStatus());
+        release.countDown();
+        assertEquals(200, running.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(2.0, meterRegistry.get("uploads.admission.rejected").tag("reason", "client").counter().count());
+    }
+
+    @Test
+    void rejection_ShouldCarryCorsHeadersForTheFrontend() throws Exception {
+        // --- GIVEN ---
+        // A WebConfig szerinti filterek és sorrend; kliensenként 0 hely, így minden feltöltés 429-et kap
+        WebConfig config = new WebConfig();
+        FilterRegistrationBean<CorsFilter> cors = config.corsFilter();
+        FilterRegistrationBean<UploadAdmissionFilter> admission = config.uploadAdmissionFilter(meterRegistry,
+                mock(UploadSessionRepository.class), 1, 0, 0, Duration.ZERO, Duration.ofSeconds(5));
+        MockHttpServletRequest request = upload("/api/applications/1", "student1");
+        request.addHeader(HttpHeaders.ORIGIN, "http://localhost:3000");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // --- WHEN ---
+        new MockFilterChain(new HttpServlet() {}, cors.getFilter(), admission.getFilter()).doFilter(request, response);
+
+        // --- THEN ---
+        // a frontend (másik origin) olvashatja a státuszt és a Retry-After-t
+        assertTrue(cors.getOrder() < admission.getOrder());
+        assertEquals(429, response.getStatus());
+        assertEquals("http://localhost:3000", response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+        assertTrue(response.getHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS).contains(HttpHeaders.RETRY_AFTER));
+    }
+
+    private MockHttpServletRequest upload(String path, String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setQueryString("keycloakUserId=uid&keycloakUserName=" + username);
+        request.setContentType("multipart/form-data; boundary=x");
+        return request;
+    }
+
+    // Feltöltés azonosítója -> tulajdonos párok; az ismeretlen azonosítónak nincs tulajdonosa
+    private Function<String, Optional<String>> uploadOwners(String... idsAndOwners) {
+        Map<String, String> owners = new HashMap<>();
+        for (int i = 0; i < idsAndOwners.length; i += 2) {
+            owners.put(idsAndOwners[i], idsAndOwners[i + 1]);
+        }
+        return uploadId -> Optional.ofNullable(owners.get(uploadId));
+    }
+
+    private MockHttpServletRequest chunk(String uploadId) {
+        return new MockHttpServletRequest("PUT", "/api/applications/uploads/" + uploadId + "/chunks/0");
+    }
+
+    // A "feltöltés" addig tart, amíg a teszt el nem engedi
+    private FilterChain blockingChain(CountDownLatch entered) {
+        return (req, res) -> {
+            entered.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private MockHttpServletResponse perform(UploadAdmissionFilter filter, MockHttpServletRequest request, FilterChain chain)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("uploads.admission.queue").gauge().value() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(depth, meterRegistry.get("uploads.admission.queue").gauge().value());
+    }
+}
@@ -0,0 +1,42 @@
+package backend.competition_hub.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A teljes alkalmazás H2-n; az @AutoConfigureObservability nélkül a tesztek nem exportálnak mérőszámot
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("h2")
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheus_ShouldExposeControllerHibernateStorageAndNotificationMetrics() throws Exception {
+        // --- GIVEN ---
+        mockMvc.perform(get("/api/tasks/summaries")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/notifications/metrics-user")).andExpect(status().isOk());
+
+        // --- WHEN / THEN ---
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("handler=\"TaskController.getTaskSummaries\"")))
+                .andExpect(content().string(containsString("hibernate_statements_per_request_count{")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hibernate_entities_loads_total")))
+                .andExpect(content().string(containsString("notifications_query_seconds_count{")))
+                .andExpect(content().string(containsString("storage_upload_bytes_total")));
+    }
+}
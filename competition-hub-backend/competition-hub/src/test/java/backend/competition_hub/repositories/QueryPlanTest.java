@@ -0,0 +1,265 @@
+package backend.competition_hub.repositories;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.JpaSliceTest;
+import backend.competition_hub.ProcessingStatus;
+import backend.competition_hub.entities.Round;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.events.NotificationType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.data.repository.query.Param;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static backend.competition_hub.TestEntities.round;
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * A repository-k saját (@Query és származtatott) metódusainak végrehajtási tervét
+ * ellenőrzi: minden metódust meghív, elkapja a generált SQL-t, majd EXPLAIN-nel
+ * megnézi, hogy van-e benne full table scan. Új lekérdezés index nélkül itt bukik el.
+ * A terveket a H2 (MySQL mód) optimalizálója adja, a migrációkból felépített sémán.
+ */
+@JpaSliceTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "backend.competition_hub.repositories.QueryPlanTest$SqlCapture")
+class QueryPlanTest {
+
+    // Szándékosan teljes táblát olvasó kötegelt lekérdezések (olvasatlan-számlálók és ranglisták újraépítése)
+    private static final Set<String> BATCH_SCANS = Set.of(
+            "UnreadCounterRepository.insertNewApplicationCounts",
+            "UnreadCounterRepository.insertNewReviewCounts",
+            "UnreadCounterRepository.insertEliminationCounts",
+            "UnreadCounterRepository.refreshNewApplicationCounts",
+            "UnreadCounterRepository.refreshNewReviewCounts",
+            "UnreadCounterRepository.refreshEliminationCounts",
+            "UnreadCounterRepository.deleteZeroCounts",
+            "ApplicationRepository.findAllScores",
+            "TaskRepository.findScoredTaskIds");
+
+    // pl. "/* public.idx_application_user_name: keycloak_user_name = ?1 */"
+    private static final Pattern INDEX_LOOKUP = Pattern.compile("/\\* public\\.(\\w+): ([^*]+)\\*/");
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private RoundRepository roundRepository;
+
+    @Autowired
+    private UnreadCounterRepository unreadCounterRepository;
+
+    @Autowired
+    private EliminationRepository eliminationRepository;
+
+    @Autowired
+    private ReadWatermarkRepository readWatermarkRepository;
+
+    @Autowired
+    private TaskRevisionRepository taskRevisionRepository;
+
+    @Autowired
+    private StoredBlobRepository storedBlobRepository;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    // Idegen kulcsos írásokhoz (pl. kizárás beszúrása) létező task és forduló kell
+    private Long taskId;
+    private Long roundId;
+
+    @BeforeEach
+    void seed() {
+        Task task = task("Terv", EvaluationType.TEXT);
+        Round round = round(task, "1. forduló", LocalDate.now().plusDays(7), true);
+        entityManager.persistAndFlush(task);
+        taskId = task.getId();
+        roundId = round.getId();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueries_ShouldNotScanFullTables() {
+        Map<Class<?>, Object> repositories = Map.of(
+                ApplicationRepository.class, applicationRepository,
+                TaskRepository.class, taskRepository,
+                RoundRepository.class, roundRepository,
+                UnreadCounterRepository.class, unreadCounterRepository,
+                EliminationRepository.class, eliminationRepository,
+                ReadWatermarkRepository.class, readWatermarkRepository,
+                TaskRevisionRepository.class, taskRevisionRepository,
+                StoredBlobRepository.class, storedBlobRepository,
+                UploadSessionRepository.class, uploadSessionRepository,
+                JobLockRepository.class, jobLockRepository);
+
+        return repositories.keySet().stream()
+                .sorted(Comparator.comparing(Class::getSimpleName))
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods())
+                        .filter(method -> !method.isSynthetic() && !method.isDefault())
+                        .sorted(Comparator.comparing(Method::getName))
+                        .map(method -> DynamicTest.dynamicTest(type.getSimpleName() + "." + method.getName(),
+                                () -> assertIndexed(type.getSimpleName() + "." + method.getName(),
+                                        repositories.get(type), method))));
+    }
+
+    private void assertIndexed(String name, Object repository, Method method) throws Exception {
+        // --- GIVEN ---
+        Object[] args = Arrays.stream(method.getParameters()).map(this::sampleArgument).toArray();
+
+        // --- WHEN ---
+        SqlCapture.STATEMENTS.clear();
+        method.invoke(repository, args);
+        List<String> statements = new ArrayList<>(SqlCapture.STATEMENTS);
+
+        // --- THEN ---
+        assertFalse(statements.isEmpty(), name + " nem futtatott SQL-t");
+        for (String sql : statements) {
+            String plan = explain(sql);
+            if (BATCH_SCANS.contains(name)) {
+                continue;
+            }
+            assertFalse(plan.contains(".tableScan"), name + " full table scant használ:\n" + plan);
+            assertLeadingColumnsUsed(name, plan);
+        }
+    }
+
+    /**
+     * A H2 összetett indexet a nem első oszlopára is "használ" (teljes index bejárás),
+     * a MySQL viszont nem - ezért az indexkeresésnek az index első oszlopát kell érintenie.
+     */
+    private void assertLeadingColumnsUsed(String name, String plan) {
+        Matcher lookup = INDEX_LOOKUP.matcher(plan);
+        while (lookup.find()) {
+            String index = lookup.group(1);
+            String conditions = lookup.group(2);
+            if (conditions.startsWith("_ROWID_")) {
+                // H2 a joinos UPDATE-et MERGE-ként, sorazonosító alapján hajtja végre
+                continue;
+            }
+            String leading = jdbcTemplate.queryForObject(
+                    "select column_name from information_schema.index_columns "
+                            + "where lower(index_name) = lower(?) and ordinal_position = 1",
+                    String.class, index);
+            assertTrue(Pattern.compile("(^|\\s)" + Pattern.quote(leading) + "\\s").matcher(conditions).find(),
+                    name + " a(z) " + index + " indexet az első oszlopa (" + leading + ") nélkül használja:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                assertTrue(plan.length() > 0, "Üres végrehajtási terv: " + sql);
+                return plan.toString();
+            }
+        });
+    }
+
+    private Object sampleArgument(Parameter parameter) {
+        Class<?> type = parameter.getType();
+        Param name = parameter.getAnnotation(Param.class);
+        if (type == String.class && name != null && name.value().equals("kind")) {
+            // natív lekérdezések az enum nevét kapják
+            return NotificationType.NEW_REVIEW.name();
+        }
+        if (type == Long.class && name != null && name.value().equals("taskId")) {
+            return taskId;
+        }
+        if (type == Long.class && name != null && name.value().equals("roundId")) {
+            return roundId;
+        }
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 1;
+        }
+        if (type == String.class) {
+            return "student1";
+        }
+        if (type == NotificationType.class) {
+            return NotificationType.NEW_REVIEW;
+        }
+        if (type == ProcessingStatus.class) {
+            return ProcessingStatus.DONE;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.now();
+        }
+        if (type == Collection.class && name != null && name.value().toLowerCase().endsWith("ids")) {
+            return List.of(1L);
+        }
+        if (type == Collection.class) {
+            return List.of("student1");
+        }
+        if (type == Pageable.class) {
+            return PageRequest.ofSize(20);
+        }
+        fail("Nincs mintaparaméter ehhez a típushoz: " + type.getName());
+        return null;
+    }
+
+    /**
+     * Hibernate StatementInspector: a futtatott SQL-eket gyűjti az EXPLAIN-hez.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
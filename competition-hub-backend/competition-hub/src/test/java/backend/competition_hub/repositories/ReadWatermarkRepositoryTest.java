@@ -0,0 +1,57 @@
+package backend.competition_hub.repositories;
+
+import backend.competition_hub.JpaSliceTest;
+import backend.competition_hub.entities.ReadWatermark;
+import backend.competition_hub.events.NotificationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@JpaSliceTest
+class ReadWatermarkRepositoryTest {
+
+    @Autowired
+    private ReadWatermarkRepository readWatermarkRepository;
+
+    @Test
+    void markSeen_ShouldKeepOneRowAndNeverMoveBackwards() {
+        // --- GIVEN ---
+        LocalDateTime earlier = LocalDateTime.of(2025, 3, 1, 10, 0);
+        LocalDateTime later = earlier.plusHours(2);
+        String kind = NotificationType.NEW_REVIEW.name();
+
+        // --- WHEN ---
+        readWatermarkRepository.markSeen("student1", 7L, kind, later);
+        readWatermarkRepository.markSeen("student1", 7L, kind, earlier); // késve érkező touch
+
+        // --- THEN ---
+        assertEquals(1, readWatermarkRepository.count());
+        assertEquals(later, readWatermarkRepository.findSeenAt("student1", 7L, NotificationType.NEW_REVIEW).orElseThrow());
+    }
+
+    @Test
+    void findSeenAt_ShouldReturnOnlyRequestedKindAndUsers() {
+        // --- GIVEN ---
+        LocalDateTime seen = LocalDateTime.of(2025, 3, 1, 10, 0);
+        readWatermarkRepository.saveAll(List.of(
+                new ReadWatermark("student1", 7L, NotificationType.NEW_REVIEW, seen),
+                new ReadWatermark("student2", 7L, NotificationType.NEW_REVIEW, seen.plusDays(1)),
+                new ReadWatermark("student2", 7L, NotificationType.ELIMINATION, seen),
+                new ReadWatermark("student3", 7L, NotificationType.NEW_REVIEW, seen)));
+
+        // --- WHEN ---
+        Map<String, LocalDateTime> result = readWatermarkRepository
+                .findSeenAt(7L, NotificationType.NEW_REVIEW, Set.of("student1", "student2")).stream()
+                .collect(Collectors.toMap(r -> (String) r[0], r -> (LocalDateTime) r[1]));
+
+        // --- THEN ---
+        assertEquals(Map.of("student1", seen, "student2", seen.plusDays(1)), result);
+    }
+}
@@ -0,0 +1,65 @@
+package backend.competition_hub.repositories;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.JpaSliceTest;
+import backend.competition_hub.dtos.TaskSummaryDTO;
+import backend.competition_hub.entities.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static backend.competition_hub.TestEntities.application;
+import static backend.competition_hub.TestEntities.round;
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.*;
+
+@JpaSliceTest
+class TaskRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void findSummaries_ShouldPageByIdDescendingWithCounts() {
+        // --- GIVEN ---
+        Task oldest = persistTask("Első", 0);
+        Task middle = persistTask("Második", 3);
+        Task newest = persistTask("Harmadik", 1);
+        entityManager.clear();
+
+        // --- WHEN ---
+        List<TaskSummaryDTO> firstPage = taskRepository.findSummaries(Long.MAX_VALUE, PageRequest.ofSize(2));
+        List<TaskSummaryDTO> secondPage = taskRepository.findSummaries(firstPage.get(1).getId(), PageRequest.ofSize(2));
+
+        // --- THEN ---
+        assertEquals(List.of(newest.getId(), middle.getId()), firstPage.stream().map(TaskSummaryDTO::getId).toList());
+        assertEquals(List.of(oldest.getId()), secondPage.stream().map(TaskSummaryDTO::getId).toList());
+
+        TaskSummaryDTO summary = firstPage.get(1);
+        assertEquals("Második", summary.getTitle());
+        assertEquals(3L, summary.getApplicationCount());
+        assertNotNull(summary.getActiveRoundId()); // az aktív forduló is benne van
+        assertEquals(EvaluationType.BOTH, summary.getEvaluationType());
+    }
+
+    private Task persistTask(String title, int applicationCount) {
+        Task task = task(title, EvaluationType.BOTH);
+        task.setDescription("Leírás: " + title);
+        round(task, "1. forduló", LocalDate.now().plusDays(7), true);
+        round(task, "2. forduló", LocalDate.now().plusDays(14), false);
+        entityManager.persist(task);
+
+        for (int i = 0; i < applicationCount; i++) {
+            entityManager.persist(application(task, null, "user" + i));
+        }
+        entityManager.flush();
+        return task;
+    }
+}
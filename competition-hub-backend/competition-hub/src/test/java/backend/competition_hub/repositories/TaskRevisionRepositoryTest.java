@@ -0,0 +1,67 @@
+package backend.competition_hub.repositories;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.JpaSliceTest;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.entities.TaskRevision;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static backend.competition_hub.TestEntities.application;
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@JpaSliceTest
+class TaskRevisionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRevisionRepository taskRevisionRepository;
+
+    @Test
+    void bump_ShouldIncrementAndAdvanceModifiedAtEvenWithinOneSecond() {
+        // --- GIVEN ---
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 10, 0);
+
+        // --- WHEN ---
+        taskRevisionRepository.bump(42L, now);
+        taskRevisionRepository.bump(42L, now);
+        taskRevisionRepository.bump(42L, now); // ugyanabban a másodpercben
+        entityManager.clear();
+
+        // --- THEN ---
+        TaskRevision revision = taskRevisionRepository.findById(42L).orElseThrow();
+        assertEquals(3L, revision.getRevision());
+        // Különben a másodperc pontosságú If-Modified-Since a 2. és 3. változásra is 304-et adna
+        assertEquals(now.plusSeconds(2), revision.getModifiedAt());
+    }
+
+    @Test
+    void findByApplicantUserId_ShouldReturnRevisionsOfTasksTheUserAppliedTo() {
+        // --- GIVEN ---
+        Task applied = persistTask("Beküldött");
+        Task other = persistTask("Másik");
+        entityManager.persist(application(applied, null, "student1"));
+        entityManager.persist(application(other, null, "student2"));
+        taskRevisionRepository.bump(applied.getId(), LocalDateTime.now());
+        taskRevisionRepository.bump(other.getId(), LocalDateTime.now());
+        entityManager.clear();
+
+        // --- WHEN ---
+        List<TaskRevision> result = taskRevisionRepository.findByApplicantUserId("uid-student1");
+
+        // --- THEN ---
+        assertEquals(1, result.size());
+        assertEquals(applied.getId(), result.get(0).getTaskId());
+    }
+
+    private Task persistTask(String title) {
+        return entityManager.persistAndFlush(task(title, EvaluationType.TEXT));
+    }
+}
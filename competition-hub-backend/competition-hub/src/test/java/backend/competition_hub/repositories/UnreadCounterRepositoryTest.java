@@ -0,0 +1,66 @@
+package backend.competition_hub.repositories;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.JpaSliceTest;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.events.NotificationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@JpaSliceTest
+class UnreadCounterRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UnreadCounterRepository unreadCounterRepository;
+
+    @Test
+    void increment_ShouldUpsertAndNeverGoNegative() {
+        // --- GIVEN ---
+        Task task = persistTask("Teszt Feladat");
+        String kind = NotificationType.NEW_APPLICATION.name();
+
+        // --- WHEN ---
+        unreadCounterRepository.increment("creator", task.getId(), kind, 1);
+        unreadCounterRepository.increment("creator", task.getId(), kind, 1);
+        unreadCounterRepository.increment("creator", task.getId(), kind, 1);
+
+        // --- THEN ---
+        List<Object[]> unread = unreadCounterRepository.findUnread("creator", NotificationType.NEW_APPLICATION);
+        assertEquals(1, unread.size());
+        assertEquals(task.getId(), unread.get(0)[0]);
+        assertEquals("Teszt Feladat", unread.get(0)[1]);
+        assertEquals(3L, ((Number) unread.get(0)[2]).longValue());
+
+        // Túl nagy csökkentés sem visz nulla alá
+        unreadCounterRepository.increment("creator", task.getId(), kind, -5);
+        assertTrue(unreadCounterRepository.findUnread("creator", NotificationType.NEW_APPLICATION).isEmpty());
+    }
+
+    @Test
+    void reset_ShouldHideTaskFromUnreadList() {
+        // --- GIVEN ---
+        Task task = persistTask("Másik Feladat");
+        unreadCounterRepository.set("student1", task.getId(), NotificationType.NEW_REVIEW.name(), 2);
+
+        // --- WHEN ---
+        unreadCounterRepository.reset("student1", task.getId(), NotificationType.NEW_REVIEW);
+        entityManager.clear();
+
+        // --- THEN ---
+        assertTrue(unreadCounterRepository.findUnread("student1", NotificationType.NEW_REVIEW).isEmpty());
+    }
+
+    private Task persistTask(String title) {
+        return entityManager.persistAndFlush(task(title, EvaluationType.POINTS));
+    }
+}
@@ -1,22 +1,33 @@
 package backend.competition_hub.services;
 
+import backend.competition_hub.ProcessingStatus;
+import backend.competition_hub.entities.Application;
 import backend.competition_hub.entities.Task;
+import backend.competition_hub.events.ApplicationSubmittedEvent;
+import backend.competition_hub.metrics.StorageMetrics;
 import backend.competition_hub.repositories.ApplicationRepository;
+import backend.competition_hub.repositories.EliminationRepository;
 import backend.competition_hub.repositories.TaskRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.Arrays;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Paths;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +37,20 @@ class ApplicationServiceTest {
     private ApplicationRepository applicationRepository;
     @Mock
     private TaskRepository taskRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private UnreadCounterService unreadCounterService;
+    @Mock
+    private ReadWatermarkService readWatermarkService;
+    @Mock
+    private EliminationRepository eliminationRepository;
+    @Mock
+    private TaskRevisionService taskRevisionService;
+    @Mock
+    private StorageMetrics storageMetrics;
+    @Mock
+    private BlobStorageService blobStorageService;
 
     @InjectMocks
     private ApplicationServiceImpl applicationService;
@@ -37,8 +62,9 @@ class ApplicationServiceTest {
         String bannedUser = "bannedUser123";
 
         Task task = new Task();
-        // A usert felvesszük az elimináltak közé
-        task.setEliminatedApplicants(Arrays.asList("otherUser", bannedUser));
+        task.setId(taskId);
+        // A user szerepel az elimináltak között
+        when(eliminationRepository.existsByTaskIdAndUsername(taskId, bannedUser)).thenReturn(true);
 
         MultipartFile mockFile = mock(MultipartFile.class); // Kamu fájl
         when(mockFile.isEmpty()).thenReturn(false);
@@ -58,6 +84,40 @@ class ApplicationServiceTest {
         verify(applicationRepository, never()).save(any());
     }
 
+    @Test
+    void handleFileUpload_ShouldReferenceBlobByHash() throws Exception {
+        // --- GIVEN ---
+        Long taskId = 1L;
+        Task task = new Task();
+        task.setId(taskId);
+        task.setCreator("creator");
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        MultipartFile mockFile = mock(MultipartFile.class);
+        when(mockFile.isEmpty()).thenReturn(false);
+        when(mockFile.getOriginalFilename()).thenReturn("megoldas.zip");
+        when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[3]));
+        StagedBlob blob = new StagedBlob("abcd", 3, Paths.get("upload.tmp"));
+        when(blobStorageService.stage(any(InputStream.class), eq("megoldas.zip"))).thenReturn(blob);
+        when(blobStorageService.attach(blob)).thenReturn("abcd");
+
+        // --- WHEN ---
+        ResponseEntity<String> response = applicationService.handleFileUpload(taskId, mockFile, null, "uid", "student1");
+
+        // --- THEN ---
+        // A beküldés a tartalom hash-ére hivatkozik, az eredeti név csak letöltéshez kell
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ArgumentCaptor<Application> saved = ArgumentCaptor.forClass(Application.class);
+        verify(applicationRepository).save(saved.capture());
+        assertEquals("abcd", saved.getValue().getBlobHash());
+        assertEquals("megoldas.zip", saved.getValue().getFileName());
+        assertNull(saved.getValue().getFilePath());
+        verify(blobStorageService).discard(blob);
+        // A feldolgozás háttérben, commit után indul: a beküldés PENDING állapotban kerül be
+        assertEquals(ProcessingStatus.PENDING, saved.getValue().getProcessingStatus());
+        verify(eventPublisher).publishEvent(any(ApplicationSubmittedEvent.class));
+    }
+
     @Test
     void updateReview_ShouldFail_WhenPointsAreInvalid() {
         // --- GIVEN ---
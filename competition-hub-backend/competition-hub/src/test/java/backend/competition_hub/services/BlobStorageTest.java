@@ -0,0 +1,241 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.BlobEncoding;
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.ServiceSliceTest;
+import backend.competition_hub.dtos.TaskStorageDTO;
+import backend.competition_hub.entities.Application;
+import backend.competition_hub.entities.StoredBlob;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.repositories.StoredBlobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ServiceSliceTest(properties = "storage.blob-dir=${java.io.tmpdir}/competition-hub-blob-test")
+class BlobStorageTest {
+
+    // sha256("hello")
+    private static final String HELLO_HASH = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @Autowired
+    private BlobStorageService blobStorageService;
+
+    @Autowired
+    private StoredBlobRepository storedBlobRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${storage.blob-dir}")
+    private Path blobDir;
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileSystemUtils.deleteRecursively(blobDir);
+    }
+
+    @Test
+    void attach_ShouldStoreDuplicateContentOnce() throws IOException {
+        // --- WHEN ---
+        String first = blobStorageService.attach(blobStorageService.stage(content("hello"), "hello.txt"));
+        String second = blobStorageService.attach(blobStorageService.stage(content("hello"), "hello.txt"));
+        entityManager.clear();
+
+        // --- THEN ---
+        assertEquals(HELLO_HASH, first);
+        assertEquals(first, second);
+        Path blob = blobDir.resolve("2c").resolve("f2").resolve(HELLO_HASH);
+        assertEquals(blob, blobStorageService.resolve(HELLO_HASH));
+        assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), Files.readAllBytes(blob));
+
+        StoredBlob stored = storedBlobRepository.findById(HELLO_HASH).orElseThrow();
+        assertEquals(2L, stored.getRefCount());
+        assertEquals(5L, stored.getSize());
+        // a második feltöltés ideiglenes fájlja nem maradt meg
+        try (Stream<Path> tmp = Files.list(blobDir.resolve(".tmp"))) {
+            assertEquals(0, tmp.count());
+        }
+    }
+
+    @Test
+    void attach_ShouldReplaceFileLeftByRolledBackUpload() throws IOException {
+        // --- GIVEN ---
+        // Visszagörgetett feltöltés: a tömörített fájl a helyén maradt, a sora nem
+        String text = "public class Megoldas {}\n".repeat(1000);
+        StagedBlob rolledBack = blobStorageService.stage(content(text), "Megoldas.java");
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        requiresNew.executeWithoutResult(status -> {
+            try {
+                blobStorageService.attach(rolledBack);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            status.setRollbackOnly();
+        });
+        assertEquals(BlobEncoding.GZIP, rolledBack.getEncoding());
+        assertTrue(Files.exists(blobStorageService.resolve(rolledBack.getHash())));
+        assertFalse(storedBlobRepository.existsById(rolledBack.getHash()));
+
+        // --- WHEN ---
+        String hash = blobStorageService.attach(blobStorageService.stage(content(text), "Megoldas.java"));
+        entityManager.clear();
+
+        // --- THEN ---
+        // a sor kódolása és a lemezen lévő fájl egyezik, a tartalom a sor szerint kibontva az eredeti
+        StoredBlob stored = storedBlobRepository.findById(hash).orElseThrow();
+        assertEquals(1L, stored.getRefCount());
+        assertEquals(BlobEncoding.GZIP, stored.getEncoding());
+        assertEquals(stored.getStoredSize(), Files.size(blobStorageService.resolve(hash)));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(blobStorageService.resolve(hash)))) {
+            assertEquals(text, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void collectGarbage_ShouldDeleteOnlyUnreferencedBlobs() throws IOException {
+        // --- GIVEN ---
+        // a "shared" tartalomra a megmaradó task is hivatkozik, az "own" csak a törlendőé
+        Task deleted = persistTask("Törlendő");
+        Task kept = persistTask("Marad");
+        String shared = persistApplication(deleted, "shared");
+        String own = persistApplication(deleted, "own");
+        persistApplication(kept, "shared");
+        entityManager.flush();
+
+        // --- WHEN ---
+        blobStorageService.releaseTask(deleted.getId());
+        entityManager.clear();
+        entityManager.remove(entityManager.find(Task.class, deleted.getId()));
+        entityManager.flush();
+        int collected = blobStorageService.collectGarbage(100);
+        entityManager.clear();
+
+        // --- THEN ---
+        assertEquals(1, collected);
+        assertFalse(storedBlobRepository.existsById(own));
+        assertFalse(Files.exists(blobStorageService.resolve(own)));
+        assertEquals(1L, storedBlobRepository.findById(shared).orElseThrow().getRefCount());
+        assertTrue(Files.exists(blobStorageService.resolve(shared)));
+    }
+
+    @Test
+    void deleteOrphanFiles_ShouldDeleteOldFilesWithoutRow() throws IOException {
+        // --- GIVEN ---
+        // Visszagörgetett feltöltések fájljai (sor nélkül), egy hivatkozott blob és egy bennragadt ideiglenes fájl
+        FileTime old = FileTime.from(Instant.now().minus(Duration.ofDays(1)));
+        String referenced = persistApplication(persistTask("Árvák"), "referenced");
+        entityManager.flush();
+        Files.setLastModifiedTime(blobStorageService.resolve(referenced), old);
+        Path orphan = writeBlobFile("a".repeat(64), old);
+        Path otherOrphan = writeBlobFile("b".repeat(64), old);
+        Path recent = writeBlobFile("c".repeat(64), FileTime.from(Instant.now())); // lehet, hogy épp egy nyitott tranzakcióé
+        Path staleTmp = blobDir.resolve(".tmp").resolve("upload-1.tmp");
+        Files.write(staleTmp, new byte[]{1});
+        Files.setLastModifiedTime(staleTmp, old);
+
+        // --- WHEN ---
+        int deleted = blobStorageService.deleteOrphanFiles(1);
+        entityManager.clear();
+
+        // --- THEN ---
+        assertEquals(2, deleted);
+        assertFalse(Files.exists(orphan));
+        assertFalse(Files.exists(otherOrphan));
+        assertFalse(Files.exists(staleTmp));
+        assertTrue(Files.exists(recent));
+        assertTrue(Files.exists(blobStorageService.resolve(referenced)));
+        assertEquals(1L, storedBlobRepository.findById(referenced).orElseThrow().getRefCount());
+        assertFalse(storedBlobRepository.existsById("a".repeat(64))); // az örökbefogadó sor sem marad meg
+    }
+
+    @Test
+    void stage_ShouldCompressTextAndSkipArchives() throws IOException {
+        // --- GIVEN ---
+        String text = "public class Megoldas {}\n".repeat(1000);
+        byte[] zip = new byte[text.length()];
+        System.arraycopy(new byte[]{0x50, 0x4B, 0x03, 0x04}, 0, zip, 0, 4); // "PK\3\4" fejléc, a többi nulla
+
+        // --- WHEN ---
+        StagedBlob source = blobStorageService.stage(content(text), "Megoldas.java");
+        // a nullákkal teli "zip" jól tömöríthető lenne, de a fájl-aláírás alapján kimarad
+        StagedBlob archive = blobStorageService.stage(new ByteArrayInputStream(zip), "megoldas.bin");
+        Task task = persistTask("Tárhely");
+        Application application = new Application(task, "uid", "student1", null, LocalDateTime.now());
+        application.setBlobHash(blobStorageService.attach(source));
+        entityManager.persist(application);
+        entityManager.flush();
+
+        // --- THEN ---
+        assertEquals(BlobEncoding.GZIP, source.getEncoding());
+        assertEquals(text.length(), source.getSize());
+        assertTrue(source.getStoredSize() < source.getSize() / 10);
+        assertEquals(BlobEncoding.IDENTITY, archive.getEncoding());
+        assertEquals(zip.length, archive.getStoredSize());
+        blobStorageService.discard(archive);
+
+        // a lemezen tömörítve, a hash az eredeti tartalomé
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(blobStorageService.resolve(source.getHash())))) {
+            assertEquals(text, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        TaskStorageDTO storage = blobStorageService.getTaskStorage(task.getId());
+        assertEquals(1L, storage.getSubmissionCount());
+        assertEquals(text.length(), storage.getOriginalBytes());
+        assertEquals(source.getStoredSize(), storage.getStoredBytes());
+        assertTrue(storage.getCompressionRatio() > 10);
+    }
+
+    private Task persistTask(String title) {
+        return entityManager.persist(task(title, EvaluationType.TEXT));
+    }
+
+    private String persistApplication(Task task, String text) throws IOException {
+        Application application = new Application(task, "uid", "student1", null, LocalDateTime.now());
+        application.setBlobHash(blobStorageService.attach(blobStorageService.stage(content(text), text + ".txt")));
+        application.setFileName(text + ".txt");
+        entityManager.persist(application);
+        return application.getBlobHash();
+    }
+
+    private Path writeBlobFile(String hash, FileTime modified) throws IOException {
+        Path file = blobStorageService.resolve(hash);
+        Files.createDirectories(file.getParent());
+        Files.write(file, hash.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, modified);
+        return file;
+    }
+
+    private ByteArrayInputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
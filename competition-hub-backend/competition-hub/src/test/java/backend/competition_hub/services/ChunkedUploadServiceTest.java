@@ -0,0 +1,157 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.ServiceSliceTest;
+import backend.competition_hub.UploadSessionStatus;
+import backend.competition_hub.dtos.UploadSessionDTO;
+import backend.competition_hub.entities.UploadSession;
+import backend.competition_hub.repositories.UploadSessionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// A commit saját tranzakcióban fut (sorzár, commit utáni takarítás), ezért a teszt nem nyit tranzakciót
+@ServiceSliceTest(properties = {"upload.chunk-dir=${java.io.tmpdir}/competition-hub-chunk-test",
+        "storage.blob-dir=${java.io.tmpdir}/competition-hub-chunk-test-blobs"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChunkedUploadServiceTest {
+
+    private static final byte[] CONTENT = "darabolt beküldés".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @MockBean
+    private ApplicationService applicationService;
+
+    @Value("${upload.chunk-dir}")
+    private Path chunkDir;
+
+    @BeforeEach
+    void setUp() {
+        when(applicationService.checkSubmission(anyLong(), any(), anyString())).thenReturn(ResponseEntity.ok().build());
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        uploadSessionRepository.deleteAll();
+        FileSystemUtils.deleteRecursively(chunkDir);
+    }
+
+    @Test
+    void commitUpload_ShouldSubmitOnceWhenCommittedConcurrentlyOrRetried() throws Exception {
+        // --- GIVEN ---
+        String uploadId = uploadAllChunks();
+        // a tranzakcióba már a hash-elt, stage-elt blob érkezik
+        String hash = sha256(CONTENT);
+        when(applicationService.submitUploadedFile(eq(1L), isNull(), eq("uid"), eq("student1"), eq("beadando.zip"),
+                argThat(blob -> blob.getHash().equals(hash) && Files.exists(blob.getFile())),
+                any(LocalDateTime.class))).thenAnswer(invocation -> {
+            Thread.sleep(200); // a második commit közben a zárolt sorra vár
+            return ResponseEntity.ok("File uploaded and application submitted successfully.");
+        });
+
+        // --- WHEN ---
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        List<Future<ResponseEntity<String>>> commits;
+        try {
+            commits = List.of(clients.submit(() -> chunkedUploadService.commitUpload(uploadId)),
+                    clients.submit(() -> chunkedUploadService.commitUpload(uploadId)));
+            for (Future<ResponseEntity<String>> commit : commits) {
+                assertEquals(HttpStatus.OK, commit.get(10, TimeUnit.SECONDS).getStatusCode());
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        ResponseEntity<String> retried = chunkedUploadService.commitUpload(uploadId);
+
+        // --- THEN ---
+        assertEquals(HttpStatus.OK, retried.getStatusCode());
+        verify(applicationService, times(1)).submitUploadedFile(any(), any(), any(), any(), any(), any(), any());
+        assertEquals(UploadSessionStatus.COMMITTED, uploadSessionRepository.findById(uploadId).orElseThrow().getStatus());
+        assertFalse(Files.exists(chunkDir.resolve(uploadId))); // a darabok a commit után törlődnek
+        assertEquals(HttpStatus.CONFLICT, putChunk(uploadId).getStatusCode());
+    }
+
+    @Test
+    void expiredSessions_ShouldBeRejectedAndCleanedUp() throws Exception {
+        // --- GIVEN ---
+        String uploadId = uploadAllChunks();
+        UploadSession session = uploadSessionRepository.findById(uploadId).orElseThrow();
+        session.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        uploadSessionRepository.save(session);
+        // sor nélküli, régi darabkönyvtár (pl. leállás a sor és a könyvtár törlése között)
+        Path orphan = Files.createDirectories(chunkDir.resolve("orphan"));
+        Files.setLastModifiedTime(orphan, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2)));
+
+        // --- WHEN ---
+        ResponseEntity<String> commit = chunkedUploadService.commitUpload(uploadId);
+        int deleted = chunkedUploadService.deleteExpiredSessions(10);
+
+        // --- THEN ---
+        assertEquals(HttpStatus.GONE, commit.getStatusCode());
+        verify(applicationService, never()).submitUploadedFile(any(), any(), any(), any(), any(), any(), any());
+        assertEquals(1, deleted);
+        assertTrue(uploadSessionRepository.findById(uploadId).isEmpty());
+        assertFalse(Files.exists(chunkDir.resolve(uploadId)));
+        assertFalse(Files.exists(orphan));
+    }
+
+    // Egy darabos feltöltés: init + az egyetlen darab
+    private String uploadAllChunks() throws Exception {
+        ResponseEntity<Object> init = chunkedUploadService.initUpload(1L, null, "uid", "student1", "beadando.zip",
+                (long) CONTENT.length);
+        assertEquals(HttpStatus.CREATED, init.getStatusCode());
+        String uploadId = ((UploadSessionDTO) init.getBody()).getUploadId();
+        assertEquals(HttpStatus.OK, putChunk(uploadId).getStatusCode());
+        return uploadId;
+    }
+
+    private ResponseEntity<Object> putChunk(String uploadId) throws Exception {
+        return chunkedUploadService.putChunk(uploadId, 0, sha256(CONTENT), new ByteArrayInputStream(CONTENT));
+    }
+
+    private static String sha256(byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
@@ -0,0 +1,148 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.metrics.StorageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileStreamerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FileStreamer fileStreamer = new FileStreamer(new StorageMetrics(meterRegistry));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void stream_ShouldReturnPartialContent_ForSingleRange() throws Exception {
+        // --- GIVEN ---
+        Path file = Files.writeString(tempDir.resolve("submission.zip"), "0123456789");
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=2-5");
+
+        // --- WHEN ---
+        ResponseEntity<StreamingResponseBody> response = fileStreamer.stream(file, "submission.zip", request);
+
+        // --- THEN ---
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals(4, response.getHeaders().getContentLength());
+        assertEquals("bytes 2-5/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals("2345", write(response));
+    }
+
+    @Test
+    void stream_ShouldIgnoreRange_WhenIfRangeDoesNotMatch() throws Exception {
+        // --- GIVEN ---
+        Path file = Files.writeString(tempDir.resolve("submission.zip"), "0123456789");
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=2-5");
+        request.set(HttpHeaders.IF_RANGE, "\"regi-verzio\"");
+
+        // --- WHEN ---
+        ResponseEntity<StreamingResponseBody> response = fileStreamer.stream(file, "submission.zip", request);
+
+        // --- THEN ---
+        // A fájl megváltozott a kliens szerint ismert változathoz képest -> teljes tartalom
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(10, response.getHeaders().getContentLength());
+        assertEquals("0123456789", write(response));
+    }
+
+    @Test
+    void stream_ShouldRecordSentBytesAndReadTime() throws Exception {
+        // --- GIVEN ---
+        Path file = Files.writeString(tempDir.resolve("submission.zip"), "0123456789");
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=2-5");
+
+        // --- WHEN ---
+        write(fileStreamer.stream(file, "submission.zip", request));
+
+        // --- THEN ---
+        // Tartománykérésnél csak a ténylegesen elküldött bájtok számítanak
+        assertEquals(4, meterRegistry.get("storage.download.bytes").counter().count());
+        assertEquals(1, meterRegistry.get("storage.file.io").tag("operation", "read").timer().count());
+    }
+
+    @Test
+    void stream_ShouldReturn416_WhenRangeStartsAfterEnd() throws Exception {
+        // --- GIVEN ---
+        Path file = Files.writeString(tempDir.resolve("submission.zip"), "0123456789");
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=50-");
+
+        // --- WHEN ---
+        ResponseEntity<StreamingResponseBody> response = fileStreamer.stream(file, "submission.zip", request);
+
+        // --- THEN ---
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void streamGzip_ShouldSendStoredBytes_WhenClientAcceptsGzip() throws Exception {
+        // --- GIVEN ---
+        Path file = gzip(tempDir.resolve("blob"), "0123456789");
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8");
+
+        // --- WHEN ---
+        ResponseEntity<StreamingResponseBody> response = fileStreamer.streamGzip(file, 10, "submission.txt", request);
+
+        // --- THEN ---
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(Files.size(file), response.getHeaders().getContentLength());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("0123456789", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void streamGzip_ShouldDecompressRange_WhenClientDoesNotAcceptGzip() throws Exception {
+        // --- GIVEN ---
+        Path file = gzip(tempDir.resolve("blob"), "0123456789");
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0");
+        request.set(HttpHeaders.RANGE, "bytes=2-5");
+
+        // --- WHEN ---
+        ResponseEntity<StreamingResponseBody> response = fileStreamer.streamGzip(file, 10, "submission.txt", request);
+
+        // --- THEN ---
+        // A tartomány az eredeti (kibontott) tartalomra vonatkozik
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("bytes 2-5/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals("2345", write(response));
+    }
+
+    private Path gzip(Path file, String content) throws Exception {
+        try (GZIPOutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+
+    private String write(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,119 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.ServiceSliceTest;
+import backend.competition_hub.dtos.LeaderboardDTO;
+import backend.competition_hub.dtos.LeaderboardEntryDTO;
+import backend.competition_hub.entities.Application;
+import backend.competition_hub.entities.Round;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.events.ReviewPointsChangedEvent;
+import backend.competition_hub.events.ReviewPointsChangedEvent.ScoredApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static backend.competition_hub.TestEntities.application;
+import static backend.competition_hub.TestEntities.round;
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ServiceSliceTest
+class LeaderboardServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LeaderboardServiceImpl leaderboardService;
+
+    private final LocalDateTime reviewedAt = LocalDateTime.now().minusHours(1);
+
+    @Test
+    void getLeaderboard_ShouldSumBestScoresOfRounds() {
+        // --- GIVEN ---
+        Task task = persistTask(EvaluationType.POINTS);
+        Round first = persistRound(task);
+        Round second = persistRound(task);
+        persistApplication(task, first, "anna", 6);
+        persistApplication(task, first, "anna", 9);   // ugyanabban a fordulóban a legjobb számít
+        persistApplication(task, second, "anna", 4);
+        persistApplication(task, first, "bela", 8);
+        persistApplication(task, second, "bela", 5);
+        persistApplication(task, first, "cecil", null); // még nincs értékelve
+        entityManager.flush();
+        entityManager.clear();
+
+        // --- WHEN ---
+        LeaderboardDTO total = leaderboardService.getLeaderboard(task.getId(), null, 10).getBody();
+        LeaderboardDTO round = leaderboardService.getLeaderboard(task.getId(), first.getId(), 10).getBody();
+
+        // --- THEN ---
+        assertEquals(List.of(new LeaderboardEntryDTO(1, "anna", 13), new LeaderboardEntryDTO(1, "bela", 13)), total.getEntries());
+        assertEquals(List.of(new LeaderboardEntryDTO(1, "anna", 9), new LeaderboardEntryDTO(2, "bela", 8)), round.getEntries());
+        assertEquals(2, round.getParticipants());
+    }
+
+    @Test
+    void onReviewPointsChanged_ShouldUpdateLoadedBoardIncrementally() {
+        // --- GIVEN ---
+        Task task = persistTask(EvaluationType.BOTH);
+        Round first = persistRound(task);
+        Round second = persistRound(task);
+        Application anna = persistApplication(task, first, "anna", 9);
+        persistApplication(task, second, "anna", 4);
+        Application bela = persistApplication(task, first, "bela", 2);
+        entityManager.flush();
+        entityManager.clear();
+        leaderboardService.getLeaderboard(task.getId(), null, 10);
+
+        // --- WHEN ---
+        leaderboardService.onReviewPointsChanged(new ReviewPointsChangedEvent(task.getId(), List.of(
+                new ScoredApplication(bela.getId(), first.getId(), "bela", 10, reviewedAt.plusMinutes(5)),
+                new ScoredApplication(anna.getId(), first.getId(), "anna", 3, reviewedAt.plusMinutes(5)))));
+        // késve érkezett, régebbi értékelés: nem írja felül az újabbat
+        leaderboardService.onReviewPointsChanged(new ReviewPointsChangedEvent(task.getId(), List.of(
+                new ScoredApplication(bela.getId(), first.getId(), "bela", 1, reviewedAt.plusMinutes(1)))));
+
+        // --- THEN ---
+        assertEquals(new LeaderboardEntryDTO(1, "bela", 10), leaderboardService.getRank(task.getId(), null, "bela").getBody());
+        assertEquals(new LeaderboardEntryDTO(2, "anna", 7), leaderboardService.getRank(task.getId(), null, "anna").getBody());
+        assertEquals(new LeaderboardEntryDTO(2, "anna", 3), leaderboardService.getRank(task.getId(), first.getId(), "anna").getBody());
+    }
+
+    @Test
+    void getLeaderboard_ShouldRejectTextTasksAndForeignRounds() {
+        // --- GIVEN ---
+        Task text = persistTask(EvaluationType.TEXT);
+        Task scored = persistTask(EvaluationType.POINTS);
+        Round foreign = persistRound(persistTask(EvaluationType.POINTS));
+        entityManager.flush();
+        entityManager.clear();
+
+        // --- WHEN / THEN ---
+        assertEquals(HttpStatus.NOT_FOUND, leaderboardService.getLeaderboard(text.getId(), null, 10).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, leaderboardService.getLeaderboard(scored.getId(), foreign.getId(), 10).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, leaderboardService.getRank(scored.getId(), null, "nobody").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, leaderboardService.getLeaderboard(scored.getId(), null, 0).getStatusCode());
+    }
+
+    private Task persistTask(EvaluationType evaluationType) {
+        return entityManager.persist(task("Pontozott", evaluationType));
+    }
+
+    private Round persistRound(Task task) {
+        return entityManager.persist(round(task, "Forduló", LocalDate.now().plusDays(3), false));
+    }
+
+    private Application persistApplication(Task task, Round round, String username, Integer points) {
+        Application application = application(task, round, username);
+        application.setReviewPoints(points);
+        application.setReviewCreatedAt(points != null ? reviewedAt : null);
+        return entityManager.persist(application);
+    }
+}
@@ -0,0 +1,54 @@
+package backend.competition_hub.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LeaderboardTest {
+
+    @Test
+    void rank_ShouldShareRankOnTies() {
+        // --- GIVEN ---
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.set("anna", 7);
+        leaderboard.set("bela", 9);
+        leaderboard.set("cecil", 7);
+        leaderboard.set("dora", 3);
+
+        // --- WHEN ---
+        leaderboard.set("dora", 8);
+        leaderboard.remove("bela");
+
+        // --- THEN ---
+        assertEquals(List.of(new Leaderboard.Entry("dora", 8), new Leaderboard.Entry("anna", 7)), leaderboard.top(2));
+        assertEquals(1, leaderboard.rank("dora"));
+        assertEquals(2, leaderboard.rank("anna"));
+        assertEquals(2, leaderboard.rank("cecil"));
+        assertNull(leaderboard.rank("bela"));
+        assertEquals(3, leaderboard.size());
+    }
+
+    @Test
+    void rank_ShouldSurviveGrowingTotals() {
+        // --- GIVEN ---
+        Leaderboard leaderboard = new Leaderboard();
+        for (int i = 0; i < 50; i++) {
+            leaderboard.set("student" + i, i % 11);
+        }
+
+        // --- WHEN ---
+        // összesített pontszámok: több forduló után a kezdeti fa méretén túl
+        leaderboard.set("student3", 40);
+        leaderboard.set("student4", 150);
+
+        // --- THEN ---
+        assertEquals(1, leaderboard.rank("student4"));
+        assertEquals(2, leaderboard.rank("student3"));
+        assertEquals(3, leaderboard.rank("student10")); // 10 pont: student10, 21, 32, 43
+        assertEquals(7, leaderboard.rank("student9"));
+        assertEquals(50, leaderboard.size());
+    }
+}
@@ -0,0 +1,113 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.ServiceSliceTest;
+import backend.competition_hub.dtos.ReviewRequestDTO;
+import backend.competition_hub.dtos.ReviewResultDTO;
+import backend.competition_hub.entities.Application;
+import backend.competition_hub.entities.Task;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static backend.competition_hub.TestEntities.application;
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ServiceSliceTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReviewBatchTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Test
+    void updateReviews_ShouldReturnPerItemResults() {
+        // --- GIVEN ---
+        Task task = persistTask(EvaluationType.POINTS);
+        Application valid = persistApplication(task, "student1");
+        Application invalid = persistApplication(task, "student2");
+        Application foreign = persistApplication(persistTask(EvaluationType.POINTS), "student3");
+        entityManager.flush();
+        entityManager.clear();
+
+        // --- WHEN ---
+        ResponseEntity<Object> response = applicationService.updateReviews(task.getId(), List.of(
+                new ReviewRequestDTO(valid.getId(), "ignored", 8),
+                new ReviewRequestDTO(invalid.getId(), null, 12),      // 0-10 a megengedett
+                new ReviewRequestDTO(foreign.getId(), null, 5),       // másik task beküldése
+                new ReviewRequestDTO(-1L, null, 5)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // --- THEN ---
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        @SuppressWarnings("unchecked")
+        List<ReviewResultDTO> results = (List<ReviewResultDTO>) response.getBody();
+        assertEquals(List.of(200, 400, 404, 404), results.stream().map(ReviewResultDTO::getStatus).toList());
+
+        Application saved = entityManager.find(Application.class, valid.getId());
+        assertEquals(8, saved.getReviewPoints());
+        assertNull(saved.getReviewText()); // POINTS típusnál a szöveg nem mentődik
+        assertNull(entityManager.find(Application.class, invalid.getId()).getReviewPoints());
+    }
+
+    @Test
+    void updateReviews_ShouldUseConstantNumberOfStatements() {
+        // --- GIVEN ---
+        Task small = persistTask(EvaluationType.BOTH);
+        Task large = persistTask(EvaluationType.BOTH);
+        List<ReviewRequestDTO> smallBatch = reviews(small, 5);
+        List<ReviewRequestDTO> largeBatch = reviews(large, 40);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // --- WHEN ---
+        statistics.clear();
+        applicationService.updateReviews(small.getId(), smallBatch);
+        entityManager.flush();
+        long smallStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        statistics.clear();
+        applicationService.updateReviews(large.getId(), largeBatch);
+        entityManager.flush();
+        long largeStatements = statistics.getPrepareStatementCount();
+
+        // --- THEN ---
+        // task + beküldések betöltése, majd egy kötegelt UPDATE (batch_size=50)
+        assertEquals(smallStatements, largeStatements, "Az utasítások száma nem függhet a tételek számától");
+    }
+
+    private List<ReviewRequestDTO> reviews(Task task, int count) {
+        List<ReviewRequestDTO> reviews = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Application application = persistApplication(task, "student" + i);
+            reviews.add(new ReviewRequestDTO(application.getId(), "Szép munka", i % 11));
+        }
+        return reviews;
+    }
+
+    private Task persistTask(EvaluationType evaluationType) {
+        return entityManager.persist(task("Értékelendő", evaluationType));
+    }
+
+    private Application persistApplication(Task task, String username) {
+        return entityManager.persist(application(task, null, username));
+    }
+}
@@ -0,0 +1,119 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.ServiceSliceTest;
+import backend.competition_hub.dtos.RoundActivationNotificationDTO;
+import backend.competition_hub.entities.Application;
+import backend.competition_hub.entities.Elimination;
+import backend.competition_hub.entities.ReadWatermark;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.events.NotificationType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static backend.competition_hub.TestEntities.application;
+import static backend.competition_hub.TestEntities.round;
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ServiceSliceTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RoundActivationNotificationQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Test
+    void listRoundActivationNotifications_ShouldUseConstantNumberOfStatements() {
+        // --- GIVEN ---
+        // "few": 2 beküldés 2 taskban, "many": 40 beküldés 10 taskban
+        seed("few", 2, 1);
+        seed("many", 10, 4);
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // --- WHEN ---
+        statistics.clear();
+        List<RoundActivationNotificationDTO> few = applicationService.listRoundActivationNotifications("few");
+        long fewStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<RoundActivationNotificationDTO> many = applicationService.listRoundActivationNotifications("many");
+        long manyStatements = statistics.getPrepareStatementCount();
+
+        // --- THEN ---
+        assertEquals(2, few.size());
+        assertEquals(10, many.size()); // taskonként egy értesítés, nem beküldésenként
+        assertEquals(1, fewStatements);
+        assertEquals(fewStatements, manyStatements, "A lekérdezések száma nem függhet a beküldések számától");
+    }
+
+    @Test
+    void listRoundActivationNotifications_ShouldSkipSeenAndEliminated() {
+        // --- GIVEN ---
+        LocalDateTime activatedAt = LocalDateTime.now().minusHours(1);
+
+        Task seenTask = persistTask("Látott", activatedAt, List.of());
+        persistApplication(seenTask, "student1");
+        // aktiválás után megnézte
+        entityManager.persist(new ReadWatermark("student1", seenTask.getId(), NotificationType.ROUND_ACTIVATED,
+                activatedAt.plusMinutes(1)));
+
+        Task eliminatedTask = persistTask("Kizárt", activatedAt, List.of("student1"));
+        persistApplication(eliminatedTask, "student1");
+
+        Task freshTask = persistTask("Friss", activatedAt, List.of());
+        persistApplication(freshTask, "student1");
+        entityManager.flush();
+        entityManager.clear();
+
+        // --- WHEN ---
+        List<RoundActivationNotificationDTO> result = applicationService.listRoundActivationNotifications("student1");
+
+        // --- THEN ---
+        assertEquals(1, result.size());
+        assertEquals(freshTask.getId(), result.get(0).taskId);
+    }
+
+    private void seed(String username, int taskCount, int applicationsPerTask) {
+        for (int i = 0; i < taskCount; i++) {
+            Task task = persistTask(username + " task " + i, LocalDateTime.now(), List.of("someone_else"));
+            for (int j = 0; j < applicationsPerTask; j++) {
+                persistApplication(task, username);
+            }
+        }
+        entityManager.flush();
+    }
+
+    private Task persistTask(String title, LocalDateTime activatedAt, List<String> eliminated) {
+        Task task = task(title, EvaluationType.TEXT);
+        round(task, "1. forduló", LocalDate.now().minusDays(1), false).setActivatedAt(activatedAt);
+        entityManager.persist(task);
+
+        for (String username : eliminated) {
+            Elimination elimination = new Elimination();
+            elimination.setTask(task);
+            elimination.setUsername(username);
+            elimination.setEliminatedAt(activatedAt);
+            entityManager.persist(elimination);
+        }
+        return task;
+    }
+
+    private Application persistApplication(Task task, String username) {
+        return entityManager.persist(application(task, null, username));
+    }
+}
@@ -0,0 +1,147 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.ServiceSliceTest;
+import backend.competition_hub.entities.Round;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.events.NotificationEvent;
+import backend.competition_hub.events.NotificationType;
+import backend.competition_hub.repositories.ApplicationRepository;
+import backend.competition_hub.repositories.RoundRepository;
+import backend.competition_hub.repositories.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static backend.competition_hub.TestEntities.application;
+import static backend.competition_hub.TestEntities.round;
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Tranzakció nélkül: a SKIP LOCKED teszthez két valódi, párhuzamos tranzakció kell
+@ServiceSliceTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+class RoundAdvancementTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private RoundRepository roundRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private final List<Long> taskIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (Long taskId : taskIds) {
+            jdbcTemplate.update("delete from application where task_id = ?", taskId);
+            jdbcTemplate.update("delete from task_revision where task_id = ?", taskId);
+            jdbcTemplate.update("delete from round where task_id = ?", taskId);
+            jdbcTemplate.update("delete from task where id = ?", taskId);
+        }
+    }
+
+    @Test
+    void advanceExpiredRounds_ShouldActivateNextRoundAndNotifyApplicants() {
+        // --- GIVEN ---
+        Task expired = persistTask(LocalDate.now().minusDays(1), LocalDate.now().plusDays(5));
+        applicationRepository.save(application(expired, null, "student1"));
+        Task lastRound = persistTask(LocalDate.now().minusDays(2));      // nincs következő forduló
+        Task running = persistTask(LocalDate.now().plusDays(2), LocalDate.now().plusDays(9));
+
+        // --- WHEN ---
+        taskService.advanceExpiredRounds(100);
+
+        // --- THEN ---
+        List<Round> rounds = rounds(expired);
+        assertFalse(rounds.get(0).getIsActive());
+        assertNotNull(rounds.get(0).getActivatedAt());
+        assertTrue(rounds.get(1).getIsActive());
+
+        assertTrue(rounds(lastRound).get(0).getIsActive(), "Utolsó fordulóból nincs hova lépni");
+        assertTrue(rounds(running).get(0).getIsActive(), "A határidő még nem járt le");
+        assertNull(rounds(running).get(0).getActivatedAt());
+
+        List<NotificationEvent> notifications = events.stream(NotificationEvent.class)
+                .filter(e -> e.getType() == NotificationType.ROUND_ACTIVATED)
+                .toList();
+        assertEquals(1, notifications.size());
+        assertEquals(expired.getId(), notifications.get(0).getTaskId());
+        assertEquals(Set.of("student1"), notifications.get(0).getUsernames());
+    }
+
+    @Test
+    void advanceExpiredRounds_ShouldSkipRoundsLockedByAnotherNode() throws Exception {
+        // --- GIVEN ---
+        Task older = persistTask(LocalDate.now().minusDays(3), LocalDate.now().plusDays(5));
+        Task newer = persistTask(LocalDate.now().minusDays(1), LocalDate.now().plusDays(5));
+
+        // --- WHEN ---
+        // "A" példány épp a régebbi task lejárt fordulóját dolgozza fel (sorzár), közben "B" példány fut
+        Long lockedRoundId = rounds(older).get(0).getId();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("select id from round where id = ? for update", lockedRoundId);
+            CompletableFuture.runAsync(() -> taskService.advanceExpiredRounds(100)).orTimeout(30, TimeUnit.SECONDS).join();
+        });
+
+        // --- THEN ---
+        assertTrue(rounds(newer).get(1).getIsActive(), "A nem zárolt forduló továbblép");
+        assertTrue(rounds(older).get(0).getIsActive(), "A zárolt fordulót B átugorta");
+
+        taskService.advanceExpiredRounds(100);
+        assertTrue(rounds(older).get(1).getIsActive(), "A zár feloldása után a következő futás viszi");
+    }
+
+    private List<Round> rounds(Task task) {
+        return roundRepository.findAll().stream()
+                .filter(r -> r.getTask().getId().equals(task.getId()))
+                .sorted((a, b) -> a.getDeadline().compareTo(b.getDeadline()))
+                .toList();
+    }
+
+    // Az első forduló aktív, a többi még nem
+    private Task persistTask(LocalDate... deadlines) {
+        Task task = task("Fordulóváltás", EvaluationType.TEXT);
+        task.setApplicationDeadline(deadlines[0]);
+        for (int i = 0; i < deadlines.length; i++) {
+            round(task, (i + 1) + ". forduló", deadlines[i], i == 0);
+        }
+        Task saved = taskRepository.save(task);
+        taskIds.add(saved.getId());
+        return saved;
+    }
+}
@@ -0,0 +1,150 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.ServiceSliceTest;
+import backend.competition_hub.dtos.CacheRegionStatisticsDTO;
+import backend.competition_hub.entities.Round;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.events.NotificationType;
+import backend.competition_hub.repositories.ReadWatermarkRepository;
+import backend.competition_hub.repositories.RoundRepository;
+import backend.competition_hub.repositories.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static backend.competition_hub.TestEntities.round;
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Tranzakció nélkül: a cache csak commit után töltődik, és a lekérdezés-cache a nyitott tranzakció írásait nem látja
+@ServiceSliceTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private RoundRepository roundRepository;
+
+    @Autowired
+    private ReadWatermarkRepository readWatermarkRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        taskId = taskRepository.save(newTask()).getId();
+        sessionFactory.getCache().evictAll();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            readWatermarkRepository.deleteByTaskId(taskId);
+            taskRepository.deleteById(taskId);
+        });
+    }
+
+    @Test
+    void findById_ShouldHitSecondLevelCacheOnRepeatedRead() {
+        // --- WHEN ---
+        taskRepository.findById(taskId).orElseThrow();
+        long afterFirst = statistics.getPrepareStatementCount();
+        Task cached = taskRepository.findById(taskId).orElseThrow();
+
+        // --- THEN ---
+        assertEquals(1, afterFirst);
+        assertEquals(afterFirst, statistics.getPrepareStatementCount(), "A második olvasás nem mehet az adatbázishoz");
+        assertEquals("Cache Feladat", cached.getTitle());
+        assertTrue(statistics.getDomainDataRegionStatistics("task").getHitCount() >= 1);
+    }
+
+    @Test
+    void findByTaskId_ShouldHitQueryCacheUntilEvicted() {
+        // --- WHEN ---
+        roundRepository.findByTaskId(taskId);
+        long afterFirst = statistics.getPrepareStatementCount();
+        List<Round> cached = roundRepository.findByTaskId(taskId);
+        long afterSecond = statistics.getPrepareStatementCount();
+
+        entityCacheService.evictTask(taskId);
+        roundRepository.findByTaskId(taskId);
+
+        // --- THEN ---
+        assertEquals(2, cached.size());
+        assertEquals(afterFirst, afterSecond, "A fordulók a lekérdezés- és entitás-cache-ből jönnek");
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertTrue(statistics.getPrepareStatementCount() > afterSecond, "Ürítés után újra az adatbázisból olvas");
+    }
+
+    @Test
+    void nativeUpsert_ShouldNotInvalidateEntityRegions() {
+        // --- GIVEN ---
+        taskRepository.findById(taskId).orElseThrow();
+        roundRepository.findByTaskId(taskId);
+
+        // --- WHEN ---
+        // A megtekintés natív UPSERT-tel ír, ez gyakori: nem ürítheti a Task / Round cache-t
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> readWatermarkRepository.markSeen(
+                "creator", taskId, NotificationType.NEW_APPLICATION.name(), LocalDateTime.now()));
+        statistics.clear();
+        taskRepository.findById(taskId).orElseThrow();
+        roundRepository.findByTaskId(taskId);
+
+        // --- THEN ---
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getStatistics_ShouldReportRegionHits() {
+        // --- GIVEN ---
+        taskRepository.findById(taskId).orElseThrow();
+        taskRepository.findById(taskId).orElseThrow();
+
+        // --- WHEN ---
+        List<CacheRegionStatisticsDTO> result = entityCacheService.getStatistics();
+
+        // --- THEN ---
+        CacheRegionStatisticsDTO taskRegion = result.stream()
+                .filter(r -> r.getRegion().equals("task"))
+                .findFirst().orElseThrow();
+        assertEquals(1, taskRegion.getHitCount());
+        assertEquals(1, taskRegion.getMissCount());
+    }
+
+    private Task newTask() {
+        Task task = task("Cache Feladat", EvaluationType.TEXT);
+        for (int i = 1; i <= 2; i++) {
+            round(task, i + ". forduló", LocalDate.now().plusDays(i), i == 1);
+        }
+        return task;
+    }
+}
@@ -0,0 +1,150 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.ServiceSliceTest;
+import backend.competition_hub.entities.Application;
+import backend.competition_hub.entities.Round;
+import backend.competition_hub.entities.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static backend.competition_hub.TestEntities.application;
+import static backend.competition_hub.TestEntities.round;
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ServiceSliceTest(properties = "storage.blob-dir=${java.io.tmpdir}/competition-hub-export-test")
+class SubmissionExportTest {
+
+    private static final String SOURCE = "public class Megoldas {}\n".repeat(200);
+
+    @Autowired
+    private SubmissionExportService submissionExportService;
+
+    @Autowired
+    private BlobStorageService blobStorageService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Value("${storage.blob-dir}")
+    private Path blobDir;
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileSystemUtils.deleteRecursively(blobDir);
+    }
+
+    @Test
+    void exportSubmissions_ShouldStoreCompressedFilesAndDeflateTheRest() throws Exception {
+        // --- GIVEN ---
+        Task task = persistTask();
+        Round round = task.getRounds().get(0);
+        byte[] zip = new byte[1000];
+        System.arraycopy(new byte[]{0x50, 0x4B, 0x03, 0x04}, 0, zip, 0, 4);
+        Application source = persistApplication(task, round, "student1", "Megoldas.java", SOURCE.getBytes(StandardCharsets.UTF_8));
+        Application archive = persistApplication(task, null, "student2", "projekt.zip", zip);
+        archive.setReviewPoints(7);
+        // régi beküldés, a fájl már nincs meg: csak a manifestben szerepel
+        entityManager.persist(new Application(task, "uid", "student3", blobDir.resolve("nincs.txt").toString(), LocalDateTime.now()));
+        entityManager.flush();
+        entityManager.clear();
+
+        // --- WHEN ---
+        Map<String, ZipEntry> entries = new LinkedHashMap<>();
+        Map<String, byte[]> contents = new LinkedHashMap<>();
+        unzip(submissionExportService.exportSubmissions(task.getId(), null, true), entries, contents);
+
+        // --- THEN ---
+        String sourceName = "student1/" + source.getId() + "_Megoldas.java";
+        String archiveName = "student2/" + archive.getId() + "_projekt.zip";
+        assertEquals(List.of(sourceName, archiveName, "manifest.csv"), new ArrayList<>(entries.keySet()));
+        // a gzip-pel tárolt forrás kibontva, DEFLATE-tel kerül be; a zip változatlanul, STORE-ral
+        assertEquals(ZipEntry.DEFLATED, entries.get(sourceName).getMethod());
+        assertArrayEquals(SOURCE.getBytes(StandardCharsets.UTF_8), contents.get(sourceName));
+        assertEquals(ZipEntry.STORED, entries.get(archiveName).getMethod());
+        assertArrayEquals(zip, contents.get(archiveName));
+
+        String[] manifest = new String(contents.get("manifest.csv"), StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, manifest.length);
+        assertEquals("application_id,username,round_id,application_date,review_points,file", manifest[0]);
+        String[] sourceRow = manifest[1].split(",", -1);
+        assertEquals(List.of(String.valueOf(source.getId()), "student1", String.valueOf(round.getId()), "", sourceName),
+                List.of(sourceRow[0], sourceRow[1], sourceRow[2], sourceRow[4], sourceRow[5]));
+        String[] archiveRow = manifest[2].split(",", -1);
+        assertEquals(List.of("student2", "", "7", archiveName),
+                List.of(archiveRow[1], archiveRow[2], archiveRow[4], archiveRow[5]));
+        String[] missingRow = manifest[3].split(",", -1);
+        assertEquals(List.of("student3", ""), List.of(missingRow[1], missingRow[5]));
+    }
+
+    @Test
+    void exportSubmissions_ShouldFilterByRound() throws Exception {
+        // --- GIVEN ---
+        Task task = persistTask();
+        Round round = task.getRounds().get(0);
+        Application inRound = persistApplication(task, round, "student1", "a.txt", "a".getBytes(StandardCharsets.UTF_8));
+        persistApplication(task, null, "student2", "b.txt", "b".getBytes(StandardCharsets.UTF_8));
+        entityManager.flush();
+
+        // --- WHEN ---
+        Map<String, ZipEntry> entries = new LinkedHashMap<>();
+        unzip(submissionExportService.exportSubmissions(task.getId(), round.getId(), false), entries, new LinkedHashMap<>());
+        ResponseEntity<StreamingResponseBody> foreignRound = submissionExportService.exportSubmissions(task.getId(), -1L, false);
+
+        // --- THEN ---
+        assertEquals(List.of("student1/" + inRound.getId() + "_a.txt"), new ArrayList<>(entries.keySet()));
+        assertEquals(HttpStatus.NOT_FOUND, foreignRound.getStatusCode());
+    }
+
+    private void unzip(ResponseEntity<StreamingResponseBody> response, Map<String, ZipEntry> entries,
+                       Map<String, byte[]> contents) throws Exception {
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), entry);
+                contents.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+    }
+
+    private Task persistTask() {
+        Task task = task("Export", EvaluationType.POINTS);
+        round(task, "1. forduló", LocalDate.now().plusDays(7), true);
+        return entityManager.persist(task);
+    }
+
+    private Application persistApplication(Task task, Round round, String username, String fileName, byte[] content)
+            throws IOException {
+        Application application = application(task, round, username);
+        application.setFilePath(null);
+        application.setBlobHash(blobStorageService.attach(blobStorageService.stage(new ByteArrayInputStream(content), fileName)));
+        application.setFileName(fileName);
+        return entityManager.persist(application);
+    }
+}
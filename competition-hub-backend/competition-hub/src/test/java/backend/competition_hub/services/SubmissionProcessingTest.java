@@ -0,0 +1,155 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.ProcessingStatus;
+import backend.competition_hub.ServiceSliceTest;
+import backend.competition_hub.entities.Application;
+import backend.competition_hub.entities.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ServiceSliceTest(properties = "storage.blob-dir=${java.io.tmpdir}/competition-hub-processing-test")
+class SubmissionProcessingTest {
+
+    private static final String VIRUS_MARKER = "X5O!P%@AP";
+
+    @Autowired
+    private SubmissionProcessingService processingService;
+
+    @Autowired
+    private BlobStorageService blobStorageService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Value("${storage.blob-dir}")
+    private Path blobDir;
+
+    // A vizsgálati lépés bővítménye: a jelölőt tartalmazó fájlt elutasítja
+    @TestConfiguration
+    static class ScannerConfig {
+        @Bean
+        SubmissionScanner markerScanner() {
+            return (content, fileName, contentType) ->
+                    new String(content.readAllBytes(), StandardCharsets.ISO_8859_1).contains(VIRUS_MARKER)
+                            ? "Kártevő található a fájlban." : null;
+        }
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileSystemUtils.deleteRecursively(blobDir);
+    }
+
+    @Test
+    void process_ShouldDetectTypeAndCountEntriesAndPages() throws Exception {
+        // --- GIVEN ---
+        Task task = persistTask();
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(zip)) {
+            out.putNextEntry(new ZipEntry("src/"));
+            out.putNextEntry(new ZipEntry("src/Main.java"));
+            out.write("class Main {}".getBytes(StandardCharsets.UTF_8));
+            out.putNextEntry(new ZipEntry("README.md"));
+            out.write("# Megoldás".getBytes(StandardCharsets.UTF_8));
+        }
+        // Két oldal, egy oldalfa; a kitöltés miatt tömörítve tárolódik, a feldolgozás kibontva olvassa
+        String pdf = "%PDF-1.4\n1 0 obj << /Type /Pages /Kids [2 0 R 3 0 R] /Count 2 >> endobj\n"
+                + "2 0 obj << /Type /Page /Parent 1 0 R >> endobj\n"
+                + "3 0 obj << /Type/Page /Parent 1 0 R >> endobj\n"
+                + "% kitöltés\n".repeat(500) + "%%EOF\n";
+        // A kiterjesztés hamis: a tartalom dönt
+        Application archive = persistApplication(task, "student1", "megoldas.bin", zip.toByteArray());
+        Application document = persistApplication(task, "student2", "dolgozat.pdf", pdf.getBytes(StandardCharsets.ISO_8859_1));
+        Application text = persistApplication(task, "student3", "megoldas.py", "print('szia')\n".getBytes(StandardCharsets.UTF_8));
+
+        // --- WHEN ---
+        processingService.process(archive.getId());
+        processingService.process(document.getId());
+        processingService.process(text.getId());
+        entityManager.clear();
+
+        // --- THEN ---
+        Application processedArchive = entityManager.find(Application.class, archive.getId());
+        assertEquals(ProcessingStatus.DONE, processedArchive.getProcessingStatus());
+        assertEquals("application/zip", processedArchive.getContentType());
+        assertEquals(2, processedArchive.getArchiveEntries()); // a könyvtár nem számít
+        assertNull(processedArchive.getPageCount());
+
+        Application processedDocument = entityManager.find(Application.class, document.getId());
+        assertEquals(ProcessingStatus.DONE, processedDocument.getProcessingStatus());
+        assertEquals("application/pdf", processedDocument.getContentType());
+        assertEquals(2, processedDocument.getPageCount());
+
+        Application processedText = entityManager.find(Application.class, text.getId());
+        assertEquals(ProcessingStatus.DONE, processedText.getProcessingStatus());
+        assertTrue(processedText.getContentType().startsWith("text/"), processedText.getContentType());
+        assertNull(processedText.getProcessingError());
+    }
+
+    @Test
+    void process_ShouldRejectFlaggedAndFailCorruptedFiles() throws Exception {
+        // --- GIVEN ---
+        Task task = persistTask();
+        Application infected = persistApplication(task, "student1", "virus.txt",
+                ("kezdet " + VIRUS_MARKER + " vég").getBytes(StandardCharsets.US_ASCII));
+        Application corrupted = persistApplication(task, "student2", "adat.bin", new byte[]{1, 2, 3, 4});
+        // A lemezen lévő tartalom utólag megváltozott
+        Files.write(blobStorageService.resolve(corrupted.getBlobHash()), new byte[]{4, 3, 2, 1});
+
+        // --- WHEN ---
+        processingService.process(infected.getId());
+        processingService.process(corrupted.getId());
+        processingService.process(infected.getId()); // már nem PENDING: nem fut le újra
+        entityManager.clear();
+
+        // --- THEN ---
+        Application rejected = entityManager.find(Application.class, infected.getId());
+        assertEquals(ProcessingStatus.REJECTED, rejected.getProcessingStatus());
+        assertEquals("Kártevő található a fájlban.", rejected.getProcessingError());
+        assertEquals("text/plain", rejected.getContentType());
+
+        Application failed = entityManager.find(Application.class, corrupted.getId());
+        assertEquals(ProcessingStatus.FAILED, failed.getProcessingStatus());
+        assertTrue(failed.getProcessingError().contains("ellenőrzőösszeg"), failed.getProcessingError());
+    }
+
+    private Task persistTask() {
+        return entityManager.persist(task("Feldolgozás", EvaluationType.TEXT));
+    }
+
+    private Application persistApplication(Task task, String username, String fileName, byte[] content) throws IOException {
+        StagedBlob blob = blobStorageService.stage(new ByteArrayInputStream(content), fileName);
+        Application application = new Application();
+        application.setTask(task);
+        application.setKeycloakUserName(username);
+        application.setBlobHash(blobStorageService.attach(blob));
+        application.setFileName(fileName);
+        application.setApplicationDate(LocalDateTime.now());
+        application.setProcessingStatus(ProcessingStatus.PENDING);
+        application.setProcessingUpdatedAt(application.getApplicationDate());
+        blobStorageService.discard(blob);
+        return entityManager.persistAndFlush(application);
+    }
+}
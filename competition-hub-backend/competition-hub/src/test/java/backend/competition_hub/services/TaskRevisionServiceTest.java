@@ -0,0 +1,107 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.ServiceSliceTest;
+import backend.competition_hub.repositories.TaskRevisionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A lista sora a commit után lép, ezért a teszt nem nyit tranzakciót, a sajátjait commitolja
+@ServiceSliceTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskRevisionServiceTest {
+
+    private static final long TASK_ID = 900_001L;
+
+    @Autowired
+    private TaskRevisionService taskRevisionService;
+
+    @Autowired
+    private TaskRevisionRepository taskRevisionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from task_revision where task_id = ?", TASK_ID);
+    }
+
+    @Test
+    void taskChanged_ShouldBumpTaskListOnceAfterCommitWithoutLockingIt() throws Exception {
+        // --- GIVEN ---
+        long listBefore = revision(0L);
+        TransactionTemplate otherWriter = new TransactionTemplate(transactionManager);
+        otherWriter.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        ExecutorService otherInstance = Executors.newSingleThreadExecutor();
+
+        // --- WHEN ---
+        try {
+            transaction.executeWithoutResult(status -> {
+                taskRevisionService.taskChanged(TASK_ID);
+                taskRevisionService.taskChanged(TASK_ID);
+
+                // --- THEN ---
+                // A nyitott író tranzakció nem tartja a lista sorát: egy másik író azonnal léptetheti
+                try {
+                    otherInstance.submit(() -> otherWriter.executeWithoutResult(
+                            s -> taskRevisionRepository.bump(0L, LocalDateTime.now()))).get(5, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new AssertionError("task list row is locked by the writing transaction", e);
+                }
+                assertEquals(listBefore + 1, revision(0L));
+            });
+        } finally {
+            otherInstance.shutdownNow();
+        }
+
+        // Tranzakciónként egyszer, a commit után
+        assertEquals(listBefore + 2, revision(0L));
+        assertEquals(2L, revision(TASK_ID));
+    }
+
+    @Test
+    void taskChanged_ShouldNotBumpTaskListOnRollback() {
+        // --- GIVEN ---
+        long listBefore = revision(0L);
+
+        // --- WHEN ---
+        transaction.executeWithoutResult(status -> {
+            taskRevisionService.taskChanged(TASK_ID);
+            status.setRollbackOnly();
+        });
+
+        // --- THEN ---
+        assertEquals(listBefore, revision(0L));
+        assertTrue(taskRevisionRepository.findById(TASK_ID).isEmpty());
+    }
+
+    private long revision(long taskId) {
+        return jdbcTemplate.queryForObject("select revision from task_revision where task_id = ?", Long.class, taskId);
+    }
+}
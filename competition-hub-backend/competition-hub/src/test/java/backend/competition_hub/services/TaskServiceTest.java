@@ -2,14 +2,19 @@ package backend.competition_hub.services;
 
 import backend.competition_hub.entities.Round;
 import backend.competition_hub.entities.Task;
+import backend.competition_hub.events.NotificationEvent;
+import backend.competition_hub.events.NotificationType;
 import backend.competition_hub.repositories.RoundRepository;
 import backend.competition_hub.repositories.TaskRepository;
 import backend.competition_hub.repositories.ApplicationRepository;
+import backend.competition_hub.repositories.EliminationRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -17,9 +22,13 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +41,18 @@ class TaskServiceTest {
     private RoundRepository roundRepository;
     @Mock
     private ApplicationRepository applicationRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private UnreadCounterService unreadCounterService;
+    @Mock
+    private ReadWatermarkService readWatermarkService;
+    @Mock
+    private EliminationRepository eliminationRepository;
+    @Mock
+    private TaskRevisionService taskRevisionService;
+    @Mock
+    private BlobStorageService blobStorageService;
 
     @InjectMocks // Ebbe az osztályba injektáljuk a fenti mockokat
     private TaskServiceImpl taskService;
@@ -109,6 +130,8 @@ class TaskServiceTest {
         // Ellenőrizzük, hogy a mentés lefutott mindkettőre
         verify(roundRepository).save(currentRound);
         verify(roundRepository).save(nextRound);
+        // A feltételes GET-ek validátora is lép
+        verify(taskRevisionService).taskChanged(taskId);
     }
 
     @Test
@@ -133,38 +156,73 @@ class TaskServiceTest {
         assertEquals(403, response.getStatusCodeValue());
         // Nem szabad menteni semmit
         verify(roundRepository, org.mockito.Mockito.never()).save(any());
+        verify(taskRevisionService, never()).taskChanged(any());
     }
 
     @Test
-    void eliminateApplicants_ShouldUpdateListAndSave() {
+    void eliminateApplicants_ShouldWriteOnlyNewRows() {
         // --- GIVEN ---
         Long taskId = 5L;
         Task task = new Task();
         task.setId(taskId);
-        // Eredetileg üres lista
-        task.setEliminatedApplicants(new java.util.ArrayList<>());
+        // "user1" már ki volt zárva, "bad_actor" újonnan kerül be
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(eliminationRepository.findUsernamesByTaskId(taskId)).thenReturn(List.of("user1"));
+        when(roundRepository.findFirstByTaskIdAndIsActiveTrue(taskId)).thenReturn(Optional.empty());
+        when(eliminationRepository.add(eq(taskId), eq("bad_actor"), isNull(), any())).thenReturn(1);
 
-        // Új lista, amit a frontend küld
-        List<String> newEliminated = java.util.Arrays.asList("user1", "bad_actor");
+        // --- WHEN ---
+        ResponseEntity<Task> response = taskService.eliminateApplicants(taskId, List.of("user1", "bad_actor"));
 
-        when(taskRepository.findById(taskId)).thenReturn(java.util.Optional.of(task));
-        // A save híváskor visszaadjuk a módosított taskot
-        when(taskRepository.save(any(Task.class))).thenAnswer(i -> i.getArguments()[0]);
+        // --- THEN ---
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        // A már kizárt sorhoz nem nyúlunk, és semmit nem törlünk
+        verify(eliminationRepository, never()).add(eq(taskId), eq("user1"), any(), any());
+        verify(eliminationRepository, never()).deleteByTaskIdAndUsernameIn(any(), any());
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void eliminateApplicants_ShouldNotifyOnlyChangedUsers() {
+        // --- GIVEN ---
+        Long taskId = 5L;
+        Task task = new Task();
+        task.setId(taskId);
+        // "stays" már ki volt zárva, "restored" visszakerül, "newcomer" most esik ki
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(eliminationRepository.findUsernamesByTaskId(taskId)).thenReturn(List.of("stays", "restored"));
+        when(roundRepository.findFirstByTaskIdAndIsActiveTrue(taskId)).thenReturn(Optional.empty());
+        when(eliminationRepository.add(eq(taskId), eq("newcomer"), isNull(), any())).thenReturn(1);
 
         // --- WHEN ---
-        // Logika hívása
-        ResponseEntity<Task> response = taskService.eliminateApplicants(taskId, newEliminated);
+        taskService.eliminateApplicants(taskId, List.of("stays", "newcomer"));
 
         // --- THEN ---
-        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(eliminationRepository).deleteByTaskIdAndUsernameIn(taskId, Set.of("restored"));
+        ArgumentCaptor<NotificationEvent> captor = ArgumentCaptor.forClass(NotificationEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(NotificationType.ELIMINATION, captor.getValue().getType());
+        assertEquals(Set.of("restored", "newcomer"), captor.getValue().getUsernames());
+    }
+
+    @Test
+    void addEliminations_ShouldSkipAlreadyEliminatedUsers() {
+        // --- GIVEN ---
+        Long taskId = 5L;
+        Round active = new Round();
+        active.setId(11L);
+        when(taskRepository.existsById(taskId)).thenReturn(true);
+        when(roundRepository.findFirstByTaskIdAndIsActiveTrue(taskId)).thenReturn(Optional.of(active));
+        // Az INSERT IGNORE 0 sort ír, ha a user már ki van zárva
+        when(eliminationRepository.add(eq(taskId), eq("already"), eq(11L), any())).thenReturn(0);
+        when(eliminationRepository.add(eq(taskId), eq("fresh"), eq(11L), any())).thenReturn(1);
 
-        // Ellenőrizzük, hogy a Task objektumban frissült-e a lista
-        Task updatedTask = response.getBody();
-        assertNotNull(updatedTask);
-        assertEquals(2, updatedTask.getEliminatedApplicants().size());
-        assertTrue(updatedTask.getEliminatedApplicants().contains("bad_actor"));
+        // --- WHEN ---
+        ResponseEntity<List<String>> response = taskService.addEliminations(taskId, List.of("already", "fresh"));
 
-        // Ellenőrizzük, hogy a repository save metódusa lefutott
-        verify(taskRepository).save(task);
+        // --- THEN ---
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("fresh"), response.getBody());
+        verify(unreadCounterService).eliminationChanged(taskId, Set.of("fresh"), Set.of());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.EvaluationType;
+import backend.competition_hub.ServiceSliceTest;
+import backend.competition_hub.dtos.SubmissionStatisticsDTO;
+import backend.competition_hub.dtos.TaskStatisticsDTO;
+import backend.competition_hub.entities.Application;
+import backend.competition_hub.entities.Round;
+import backend.competition_hub.entities.Task;
+import backend.competition_hub.events.NotificationEvent;
+import backend.competition_hub.events.NotificationType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static backend.competition_hub.TestEntities.application;
+import static backend.competition_hub.TestEntities.round;
+import static backend.competition_hub.TestEntities.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ServiceSliceTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskStatisticsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskStatisticsServiceImpl taskStatisticsService;
+
+    @Test
+    void getTaskStatistics_ShouldAggregateWithoutLoadingApplications() {
+        // --- GIVEN ---
+        Task task = persistTask();
+        Round first = persistRound(task);
+        Round second = persistRound(task);
+        Round empty = persistRound(task);
+        persistApplication(task, first, 8, null);
+        persistApplication(task, first, 8, "Jó");
+        persistApplication(task, first, null, "Csak szöveg");
+        persistApplication(task, first, null, null);
+        persistApplication(task, second, 3, null);
+        persistApplication(task, null, null, null);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // --- WHEN ---
+        TaskStatisticsDTO result = taskStatisticsService.getTaskStatistics(task.getId()).getBody();
+
+        // --- THEN ---
+        assertEquals(0, statistics.getEntityStatistics(Application.class.getName()).getLoadCount());
+
+        SubmissionStatisticsDTO total = result.getTotal();
+        assertEquals(6, total.getSubmissionCount());
+        assertEquals(4, total.getReviewedCount());
+        assertEquals(19.0 / 3, total.getPointsAverage(), 1e-9);
+        assertEquals(List.of(0L, 0L, 0L, 1L, 0L, 0L, 0L, 0L, 2L, 0L, 0L), total.getPointsDistribution());
+
+        // a task fordulóinak sorrendjében, a végén a forduló nélküliek
+        assertEquals(List.of(first.getId(), second.getId(), empty.getId()),
+                result.getRounds().subList(0, 3).stream().map(SubmissionStatisticsDTO::getRoundId).toList());
+        SubmissionStatisticsDTO firstRound = result.getRounds().get(0);
+        assertEquals(4, firstRound.getSubmissionCount());
+        assertEquals(0.75, firstRound.getReviewCompletionRate(), 1e-9);
+        assertEquals(8.0, firstRound.getPointsAverage(), 1e-9);
+        assertEquals(0, result.getRounds().get(2).getSubmissionCount());
+        assertNull(result.getRounds().get(2).getPointsAverage());
+        assertNull(result.getRounds().get(3).getRoundId());
+        assertEquals(1, result.getRounds().get(3).getSubmissionCount());
+    }
+
+    @Test
+    void getTaskStatistics_ShouldBeCachedUntilSubmissionOrReview() {
+        // --- GIVEN ---
+        Task task = persistTask();
+        Round round = persistRound(task);
+        persistApplication(task, round, 5, null);
+        entityManager.flush();
+        assertEquals(1, taskStatisticsService.getTaskStatistics(task.getId()).getBody().getTotal().getSubmissionCount());
+        persistApplication(task, round, null, null);
+        entityManager.flush();
+
+        // --- WHEN ---
+        long cached = taskStatisticsService.getTaskStatistics(task.getId()).getBody().getTotal().getSubmissionCount();
+        taskStatisticsService.onNotificationEvent(new NotificationEvent(NotificationType.NEW_APPLICATION, task.getId(), "creator"));
+        long refreshed = taskStatisticsService.getTaskStatistics(task.getId()).getBody().getTotal().getSubmissionCount();
+
+        // --- THEN ---
+        assertEquals(1, cached);
+        assertEquals(2, refreshed);
+        assertEquals(HttpStatus.NOT_FOUND, taskStatisticsService.getTaskStatistics(-1L).getStatusCode());
+    }
+
+    private Task persistTask() {
+        return entityManager.persist(task("Statisztika", EvaluationType.BOTH));
+    }
+
+    private Round persistRound(Task task) {
+        return entityManager.persist(round(task, "Forduló", LocalDate.now().plusDays(3), false));
+    }
+
+    private void persistApplication(Task task, Round round, Integer points, String text) {
+        Application application = application(task, round, "student");
+        application.setReviewPoints(points);
+        application.setReviewText(text);
+        application.setReviewCreatedAt(points != null || text != null ? LocalDateTime.now() : null);
+        entityManager.persist(application);
+    }
+}
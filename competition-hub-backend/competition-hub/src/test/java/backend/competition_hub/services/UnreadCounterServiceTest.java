@@ -0,0 +1,150 @@
+package backend.competition_hub.services;
+
+import backend.competition_hub.ServiceSliceTest;
+import backend.competition_hub.dtos.NotificationSummaryDTO;
+import backend.competition_hub.repositories.JobLockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Az újraépítés saját tranzakcióban fut (zársor, commit utáni cache-ürítés), ezért a teszt nem nyit tranzakciót
+@ServiceSliceTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UnreadCounterServiceTest {
+
+    @Autowired
+    private UnreadCounterService unreadCounterService;
+
+    @Autowired
+    private NotificationCache notificationCache;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long taskId;
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("insert into task (title, application_deadline, creator, evaluation_type) values (?, ?, ?, ?)",
+                "Számláló", LocalDate.now().plusDays(7), "creator", "POINTS");
+        taskId = jdbcTemplate.queryForObject("select max(id) from task", Long.class);
+        jdbcTemplate.update("insert into application (keycloak_user_name, task_id, application_date, review_points, review_created_at) "
+                + "values (?, ?, ?, ?, ?)", "student1", taskId, Timestamp.valueOf(now), 5, Timestamp.valueOf(now));
+        jdbcTemplate.update("insert into application (keycloak_user_name, task_id, application_date) values (?, ?, ?)",
+                "student2", taskId, Timestamp.valueOf(now));
+        jdbcTemplate.update("insert into elimination (task_id, keycloak_username, eliminated_at) values (?, ?, ?)",
+                taskId, "student2", Timestamp.valueOf(now));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from unread_counter where task_id = ?", taskId);
+        jdbcTemplate.update("delete from elimination where task_id = ?", taskId);
+        jdbcTemplate.update("delete from application where task_id = ?", taskId);
+        jdbcTemplate.update("delete from task where id = ?", taskId);
+    }
+
+    @Test
+    void rebuild_ShouldFixCountersInPlaceAndEvictNotificationCache() {
+        // --- GIVEN ---
+        // Elcsúszott számláló, elavult sor (nincs mögötte adat) és nullázott sor
+        counter("creator", "NEW_APPLICATION", 7);
+        counter("ghost", "NEW_REVIEW", 3);
+        counter("student1", "ELIMINATION", 0);
+        NotificationSummaryDTO cached = summary();
+        notificationCache.get("creator", () -> cached);
+
+        // --- WHEN ---
+        boolean rebuilt = unreadCounterService.rebuild();
+
+        // --- THEN ---
+        assertTrue(rebuilt);
+        assertEquals(Map.of("creator/NEW_APPLICATION", 2L, "student1/NEW_REVIEW", 1L, "student2/ELIMINATION", 1L),
+                counters());
+        assertNotNull(jobLockRepository.findById(UnreadCounterServiceImpl.REBUILD_LOCK).orElseThrow().getLastRunAt());
+        NotificationSummaryDTO fresh = summary();
+        assertSame(fresh, notificationCache.get("creator", () -> fresh)); // a commit után már nem a régi összesítő jön
+    }
+
+    @Test
+    void rebuild_ShouldSkipWhileAnotherInstanceHoldsTheLock() throws Exception {
+        // --- GIVEN ---
+        counter("creator", "NEW_APPLICATION", 7);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService otherInstance = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = otherInstance.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jobLockRepository.tryLock(UnreadCounterServiceImpl.REBUILD_LOCK).orElseThrow();
+                locked.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+            // --- WHEN ---
+            boolean rebuilt = unreadCounterService.rebuild();
+
+            // --- THEN ---
+            assertFalse(rebuilt);
+            assertEquals(7L, counters().get("creator/NEW_APPLICATION"));
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            otherInstance.shutdownNow();
+        }
+        assertTrue(unreadCounterService.rebuild()); // a zár feloldása után újra lefut
+        assertEquals(2L, counters().get("creator/NEW_APPLICATION"));
+    }
+
+    private void counter(String username, String kind, long count) {
+        jdbcTemplate.update("insert into unread_counter (username, task_id, kind, unread_count) values (?, ?, ?, ?)",
+                username, taskId, kind, count);
+    }
+
+    private Map<String, Long> counters() {
+        return jdbcTemplate.query("select username, kind, unread_count from unread_counter where task_id = ?",
+                        (rs, i) -> Map.entry(rs.getString(1) + "/" + rs.getString(2), rs.getLong(3)), taskId)
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private static NotificationSummaryDTO summary() {
+        return new NotificationSummaryDTO(List.of(), List.of(), List.of(), List.of());
+    }
+}
@@ -0,0 +1,56 @@
+-- A sorozat előtti adatbázis: a korábbi ddl-auto=create által generált séma néhány sorral (FlywayBaselineTest).
+-- Szándékosan nem a V1 migráció betöltése, hogy a V1 bővítése (új tábla a baseline-ban) itt kiderüljön.
+create table task (
+    id bigint not null auto_increment,
+    title varchar(255) not null,
+    description text,
+    application_deadline date not null,
+    creator varchar(255) not null,
+    evaluation_type enum ('BOTH','POINTS','TEXT') not null,
+    creator_last_viewed_at datetime(6),
+    primary key (id)
+);
+
+create table round (
+    id bigint not null auto_increment,
+    task_id bigint not null,
+    description text not null,
+    deadline date not null,
+    is_active bit not null,
+    activated_at datetime(6),
+    primary key (id),
+    constraint fk_round_task foreign key (task_id) references task (id)
+);
+
+create table application (
+    id bigint not null auto_increment,
+    keycloak_user_id varchar(255),
+    keycloak_user_name varchar(255),
+    task_id bigint not null,
+    round_id bigint,
+    file_path varchar(255),
+    application_date datetime(6),
+    review_text varchar(255),
+    review_points integer,
+    applicant_last_viewed_review_at datetime(6),
+    review_created_at datetime(6),
+    eliminated_seen bit,
+    last_round_activation_view_at datetime(6),
+    primary key (id),
+    constraint fk_application_task foreign key (task_id) references task (id),
+    constraint fk_application_round foreign key (round_id) references round (id)
+);
+
+create table task_eliminated_applicants (
+    task_id bigint not null,
+    keycloak_username varchar(255),
+    constraint fk_eliminated_task foreign key (task_id) references task (id)
+);
+
+insert into task (id, title, description, application_deadline, creator, evaluation_type)
+values (1, 'Régi feladat', 'Leírás', '2030-01-31', 'creator', 'POINTS');
+
+insert into round (id, task_id, description, deadline, is_active) values (1, 1, '1. forduló', '2030-01-31', 1);
+
+insert into application (id, keycloak_user_id, keycloak_user_name, task_id, round_id, file_path, application_date)
+values (1, 'uid', 'student1', 1, 1, 'uploads/regi.pdf', '2025-01-01 10:00:00');
@@ -23,6 +23,39 @@ export default function AppHeader({ mainPageButton = true }: { mainPageButton?:
   const creatorIdentifier = user?.username
   const totalNewCount = notifications.reduce((sum, item) => sum + item.newApplicationsCount, 0)
 
+  // Az összesítő (/api/notifications) -> a lenyíló lista elemei
+  const toNotifications = (summary: any): Notification[] => {
+    const creatorData: Notification[] = summary.newApplications.map((n: any) => ({
+      ...n,
+      type: "NEW_APPLICATION",
+      taskTitle: `${n.taskTitle} (New applications)`,
+      newApplicationsCount: n.newApplicationsCount,
+    }))
+
+    const applicantData: Notification[] = summary.newReviews.map((n: any) => ({
+      ...n,
+      type: "NEW_REVIEW",
+      taskTitle: `${n.taskTitle} (New review)`,
+      newApplicationsCount: n.newApplicationsCount,
+    }))
+
+    const elimData: Notification[] = summary.eliminations.map((n: any) => ({
+      ...n,
+      type: "ELIMINATION" as const,
+      taskTitle: `${n.taskTitle} (Eliminated)`,
+      newApplicationsCount: n.newApplicationsCount ?? 1,
+    }))
+
+    const roundData: Notification[] = summary.roundActivations.map((n: any) => ({
+      taskId: n.taskId,
+      taskTitle: `${n.taskTitle} (New round started)`,
+      newApplicationsCount: n.newApplicationsCount ?? 1,
+      type: "ROUND_ACTIVATED" as const,
+    }))
+
+    return [...creatorData, ...applicantData, ...elimData, ...roundData]
+  }
+
   const fetchNotifications = async () => {
     if (!isAuthenticated || !creatorIdentifier) {
       setNotifications([])
@@ -30,44 +63,9 @@ export default function AppHeader({ mainPageButton = true }: { mainPageButton?:
     }
 
     try {
-      const creatorResponse = await fetch(`http://localhost:8081/api/tasks/notifications/${creatorIdentifier}`)
-      const creatorData: Notification[] = (await creatorResponse.json()).map((n: any) => ({
-        ...n,
-        type: "NEW_APPLICATION",
-        taskTitle: `${n.taskTitle} (New applications)`,
-        newApplicationsCount: n.newApplicationsCount,
-      }))
-
-      const applicantResponse = await fetch(`http://localhost:8081/api/applications/notifications/${creatorIdentifier}`)
-      const applicantData: Notification[] = (await applicantResponse.json()).map((n: any) => ({
-        ...n,
-        type: "NEW_REVIEW",
-        taskTitle: `${n.taskTitle} (New review)`,
-        newApplicationsCount: n.newApplicationsCount,
-      }))
-
-      const elimResponse = await fetch(
-        `http://localhost:8081/api/applications/elimination-notifications/${creatorIdentifier}`,
-      )
-      const elimData: Notification[] = (await elimResponse.json()).map((n: any) => ({
-        ...n,
-        type: "ELIMINATION" as const,
-        taskTitle: `${n.taskTitle} (Eliminated)`,
-        newApplicationsCount: n.newApplicationsCount ?? 1,
-      }))
-
-      const roundRes = await fetch(
-        `http://localhost:8081/api/applications/round-activation-notifications/${creatorIdentifier}`,
-      )
-      const roundData: Notification[] = (await roundRes.json()).map((n: any) => ({
-        taskId: n.taskId,
-        taskTitle: `${n.taskTitle} (New round started)`,
-        newApplicationsCount: n.newApplicationsCount ?? 1,
-        type: "ROUND_ACTIVATED" as const,
-      }))
-
-      const mergedNotifications = [...creatorData, ...applicantData, ...elimData, ...roundData]
-      setNotifications(mergedNotifications)
+      // Egyetlen összesítő kérés a négy értesítés-típusra
+      const response = await fetch(`http://localhost:8081/api/notifications/${creatorIdentifier}`)
+      setNotifications(toNotifications(await response.json()))
     } catch (error) {
       console.error("Error fetching notifications:", error)
       setNotifications([])
@@ -100,8 +98,20 @@ export default function AppHeader({ mainPageButton = true }: { mainPageButton?:
 
   useEffect(() => {
     fetchNotifications()
-    const interval = setInterval(fetchNotifications, 30000)
-    return () => clearInterval(interval)
+    if (!isAuthenticated || !creatorIdentifier) return
+
+    // Push csatorna: a szerver minden változáskor a teljes összesítőt küldi
+    const source = new EventSource(`http://localhost:8081/api/notifications/stream/${creatorIdentifier}`)
+    source.addEventListener("notifications", (event) => {
+      setNotifications(toNotifications(JSON.parse((event as MessageEvent).data)))
+    })
+
+    // Tartalék, ha a stream épp újracsatlakozik
+    const interval = setInterval(fetchNotifications, 300000)
+    return () => {
+      source.close()
+      clearInterval(interval)
+    }
   }, [isAuthenticated, creatorIdentifier])
 
   useEffect(() => {
@@ -11,7 +11,7 @@ import TaskApplicantView from "./TaskApplicantView"
 import TaskCreatorView from "./TaskCreatorView"
 
 // Utils
-import { formatDateOnly, getNextUpcomingDeadline, isBeforeToday } from "./TaskUtils"
+import { formatDateOnly, getNextUpcomingDeadline, isBeforeToday, postWithBackoff } from "./TaskUtils"
 
 export default function Task({
   id,
@@ -77,10 +77,9 @@ export default function Task({
   useEffect(() => {
     async function loadEliminated() {
       try {
-        const res = await fetch(`http://localhost:8081/api/tasks/${id}`)
+        const res = await fetch(`http://localhost:8081/api/tasks/${id}/eliminations`)
         if (!res.ok) return
-        const taskJson = await res.json()
-        setEliminatedApplicants(taskJson.eliminatedApplicants ?? [])
+        setEliminatedApplicants(await res.json())
       } catch (e) {
         console.error("Failed to load eliminated applicants", e)
       }
@@ -106,13 +105,14 @@ export default function Task({
     const formData = new FormData()
     formData.append("file", file)
     formData.append("keycloakUserId", user.id)
-    formData.append("keycloakUserName", user.username)
 
     try {
-      const response = await fetch(`http://localhost:8081/api/applications/${id}/round/${roundId}`, {
-        method: "POST",
-        body: formData,
-      })
+      // Túlterheléskor (429) a szerver által kért ideig vár, majd újrapróbálja
+      const response = await postWithBackoff(
+        `http://localhost:8081/api/applications/${id}/round/${roundId}?keycloakUserName=${encodeURIComponent(user.username)}`,
+        formData,
+        (seconds) => console.warn(`Server is busy, retrying upload in ${seconds} seconds`),
+      )
       const result = await response.text()
       alert(result)
       window.location.reload()
@@ -208,15 +208,16 @@ export default function Task({
   }
 
   async function saveElimination() {
-    const updated = Array.from(new Set([...eliminatedApplicants, ...Array.from(selectedToEliminate)]))
+    // Csak az újonnan kijelölteket küldjük, a szerver soronként veszi fel őket
+    const selected = Array.from(selectedToEliminate)
     try {
-      const res = await fetch(`http://localhost:8081/api/tasks/${id}/eliminate-applicants`, {
-        method: "PUT",
+      const res = await fetch(`http://localhost:8081/api/tasks/${id}/eliminations`, {
+        method: "POST",
         headers: { "Content-Type": "application/json" },
-        body: JSON.stringify(updated),
+        body: JSON.stringify(selected),
       })
       if (res.ok) {
-        setEliminatedApplicants(updated)
+        setEliminatedApplicants((prev) => Array.from(new Set([...prev, ...selected])))
         setSelectedToEliminate(new Set())
         alert("Eliminálás mentve. A kijelöltek a következő fordulókra már nem pályázhatnak.")
       } else {
@@ -48,4 +48,24 @@ export function isBeforeToday(dateStr: string): boolean {
   const now = new Date();
   const today = new Date(now.getFullYear(), now.getMonth(), now.getDate());
   return dd.getTime() < today.getTime();
-}
\ No newline at end of file
+}
+
+/**
+ * Feltöltés (POST) túlterhelés esetén visszalépéssel: 429-re a Retry-After másodpercnyi várakozás után
+ * újrapróbálja, legfeljebb maxAttempts alkalommal. Az onWait a várakozás hosszát kapja (pl. üzenet kiírásához).
+ */
+export async function postWithBackoff(
+  url: string,
+  body: FormData,
+  onWait?: (seconds: number) => void,
+  maxAttempts = 5,
+): Promise<Response> {
+  for (let attempt = 1; ; attempt++) {
+    const res = await fetch(url, { method: 'POST', body });
+    if (res.status !== 429 || attempt >= maxAttempts) return res;
+
+    const seconds = Math.max(1, Number(res.headers.get('Retry-After')) || 5);
+    onWait?.(seconds);
+    await new Promise((resolve) => setTimeout(resolve, seconds * 1000));
+  }
+}
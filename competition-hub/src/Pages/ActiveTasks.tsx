@@ -1,21 +1,32 @@
 "use client"
 import ListCard from "../Components/ListCard"
 import { useEffect, useMemo, useState } from "react"
-import type { TaskType } from "../types"
+import type { TaskPageType, TaskSummaryType } from "../types"
 import "./ActiveTasks.css"
 import { Loader2, AlertCircle } from "lucide-react"
 
+const PAGE_SIZE = 24
+
 export default function ActiveTasks() {
-  const [tasks, setTasks] = useState<TaskType[]>([])
+  const [tasks, setTasks] = useState<TaskSummaryType[]>([])
+  const [nextCursor, setNextCursor] = useState<number | null>(null)
   const [loading, setLoading] = useState(true)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [error, setError] = useState<string | null>(null)
 
+  // Keyset lapozás: a következő oldalhoz az előző válasz nextCursor-a megy a "before" paraméterbe
+  const fetchPage = (before: number | null) => {
+    const params = new URLSearchParams({ size: String(PAGE_SIZE) })
+    if (before !== null) params.set("before", String(before))
+    return fetch(`http://localhost:8081/api/tasks/summaries?${params}`).then((res) => res.json() as Promise<TaskPageType>)
+  }
+
   useEffect(() => {
     setLoading(true)
-    fetch("http://localhost:8081/api/tasks")
-      .then((res) => res.json())
-      .then((data) => {
-        setTasks(data)
+    fetchPage(null)
+      .then((page) => {
+        setTasks(page.items)
+        setNextCursor(page.nextCursor)
         setLoading(false)
       })
       .catch((err) => {
@@ -25,39 +36,39 @@ export default function ActiveTasks() {
       })
   }, [])
 
+  const loadMore = () => {
+    if (nextCursor === null) return
+    setLoadingMore(true)
+    fetchPage(nextCursor)
+      .then((page) => {
+        setTasks((prev) => [...prev, ...page.items])
+        setNextCursor(page.nextCursor)
+      })
+      .catch((err) => console.error("Error loading more tasks:", err))
+      .finally(() => setLoadingMore(false))
+  }
+
 const activeVisibleTasks = useMemo(() => {
     const now = new Date()
 
-    // Segédfüggvény a releváns határidő kinyerésére (szükséges a szűréshez)
-    const getEffectiveDeadline = (task: TaskType) => {
-      // Ha van forduló, az első forduló határidejét nézzük
-      if (task.rounds && task.rounds.length > 0) {
-        return task.rounds[0].deadline
-      }
-      // Ha nincs forduló, az általános alkalmazási határidőt nézzük
-      return task.applicationDeadline
-    }
-
     const filteredTasks = tasks.filter((task) => {
-      const deadline = getEffectiveDeadline(task)
-      
+      // Az applicationDeadline a legkorábbi forduló határideje, azaz az első fordulóé
+      const deadline = task.applicationDeadline
+
       // Határidő ellenőrzése (23:59:59.999-re állítva a mai nap befogadásához)
       const deadlineOk = deadline
         ? new Date(deadline).setHours(23, 59, 59, 999) >= now.getTime()
         : true
 
-      const firstRound = task.rounds && task.rounds[0]
-      const firstRoundActive = firstRound ? firstRound.isActive === true : false
+      // Az első forduló akkor aktív, ha az aktív forduló határideje az első határidő
+      const firstRoundActive = task.activeRoundId !== null && task.activeRoundDeadline === task.applicationDeadline
 
-      // Szűrési feltétel
-      return (deadlineOk && firstRoundActive) || (deadlineOk && !firstRound)
+      // Szűrési feltétel (forduló nélküli taskoknál nincs aktív forduló)
+      return (deadlineOk && firstRoundActive) || (deadlineOk && task.activeRoundId === null)
     })
 
-    // RENDEZÉS: Task ID ('id' prop) szerint csökkenő sorrendben
-    return filteredTasks.sort((a, b) => {
-      // Csökkenő sorrend: A nagyobb ID-jű task (b.id) kerül a kisebb (a.id) elé.
-      return b.id - a.id
-    })
+    // A szerver már ID szerint csökkenő sorrendben adja
+    return filteredTasks
   }, [tasks])
 
   if (loading) {
@@ -78,7 +89,7 @@ const activeVisibleTasks = useMemo(() => {
     )
   }
 
-  if (activeVisibleTasks.length === 0) {
+  if (activeVisibleTasks.length === 0 && nextCursor === null) {
     return (
       <div className="task-list-state">
         <AlertCircle size={48} />
@@ -88,10 +99,19 @@ const activeVisibleTasks = useMemo(() => {
   }
 
   return (
-    <div className="task-list-container">
-      {activeVisibleTasks.map((task) => (
-        <ListCard key={task.id} title={task.title} descr={task.description} link={`/apply/${task.id}`} />
-      ))}
-    </div>
+    <>
+      <div className="task-list-container">
+        {activeVisibleTasks.map((task) => (
+          <ListCard key={task.id} title={task.title} descr={task.excerpt ?? ""} link={`/apply/${task.id}`} />
+        ))}
+      </div>
+      {nextCursor !== null && (
+        <div className="task-list-more">
+          <button className="load-more-button" onClick={loadMore} disabled={loadingMore}>
+            {loadingMore ? "Loading..." : "Load more"}
+          </button>
+        </div>
+      )}
+    </>
   )
 }
@@ -9,6 +9,7 @@ import { useEffect, useState } from "react"
 import type { ApplicationType, RoundType, TaskType } from "../types"
 import { useKeycloak } from "../KeycloakProvider"
 import AppHeader from "../Components/AppHeader"
+import { postWithBackoff } from "../Components/TaskUtils"
 
 export default function Apply() {
   const { id } = useParams<{ id: string }>()
@@ -61,13 +62,15 @@ export default function Apply() {
     const formData = new FormData()
     formData.append("file", file)
     formData.append("keycloakUserId", user.id)
-    formData.append("keycloakUserName", user.username)
 
     try {
-      const res = await fetch(`http://localhost:8081/api/applications/${id}`, {
-        method: "POST",
-        body: formData,
-      })
+      // A felhasználónév a query stringben megy: a szerver a törzs beolvasása előtt dönt a beengedésről (429)
+      // Túlterheléskor (429) a szerver által kért ideig vár, majd újrapróbálja
+      const res = await postWithBackoff(
+        `http://localhost:8081/api/applications/${id}?keycloakUserName=${encodeURIComponent(user.username)}`,
+        formData,
+        (seconds) => setMessage(`Server is busy, retrying in ${seconds} seconds...`),
+      )
 
       if (res.ok) {
         setMessage("File uploaded successfully!")
@@ -242,6 +245,7 @@ export default function Apply() {
                 </svg>
                 Submit Application
               </button>
+              {message && <p className="upload-subtitle">{message}</p>}
             </div>
           )}
       </div>
@@ -18,6 +18,23 @@ export type TaskType = {
     evaluationType: EvaluationType;
 };
 
+// GET /api/tasks/summaries lista-eleme (nincs benne a rounds / applications gráf)
+export type TaskSummaryType = {
+    id: number;
+    title: string;
+    excerpt: string | null;
+    applicationDeadline: string;
+    evaluationType: EvaluationType;
+    activeRoundId: number | null;
+    activeRoundDeadline: string | null;
+    applicationCount: number;
+};
+
+export type TaskPageType = {
+    items: TaskSummaryType[];
+    nextCursor: number | null;
+};
+
 export type User = {
     id: string;
     username: string;